@@ -80,6 +80,16 @@ public interface BootstrapConfiguration {
 	 */
 	String getClockProviderClassName();
 
+	/**
+	 * Class name of the {@link PatternCache} implementation or
+	 * {@code null} if none is specified.
+	 *
+	 * @return pattern cache class name or {@code null}
+	 *
+	 * @since 2.0
+	 */
+	String getPatternCacheClassName();
+
 	/**
 	 * Returns the class names of {@link ValueExtractor}s.
 	 *
@@ -91,6 +101,9 @@ public interface BootstrapConfiguration {
 	/**
 	 * Returns a set of resource paths pointing to XML constraint mapping files.
 	 * The set is empty if none are specified.
+	 * <p>
+	 * Providers may use {@link javax.validation.spi.ConstraintMappingIndex} to process
+	 * the mapped bean types lazily.
 	 *
 	 * @return set of constraint mapping resource paths
 	 */
@@ -115,6 +128,20 @@ public interface BootstrapConfiguration {
 	 */
 	Set<ExecutableType> getDefaultValidatedExecutableTypes();
 
+	/**
+	 * Returns the maximum number of constraint violations reported by a
+	 * validation call as given by the {@code fail-fast} element or
+	 * {@code null} if the fail-fast mode is not configured or not enabled.
+	 * <p>
+	 * Returns {@code 1} if the fail-fast mode is enabled without specifying
+	 * the {@code max-violations} attribute.
+	 *
+	 * @return maximum number of reported constraint violations or {@code null}
+	 *
+	 * @since 2.0
+	 */
+	Integer getMaxViolations();
+
 	/**
 	 * Returns properties as a map of string based key/value pairs.
 	 * The map is empty if no property has been specified.
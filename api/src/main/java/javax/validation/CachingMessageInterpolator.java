@@ -0,0 +1,346 @@
+/*
+ * Bean Validation API
+ *
+ * License: Apache License, Version 2.0
+ * See the license.txt file in the root directory or <http://www.apache.org/licenses/LICENSE-2.0>.
+ */
+package javax.validation;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+import javax.validation.metadata.ConstraintDescriptor;
+
+/**
+ * A {@link MessageInterpolator} decorator caching the locale-specific resolution of
+ * message templates.
+ * <p>
+ * For each pair of message template and locale, the template is resolved once and the
+ * resolution is cached:
+ * <ul>
+ *     <li>If the decorated interpolator resolves templates itself (see
+ *     {@link MessageInterpolator#compile(String)} and
+ *     {@link CompiledMessageTemplate#resolve(Locale)}), its resolution is cached.
+ *     Subsequent interpolations only render the cached resolution with the attributes of
+ *     the constraint being validated, without looking up resource bundles again.</li>
+ *     <li>Otherwise, the template is interpolated by the decorated interpolator as is. If
+ *     the decorated interpolator did not access the {@link Context} to do so, the message
+ *     depends on the template and the locale only, e.g. as it doesn't refer to any
+ *     constraint attribute or to the validated value. The message itself is cached then
+ *     and returned by subsequent interpolations without invoking the decorated
+ *     interpolator at all. Messages depending on the context are not cached; their
+ *     templates are passed on to the decorated interpolator for each interpolation.</li>
+ * </ul>
+ * The latter requires the decorated interpolator to produce the same message for the
+ * same template and locale unless the context differs, as the default message
+ * interpolator defined by the specification does.
+ * <p>
+ * The cache is bounded; if it is full, a batch of the least recently used entries is
+ * evicted, i.e. eviction is approximately LRU. Lookups don't require any locking. The
+ * number of cache hits and misses is recorded.
+ * <p>
+ * It can be put in front of the default message interpolator of any provider:
+ * <pre>
+ * Configuration&lt;?&gt; configuration = Validation.byDefaultProvider().configure();
+ * ValidatorFactory factory = configuration
+ *     .messageInterpolator( new CachingMessageInterpolator( configuration.getDefaultMessageInterpolator() ) )
+ *     .buildValidatorFactory();
+ * </pre>
+ * <p>
+ * {@link #interpolate(String, Context)} uses {@link Locale#getDefault()}, as does the
+ * default message interpolator defined by the specification.
+ * <p>
+ * This class is thread-safe.
+ *
+ * @since 2.0
+ */
+public class CachingMessageInterpolator implements MessageInterpolator {
+
+	/**
+	 * The maximum number of cached template resolutions used if not specified otherwise.
+	 */
+	public static final int DEFAULT_MAX_SIZE = 1024;
+
+	/**
+	 * If the cache is full, the maximum size divided by this value plus one entries are
+	 * evicted at once, so that finding the least recently used entries is not required for
+	 * each cache miss.
+	 */
+	private static final int EVICTION_BATCH_DIVISOR = 16;
+
+	private final MessageInterpolator delegate;
+	private final int maxSize;
+
+	private final ConcurrentMap<CacheKey, CacheEntry> resolvedTemplates = new ConcurrentHashMap<>();
+
+	private final LongAdder hitCount = new LongAdder();
+	private final LongAdder missCount = new LongAdder();
+
+	private final Lock evictionLock = new ReentrantLock();
+
+	/**
+	 * Creates a caching interpolator holding at most {@link #DEFAULT_MAX_SIZE} template
+	 * resolutions.
+	 *
+	 * @param delegate the message interpolator to decorate
+	 *
+	 * @throws IllegalArgumentException if {@code delegate} is {@code null}
+	 */
+	public CachingMessageInterpolator(MessageInterpolator delegate) {
+		this( delegate, DEFAULT_MAX_SIZE );
+	}
+
+	/**
+	 * Creates a caching interpolator.
+	 *
+	 * @param delegate the message interpolator to decorate
+	 * @param maxSize the maximum number of cached template resolutions
+	 *
+	 * @throws IllegalArgumentException if {@code delegate} is {@code null} or if
+	 *         {@code maxSize} is less than 1
+	 */
+	public CachingMessageInterpolator(MessageInterpolator delegate, int maxSize) {
+		if ( delegate == null ) {
+			throw new IllegalArgumentException( "The delegate message interpolator must not be null." );
+		}
+		if ( maxSize < 1 ) {
+			throw new IllegalArgumentException( "The maximum cache size must be at least 1." );
+		}
+
+		this.delegate = delegate;
+		this.maxSize = maxSize;
+	}
+
+	@Override
+	public String interpolate(String messageTemplate, Context context) {
+		return interpolate( messageTemplate, context, Locale.getDefault() );
+	}
+
+	@Override
+	public String interpolate(String messageTemplate, Context context, Locale locale) {
+		if ( messageTemplate == null ) {
+			throw new IllegalArgumentException( "The message template must not be null." );
+		}
+
+		CacheKey key = new CacheKey( messageTemplate, locale );
+
+		CacheEntry entry = resolvedTemplates.get( key );
+		if ( entry != null ) {
+			entry.lastAccess = System.nanoTime();
+			if ( entry.message != null ) {
+				hitCount.increment();
+				return entry.message;
+			}
+			if ( entry.resolvedTemplate != null ) {
+				hitCount.increment();
+				return delegate.interpolate( entry.resolvedTemplate, context, locale );
+			}
+			missCount.increment();
+			return delegate.interpolate( messageTemplate, context, locale );
+		}
+
+		missCount.increment();
+
+		// concurrent misses for the same key resolve the template more than once, which is harmless as
+		// resolutions are side-effect free
+		CompiledMessageTemplate compiledTemplate = delegate.compile( messageTemplate );
+		CompiledMessageTemplate resolvedTemplate = compiledTemplate.resolve( locale );
+		String message;
+
+		if ( resolvedTemplate != compiledTemplate ) {
+			entry = new CacheEntry( resolvedTemplate, null );
+			message = delegate.interpolate( resolvedTemplate, context, locale );
+		}
+		else {
+			AccessRecordingContext recordingContext = new AccessRecordingContext( context );
+			message = delegate.interpolate( messageTemplate, recordingContext, locale );
+			// a message not depending on the context is the same for all constraint violations
+			entry = new CacheEntry( null, recordingContext.accessed ? null : message );
+		}
+
+		resolvedTemplates.put( key, entry );
+		evictIfNecessary();
+
+		return message;
+	}
+
+	@Override
+	public CompiledMessageTemplate compile(String messageTemplate) {
+		return delegate.compile( messageTemplate );
+	}
+
+	@Override
+	public String interpolate(CompiledMessageTemplate messageTemplate, Context context, Locale locale) {
+		return interpolate( messageTemplate.getMessageTemplate(), context, locale );
+	}
+
+	/**
+	 * @return the number of interpolations for which the template resolution or the
+	 *         message was found in the cache
+	 */
+	public long getHitCount() {
+		return hitCount.sum();
+	}
+
+	/**
+	 * @return the number of interpolations for which the template had to be
+	 *         resolved by the decorated interpolator, including the interpolations
+	 *         of context-dependent messages of templates the decorated interpolator
+	 *         doesn't resolve
+	 */
+	public long getMissCount() {
+		return missCount.sum();
+	}
+
+	/**
+	 * @return the number of currently cached entries, including the ones recording
+	 *         that the message of a template depends on the context
+	 */
+	public int size() {
+		return resolvedTemplates.size();
+	}
+
+	/**
+	 * Removes all cached template resolutions. The hit and miss counts are not reset.
+	 */
+	public void clear() {
+		resolvedTemplates.clear();
+	}
+
+	/**
+	 * Evicts a batch of the least recently used entries if the cache exceeds its maximum
+	 * size. The entries are only sorted once per batch, i.e. once per
+	 * {@code maxSize / EVICTION_BATCH_DIVISOR} misses. Misses occurring while another
+	 * thread evicts entries don't wait for it, so the cache may exceed its maximum size
+	 * temporarily.
+	 */
+	private void evictIfNecessary() {
+		if ( resolvedTemplates.size() <= maxSize || !evictionLock.tryLock() ) {
+			return;
+		}
+
+		try {
+			// the access times are copied, as they may change while sorting
+			List<EvictionCandidate> candidates = new ArrayList<>( resolvedTemplates.size() );
+			for ( Map.Entry<CacheKey, CacheEntry> entry : resolvedTemplates.entrySet() ) {
+				candidates.add( new EvictionCandidate( entry.getKey(), entry.getValue() ) );
+			}
+
+			int evictionCount = candidates.size() - maxSize + maxSize / EVICTION_BATCH_DIVISOR;
+			if ( evictionCount <= 0 ) {
+				return;
+			}
+
+			candidates.sort( EvictionCandidate.LEAST_RECENTLY_USED_FIRST );
+			for ( EvictionCandidate candidate : candidates.subList( 0, evictionCount ) ) {
+				resolvedTemplates.remove( candidate.key, candidate.entry );
+			}
+		}
+		finally {
+			evictionLock.unlock();
+		}
+	}
+
+	private static class CacheEntry {
+
+		private final CompiledMessageTemplate resolvedTemplate;
+		private final String message;
+
+		// written without synchronization; a stale value only affects the choice of the evicted entries
+		private long lastAccess;
+
+		private CacheEntry(CompiledMessageTemplate resolvedTemplate, String message) {
+			this.resolvedTemplate = resolvedTemplate;
+			this.message = message;
+			this.lastAccess = System.nanoTime();
+		}
+	}
+
+	private static class EvictionCandidate {
+
+		private static final Comparator<EvictionCandidate> LEAST_RECENTLY_USED_FIRST =
+				(c1, c2) -> Long.compare( c1.lastAccess, c2.lastAccess );
+
+		private final CacheKey key;
+		private final CacheEntry entry;
+		private final long lastAccess;
+
+		private EvictionCandidate(CacheKey key, CacheEntry entry) {
+			this.key = key;
+			this.entry = entry;
+			this.lastAccess = entry.lastAccess;
+		}
+	}
+
+	/**
+	 * Records whether the decorated interpolator accesses the context.
+	 */
+	private static class AccessRecordingContext implements Context {
+
+		private final Context context;
+
+		private boolean accessed;
+
+		private AccessRecordingContext(Context context) {
+			this.context = context;
+		}
+
+		@Override
+		public ConstraintDescriptor<?> getConstraintDescriptor() {
+			accessed = true;
+			return context.getConstraintDescriptor();
+		}
+
+		@Override
+		public Object getValidatedValue() {
+			accessed = true;
+			return context.getValidatedValue();
+		}
+
+		@Override
+		public <T> T unwrap(Class<T> type) {
+			accessed = true;
+			return context.unwrap( type );
+		}
+	}
+
+	private static class CacheKey {
+
+		private final String messageTemplate;
+		private final Locale locale;
+		private final int hashCode;
+
+		private CacheKey(String messageTemplate, Locale locale) {
+			this.messageTemplate = messageTemplate;
+			this.locale = locale;
+			this.hashCode = 31 * messageTemplate.hashCode() + ( locale != null ? locale.hashCode() : 0 );
+		}
+
+		@Override
+		public boolean equals(Object o) {
+			if ( this == o ) {
+				return true;
+			}
+			if ( !( o instanceof CacheKey ) ) {
+				return false;
+			}
+
+			CacheKey other = (CacheKey) o;
+			return messageTemplate.equals( other.messageTemplate )
+					&& ( locale != null ? locale.equals( other.locale ) : other.locale == null );
+		}
+
+		@Override
+		public int hashCode() {
+			return hashCode;
+		}
+	}
+}
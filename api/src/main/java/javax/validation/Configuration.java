@@ -7,7 +7,10 @@
 package javax.validation;
 
 import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.util.concurrent.ForkJoinPool;
 
+import javax.validation.spi.ConstraintMetadataSnapshot;
 import javax.validation.spi.ValidationProvider;
 import javax.validation.valueextraction.ValueExtractor;
 import javax.validation.valueextraction.ValueExtractorDeclarationException;
@@ -132,6 +135,20 @@ public interface Configuration<T extends Configuration<T>> {
 	 */
 	T clockProvider(ClockProvider clockProvider);
 
+	/**
+	 * Defines the pattern cache. Has priority over the configuration
+	 * based pattern cache.
+	 * <p>
+	 * If {@code null} is passed, the default pattern cache is used
+	 * (defined in XML or the specification default).
+	 *
+	 * @param patternCache pattern cache implementation
+	 * @return {@code this} following the chaining method pattern.
+	 *
+	 * @since 2.0
+	 */
+	T patternCache(PatternCache patternCache);
+
 	/**
 	 * Adds a value extractor. Has priority over any extractor for the same
 	 * type and type parameter detected through the service loader or given in
@@ -145,6 +162,91 @@ public interface Configuration<T extends Configuration<T>> {
 	 */
 	T addValueExtractor(ValueExtractor<?> extractor);
 
+	/**
+	 * Enables or disables the fail-fast mode. Has priority over the
+	 * configuration based fail-fast mode.
+	 * <p>
+	 * In fail-fast mode, validation stops as soon as the first constraint
+	 * violation has been found. Calling this method with {@code true} is
+	 * equivalent to calling {@link #maxViolations(int)} with {@code 1}.
+	 * Calling it with {@code false} removes any limit on the number of
+	 * reported constraint violations.
+	 *
+	 * @param failFast whether validation should stop at the first constraint violation
+	 * @return {@code this} following the chaining method pattern.
+	 *
+	 * @since 2.0
+	 */
+	T failFast(boolean failFast);
+
+	/**
+	 * Defines the maximum number of constraint violations to be reported by a
+	 * validation call. Has priority over the configuration based value.
+	 * <p>
+	 * Validation stops as soon as the given number of constraint violations
+	 * has been found, without evaluating the remaining constraints and
+	 * without traversing the remaining parts of the object graph. Which of
+	 * the violations are reported in this case is implementation specific.
+	 * <p>
+	 * This is useful for clients which only need to know whether an object
+	 * is valid or not, e.g. to reject invalid requests.
+	 *
+	 * @param maxViolations the maximum number of constraint violations to report
+	 * @return {@code this} following the chaining method pattern.
+	 * @throws IllegalArgumentException if {@code maxViolations} is less than 1
+	 *
+	 * @since 2.0
+	 */
+	T maxViolations(int maxViolations);
+
+	/**
+	 * Enables or disables lazy message interpolation.
+	 * <p>
+	 * If enabled, the message of a {@link ConstraintViolation} is not
+	 * interpolated during validation, but only when
+	 * {@link ConstraintViolation#getMessage()} is called for the first time.
+	 * Clients not accessing the messages of the constraint violations, e.g.
+	 * only inspecting their property paths and constraint types, thus do not
+	 * pay for the resolution of resource bundles and the formatting of
+	 * messages.
+	 * <p>
+	 * Lazy message interpolation is disabled by default.
+	 *
+	 * @param lazyMessageInterpolation whether messages should be interpolated lazily
+	 * @return {@code this} following the chaining method pattern.
+	 *
+	 * @since 2.0
+	 */
+	T lazyMessageInterpolation(boolean lazyMessageInterpolation);
+
+	/**
+	 * Enables the parallel validation of the elements of large containers
+	 * marked for cascaded validation.
+	 * <p>
+	 * If enabled, the provider may split the elements of an indexed container
+	 * with at least {@code threshold} elements into index ranges and validate
+	 * these ranges as separate tasks in the given fork/join pool. This
+	 * requires the corresponding {@link ValueExtractor} to pass the elements
+	 * via {@link ValueExtractor.ValueReceiver#indexedValues(String, java.util.List)}.
+	 * <p>
+	 * The constraint violations found for the elements are merged
+	 * deterministically: the violations of an element with a lower index are
+	 * reported before the violations of an element with a higher index,
+	 * regardless of the order in which the tasks complete.
+	 * <p>
+	 * Parallel cascaded validation is disabled by default. If {@code null} is
+	 * passed as pool, it gets disabled.
+	 *
+	 * @param forkJoinPool the pool used to validate container elements in parallel
+	 * @param threshold the minimum number of container elements for which the
+	 *        elements are validated in parallel
+	 * @return {@code this} following the chaining method pattern.
+	 * @throws IllegalArgumentException if {@code threshold} is less than 2
+	 *
+	 * @since 2.0
+	 */
+	T parallelCascade(ForkJoinPool forkJoinPool, int threshold);
+
 	/**
 	 * Add a stream describing constraint mapping in the Bean Validation XML
 	 * format.
@@ -164,6 +266,32 @@ public interface Configuration<T extends Configuration<T>> {
 	 */
 	T addMapping(InputStream stream);
 
+	/**
+	 * Adds a constraint metadata snapshot, as written by
+	 * {@link ConstraintMetadataSnapshot#write(java.util.Collection, java.io.OutputStream)}.
+	 * <p>
+	 * The provider may build the metadata of the bean types comprised in the snapshot
+	 * from the snapshot instead of discovering it via reflection and XML mappings. Snapshots
+	 * are typically written at build time and mapped into memory at bootstrap, using
+	 * {@link ConstraintMetadataSnapshot#map(java.nio.file.Path)}.
+	 * <p>
+	 * A snapshot records each constraint by its annotation type and attributes only. The
+	 * composing constraints, whether the constraint is reported as a single violation, the
+	 * elements it applies to and its value unwrapping are not recorded; the provider derives
+	 * them from the annotation type and the {@code validationAppliesTo} and {@code payload}
+	 * attributes, as it does for constraints discovered via reflection.
+	 * <p>
+	 * The buffer must not be modified by the client after it has been added. The provider
+	 * does not alter the position or limit of the buffer.
+	 *
+	 * @param snapshot the constraint metadata snapshot
+	 * @return {@code this} following the chaining method pattern
+	 * @throws IllegalArgumentException if {@code snapshot} is null
+	 *
+	 * @since 2.0
+	 */
+	T addMetadataSnapshot(ByteBuffer snapshot);
+
 	/**
 	 * Adds a provider specific property. This property is equivalent to
 	 * XML configuration properties.
@@ -278,6 +406,22 @@ public interface Configuration<T extends Configuration<T>> {
 	 */
 	ClockProvider getDefaultClockProvider();
 
+	/**
+	 * Returns an implementation of the {@link PatternCache}
+	 * interface following the default {@code PatternCache}
+	 * defined in the specification:
+	 * <ul>
+	 *     <li>returns the same compiled pattern for equal regular expressions
+	 *     and flags for the lifetime of the {@link ValidatorFactory}.</li>
+	 * </ul>
+	 *
+	 * @return default {@code PatternCache} implementation compliant with
+	 *         the specification
+	 *
+	 * @since 2.0
+	 */
+	PatternCache getDefaultPatternCache();
+
 	/**
 	 * Returns configuration information stored in the {@code META-INF/validation.xml} file.
 	 * <p>
@@ -8,6 +8,9 @@ package javax.validation;
 
 import java.lang.annotation.Annotation;
 
+import javax.validation.constraintvalidation.DoubleConstraintValidator;
+import javax.validation.constraintvalidation.IntConstraintValidator;
+import javax.validation.constraintvalidation.LongConstraintValidator;
 import javax.validation.constraintvalidation.SupportedValidationTarget;
 
 /**
@@ -25,6 +28,10 @@ import javax.validation.constraintvalidation.SupportedValidationTarget;
  * {@code ConstraintValidator} implementation to mark it as supporting
  * cross-parameter constraints. Check out {@link SupportedValidationTarget}
  * and {@link Constraint} for more information.
+ * <p>
+ * Validators for {@code int}, {@code long} and {@code double} values may implement
+ * {@link IntConstraintValidator}, {@link LongConstraintValidator} or
+ * {@link DoubleConstraintValidator} to receive these values without boxing.
  *
  * @param <A> the annotation type handled by an implementation
  * @param <T> the target type supported by an implementation
@@ -46,6 +46,17 @@ public interface ConstraintValidatorContext {
 	 */
 	ClockProvider getClockProvider();
 
+	/**
+	 * Returns the cache for obtaining compiled regular expressions, e.g. when validating
+	 * the {@code Pattern} and {@code Email} constraints.
+	 *
+	 * @return the pattern cache, never {@code null}. If no specific cache has been
+	 * configured during bootstrap, the default implementation will be returned.
+	 *
+	 * @since 2.0
+	 */
+	PatternCache getPatternCache();
+
 	/**
 	 * Returns a constraint violation builder building a violation report
 	 * allowing to optionally associate it to a sub path.
@@ -171,6 +182,65 @@ public interface ConstraintValidatorContext {
 	 */
 	ConstraintViolationBuilder buildConstraintViolationWithTemplate(String messageTemplate);
 
+	/**
+	 * Adds a {@link ConstraintViolation} with the given message template on the default
+	 * path, i.e. the path of the validated element.
+	 * <p>
+	 * This is equivalent to
+	 * {@code buildConstraintViolationWithTemplate( messageTemplate ).addConstraintViolation()},
+	 * but allows providers to add the violation without creating a builder.
+	 *
+	 * @param messageTemplate the message template of the violation; it will be interpolated
+	 * @return this context
+	 *
+	 * @since 2.0
+	 */
+	default ConstraintValidatorContext reportViolation(String messageTemplate) {
+		return buildConstraintViolationWithTemplate( messageTemplate ).addConstraintViolation();
+	}
+
+	/**
+	 * Adds a {@link ConstraintViolation} with the given message template on the default
+	 * path extended by the given relative path.
+	 * <p>
+	 * This is equivalent to adding the nodes of the given path one by one using the
+	 * builder returned by {@link #buildConstraintViolationWithTemplate(String)}. The
+	 * default implementation does exactly that, so it is no cheaper than using the builder
+	 * directly; providers may override it to add the violation without creating a builder
+	 * per node. As {@code Path} instances such as the ones created by
+	 * {@link Path#of(String...)} are immutable, validators may create the relative paths
+	 * they report violations for once and reuse them:
+	 * <pre>
+	 * private static final Path PASSWORD_REPEAT = Path.of( "passwordRepeat" );
+	 *
+	 * public boolean isValid(User user, ConstraintValidatorContext context) {
+	 *     if ( !user.getPassword().equals( user.getPasswordRepeat() ) ) {
+	 *         context.disableDefaultConstraintViolation();
+	 *         context.reportViolation( "{passwords.mismatch}", PASSWORD_REPEAT );
+	 *         return false;
+	 *     }
+	 *     return true;
+	 * }
+	 * </pre>
+	 * The path may contain property, bean and container element nodes, with a bean node
+	 * only being allowed as the last node. A parameter node is allowed as the first node
+	 * when reporting violations from a cross-parameter validator.
+	 *
+	 * @param messageTemplate the message template of the violation; it will be interpolated
+	 * @param relativePath the path of the violation relative to the default path
+	 * @return this context
+	 * @throws IllegalArgumentException if {@code relativePath} is {@code null} or contains
+	 *         nodes of an unsupported kind or at an unsupported position
+	 *
+	 * @since 2.0
+	 */
+	default ConstraintValidatorContext reportViolation(String messageTemplate, Path relativePath) {
+		if ( relativePath == null ) {
+			throw new IllegalArgumentException( "The relative path must not be null." );
+		}
+		return ConstraintViolationPaths.addConstraintViolation( buildConstraintViolationWithTemplate( messageTemplate ), relativePath );
+	}
+
 	/**
 	 * Returns an instance of the specified type allowing access to
 	 * provider-specific APIs. If the Bean Validation provider
@@ -6,10 +6,16 @@
  */
 package javax.validation;
 
+import javax.validation.constraintvalidation.Shareable;
+
 /**
  * Instantiates a {@link ConstraintValidator} instance based off its class.
  * The {@code ConstraintValidatorFactory} is <b>not</b> responsible
  * for calling {@link ConstraintValidator#initialize(java.lang.annotation.Annotation)}.
+ * <p>
+ * Validators marked with {@link Shareable} may be requested once and shared
+ * by the Bean Validation provider among all constraint declarations with equal
+ * annotations.
  *
  * @author Dhanji R. Prasanna
  * @author Emmanuel Bernard
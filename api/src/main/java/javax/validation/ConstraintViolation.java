@@ -19,11 +19,26 @@ import javax.validation.metadata.ConstraintDescriptor;
 public interface ConstraintViolation<T> {
 
 	/**
+	 * Returns the interpolated error message for this constraint violation.
+	 * <p>
+	 * If lazy message interpolation is enabled (see
+	 * {@link Configuration#lazyMessageInterpolation(boolean)}), the message is
+	 * interpolated when this method is called for the first time, using the
+	 * message interpolator and locale which were in effect during validation.
+	 * Subsequent calls return the same message. Implementations must be safe
+	 * for access from several threads at the same time in this case.
+	 *
 	 * @return the interpolated error message for this constraint violation
+	 * @throws ValidationException if the message is interpolated lazily and
+	 *         the interpolation fails
 	 */
 	String getMessage();
 
 	/**
+	 * Returns the non-interpolated error message for this constraint violation.
+	 * It is always available, regardless of whether the message is interpolated
+	 * lazily.
+	 *
 	 * @return the non-interpolated error message for this constraint violation
 	 */
 	String getMessageTemplate();
@@ -139,4 +154,22 @@ public interface ConstraintViolation<T> {
 	 * @since 1.1
 	 */
 	<U> U unwrap(Class<U> type);
+
+	/**
+	 * Returns a view of this violation detached from the validated object graph, i.e.
+	 * not retaining the root bean, the leaf bean, the executable parameters and return
+	 * value or the invalid value. Useful when violations are buffered, e.g. for reporting
+	 * them asynchronously.
+	 * <p>
+	 * The default implementation returns {@link DetachedConstraintViolation#of(ConstraintViolation)}.
+	 *
+	 * @return a detached view of this violation
+	 * @throws ValidationException if the message is interpolated lazily and the
+	 *         interpolation fails
+	 *
+	 * @since 2.0
+	 */
+	default DetachedConstraintViolation<T> detach() {
+		return DetachedConstraintViolation.of( this );
+	}
 }
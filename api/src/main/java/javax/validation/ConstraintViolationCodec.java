@@ -0,0 +1,618 @@
+/*
+ * Bean Validation API
+ *
+ * License: Apache License, Version 2.0
+ * See the license.txt file in the root directory or <http://www.apache.org/licenses/LICENSE-2.0>.
+ */
+package javax.validation;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.StreamCorruptedException;
+import java.io.UncheckedIOException;
+import java.lang.annotation.Annotation;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.validation.Path.BeanNode;
+import javax.validation.Path.ConstructorNode;
+import javax.validation.Path.ContainerElementNode;
+import javax.validation.Path.MethodNode;
+import javax.validation.Path.Node;
+import javax.validation.Path.ParameterNode;
+import javax.validation.Path.PropertyNode;
+
+/**
+ * Encodes constraint violations into a compact binary format and decodes them into
+ * {@link DetachedConstraintViolation}s, e.g. for transferring violations across remoting
+ * boundaries. RPC and messaging frameworks can plug the codec into their own marshalling;
+ * it is also used for the Java serialization of {@link DetachedConstraintViolation} and
+ * {@link ConstraintViolationException}.
+ * <p>
+ * Violations are encoded in batches: {@link #writeAll(Collection, DataOutput)} writes the
+ * format version (currently 1), the number of violations and the violations, whereas
+ * {@link #write(ConstraintViolation, DataOutput)} writes the format version and a single
+ * violation. All integers are unsigned variable-length quantities (7 bits per byte, least
+ * significant group first). Strings are deduplicated within a batch; each string is
+ * written as
+ * <ul>
+ *     <li>0 for {@code null},</li>
+ *     <li>1 followed by its UTF-8 length and its UTF-8 bytes if the string occurs for the
+ *     first time within the batch, or</li>
+ *     <li>the index of its first occurrence amongst the distinct strings of the batch
+ *     plus 2 otherwise.</li>
+ * </ul>
+ * Types are written as strings holding their names. Each violation is encoded as:
+ * <ol>
+ *     <li>the root bean class</li>
+ *     <li>the number of nodes of the property path plus one (0 if there is no path),
+ *     followed by the nodes; each node is encoded as
+ *     <ul>
+ *         <li>the kind of the node: 0 bean, 1 property, 2 method, 3 constructor,
+ *         4 parameter, 5 cross-parameter, 6 return value, 7 container element</li>
+ *         <li>a flags byte: 1 in iterable, 2 has index, 4 has key, 8 has container
+ *         class, 16 has type argument index</li>
+ *         <li>the name</li>
+ *         <li>the index, the string representation of the key, the container class and the
+ *         type argument index, each if flagged</li>
+ *         <li>for parameter nodes the parameter index, for method and constructor nodes the
+ *         number of parameter types followed by the parameter types</li>
+ *     </ul>
+ *     </li>
+ *     <li>the message template</li>
+ *     <li>the interpolated message</li>
+ *     <li>the constraint annotation type</li>
+ *     <li>the string representation of the invalid value as retained by
+ *     {@link DetachedConstraintViolation#getInvalidValue()}</li>
+ * </ol>
+ * Decoded violations are {@link DetachedConstraintViolation}s without constraint
+ * descriptor; the keys of their path nodes are strings. Types which cannot be loaded by
+ * the class loader given for decoding are represented as {@code null}.
+ *
+ * @since 2.0
+ */
+public final class ConstraintViolationCodec {
+
+	private static final int VERSION = 1;
+
+	private static final ElementKind[] KINDS = {
+			ElementKind.BEAN,
+			ElementKind.PROPERTY,
+			ElementKind.METHOD,
+			ElementKind.CONSTRUCTOR,
+			ElementKind.PARAMETER,
+			ElementKind.CROSS_PARAMETER,
+			ElementKind.RETURN_VALUE,
+			ElementKind.CONTAINER_ELEMENT
+	};
+
+	private static final int IN_ITERABLE = 1;
+	private static final int HAS_INDEX = 2;
+	private static final int HAS_KEY = 4;
+	private static final int HAS_CONTAINER_CLASS = 8;
+	private static final int HAS_TYPE_ARGUMENT_INDEX = 16;
+
+	private static final Map<String, Class<?>> PRIMITIVE_TYPES = new HashMap<>();
+
+	static {
+		for ( Class<?> type : new Class<?>[] { boolean.class, byte.class, char.class, short.class, int.class,
+				long.class, float.class, double.class, void.class } ) {
+			PRIMITIVE_TYPES.put( type.getName(), type );
+		}
+	}
+
+	/**
+	 * The maximum number of bytes read at once when decoding a string; the buffer for a
+	 * string is grown as its bytes are actually read, so a malformed length doesn't cause
+	 * a large allocation.
+	 */
+	private static final int READ_CHUNK_SIZE = 8192;
+
+	private ConstraintViolationCodec() {
+	}
+
+	/**
+	 * Encodes the given constraint violation, preceded by the format version.
+	 *
+	 * @param violation the violation to encode
+	 * @param out the output to write the encoded violation to
+	 * @throws IOException if the violation cannot be written
+	 * @throws IllegalArgumentException if {@code violation} or {@code out} is {@code null}
+	 * @throws ValidationException if the message of the violation is interpolated lazily
+	 *         and the interpolation fails
+	 */
+	public static void write(ConstraintViolation<?> violation, DataOutput out) throws IOException {
+		if ( violation == null ) {
+			throw new IllegalArgumentException( "The violation must not be null." );
+		}
+		if ( out == null ) {
+			throw new IllegalArgumentException( "The output must not be null." );
+		}
+
+		Encoder encoder = new Encoder( out );
+		encoder.writeInt( VERSION );
+		encoder.writeViolation( violation );
+	}
+
+	/**
+	 * Decodes a constraint violation written by
+	 * {@link #write(ConstraintViolation, DataOutput)}.
+	 *
+	 * @param in the input to read the encoded violation from
+	 * @param classLoader the class loader to load the types referenced by the violation
+	 * @return the decoded violation
+	 * @throws IOException if the violation cannot be read or is malformed
+	 * @throws IllegalArgumentException if {@code in} or {@code classLoader} is {@code null}
+	 */
+	public static DetachedConstraintViolation<?> read(DataInput in, ClassLoader classLoader) throws IOException {
+		if ( in == null ) {
+			throw new IllegalArgumentException( "The input must not be null." );
+		}
+		if ( classLoader == null ) {
+			throw new IllegalArgumentException( "The class loader must not be null." );
+		}
+
+		Decoder decoder = new Decoder( in, classLoader );
+		decoder.readVersion();
+		return decoder.readViolation();
+	}
+
+	/**
+	 * Encodes the given constraint violations, preceded by the format version and their
+	 * number.
+	 *
+	 * @param violations the violations to encode
+	 * @param out the output to write the encoded violations to
+	 * @throws IOException if the violations cannot be written
+	 * @throws IllegalArgumentException if {@code violations} or {@code out} is {@code null}
+	 *         or if {@code violations} contains {@code null}
+	 * @throws ValidationException if the message of a violation is interpolated lazily
+	 *         and the interpolation fails
+	 */
+	public static void writeAll(Collection<? extends ConstraintViolation<?>> violations, DataOutput out)
+			throws IOException {
+		if ( violations == null ) {
+			throw new IllegalArgumentException( "The violations must not be null." );
+		}
+		if ( out == null ) {
+			throw new IllegalArgumentException( "The output must not be null." );
+		}
+		for ( ConstraintViolation<?> violation : violations ) {
+			if ( violation == null ) {
+				throw new IllegalArgumentException( "The violations must not contain null." );
+			}
+		}
+
+		Encoder encoder = new Encoder( out );
+		encoder.writeInt( VERSION );
+		encoder.writeInt( violations.size() );
+		for ( ConstraintViolation<?> violation : violations ) {
+			encoder.writeViolation( violation );
+		}
+	}
+
+	/**
+	 * Decodes constraint violations written by
+	 * {@link #writeAll(Collection, DataOutput)}.
+	 *
+	 * @param in the input to read the encoded violations from
+	 * @param classLoader the class loader to load the types referenced by the violations
+	 * @return the decoded violations in the order they were written
+	 * @throws IOException if the violations cannot be read or are malformed
+	 * @throws IllegalArgumentException if {@code in} or {@code classLoader} is {@code null}
+	 */
+	public static List<DetachedConstraintViolation<?>> readAll(DataInput in, ClassLoader classLoader) throws IOException {
+		if ( in == null ) {
+			throw new IllegalArgumentException( "The input must not be null." );
+		}
+		if ( classLoader == null ) {
+			throw new IllegalArgumentException( "The class loader must not be null." );
+		}
+
+		Decoder decoder = new Decoder( in, classLoader );
+		decoder.readVersion();
+		int size = decoder.readInt();
+		// don't trust the size for pre-sizing, it may be malformed
+		List<DetachedConstraintViolation<?>> violations = new ArrayList<>( Math.min( size, 16 ) );
+		for ( int i = 0; i < size; i++ ) {
+			violations.add( decoder.readViolation() );
+		}
+		return violations;
+	}
+
+	/**
+	 * Encodes the given constraint violations into a byte array as done by
+	 * {@link #writeAll(Collection, DataOutput)}.
+	 *
+	 * @param violations the violations to encode
+	 * @return the encoded violations
+	 * @throws IllegalArgumentException if {@code violations} is {@code null} or contains
+	 *         {@code null}
+	 * @throws ValidationException if the message of a violation is interpolated lazily
+	 *         and the interpolation fails
+	 */
+	public static byte[] encode(Collection<? extends ConstraintViolation<?>> violations) {
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		try {
+			writeAll( violations, new DataOutputStream( bytes ) );
+		}
+		catch ( IOException e ) {
+			// not thrown by ByteArrayOutputStream
+			throw new UncheckedIOException( e );
+		}
+		return bytes.toByteArray();
+	}
+
+	/**
+	 * Decodes constraint violations encoded by {@link #encode(Collection)}.
+	 *
+	 * @param bytes the encoded violations
+	 * @param classLoader the class loader to load the types referenced by the violations
+	 * @return the decoded violations in the order they were encoded
+	 * @throws IllegalArgumentException if {@code bytes} or {@code classLoader} is
+	 *         {@code null}
+	 * @throws ValidationException if the encoded violations are malformed
+	 */
+	public static List<DetachedConstraintViolation<?>> decode(byte[] bytes, ClassLoader classLoader) {
+		if ( bytes == null ) {
+			throw new IllegalArgumentException( "The bytes must not be null." );
+		}
+
+		try {
+			return readAll( new DataInputStream( new ByteArrayInputStream( bytes ) ), classLoader );
+		}
+		catch ( IOException e ) {
+			throw new ValidationException( "Unable to decode constraint violations.", e );
+		}
+	}
+
+	/**
+	 * Returns the class loader used for loading types when deserializing violations: the
+	 * thread context class loader if set, the loader of the API otherwise.
+	 */
+	static ClassLoader getDeserializationClassLoader() {
+		ClassLoader classLoader = Thread.currentThread().getContextClassLoader();
+		return classLoader != null ? classLoader : ConstraintViolationCodec.class.getClassLoader();
+	}
+
+	private static int kindCode(ElementKind kind) {
+		for ( int i = 0; i < KINDS.length; i++ ) {
+			if ( KINDS[i] == kind ) {
+				return i;
+			}
+		}
+		throw new IllegalArgumentException( "Unsupported node kind " + kind + "." );
+	}
+
+	/**
+	 * Writes one batch of violations, keeping track of the strings written so far.
+	 */
+	private static class Encoder {
+
+		private final DataOutput out;
+		private final Map<String, Integer> stringIndexes = new HashMap<>();
+
+		private Encoder(DataOutput out) {
+			this.out = out;
+		}
+
+		private void writeViolation(ConstraintViolation<?> violation) throws IOException {
+			DetachedConstraintViolation<?> detached = DetachedConstraintViolation.of( violation );
+
+			writeType( detached.getRootBeanClass() );
+			writePath( detached.getPropertyPath() );
+			writeString( detached.getMessageTemplate() );
+			writeString( detached.getMessage() );
+			writeType( detached.getConstraintAnnotationType() );
+			writeString( (String) detached.getInvalidValue() );
+		}
+
+		private void writePath(Path path) throws IOException {
+			if ( path == null ) {
+				writeInt( 0 );
+				return;
+			}
+
+			List<Node> nodes = new ArrayList<>();
+			for ( Node node : path ) {
+				nodes.add( node );
+			}
+
+			writeInt( nodes.size() + 1 );
+			for ( Node node : nodes ) {
+				writeNode( node );
+			}
+		}
+
+		private void writeNode(Node node) throws IOException {
+			Class<?> containerClass = null;
+			Integer typeArgumentIndex = null;
+
+			switch ( node.getKind() ) {
+				case BEAN:
+					containerClass = node.as( BeanNode.class ).getContainerClass();
+					typeArgumentIndex = node.as( BeanNode.class ).getTypeArgumentIndex();
+					break;
+				case PROPERTY:
+					containerClass = node.as( PropertyNode.class ).getContainerClass();
+					typeArgumentIndex = node.as( PropertyNode.class ).getTypeArgumentIndex();
+					break;
+				case CONTAINER_ELEMENT:
+					containerClass = node.as( ContainerElementNode.class ).getContainerClass();
+					typeArgumentIndex = node.as( ContainerElementNode.class ).getTypeArgumentIndex();
+					break;
+				default:
+					break;
+			}
+
+			int flags = ( node.isInIterable() ? IN_ITERABLE : 0 )
+					| ( node.getIndex() != null ? HAS_INDEX : 0 )
+					| ( node.getKey() != null ? HAS_KEY : 0 )
+					| ( containerClass != null ? HAS_CONTAINER_CLASS : 0 )
+					| ( typeArgumentIndex != null ? HAS_TYPE_ARGUMENT_INDEX : 0 );
+
+			out.writeByte( kindCode( node.getKind() ) );
+			out.writeByte( flags );
+			writeString( node.getName() );
+			if ( node.getIndex() != null ) {
+				writeInt( node.getIndex() );
+			}
+			if ( node.getKey() != null ) {
+				writeString( node.getKey().toString() );
+			}
+			if ( containerClass != null ) {
+				writeType( containerClass );
+			}
+			if ( typeArgumentIndex != null ) {
+				writeInt( typeArgumentIndex );
+			}
+
+			switch ( node.getKind() ) {
+				case PARAMETER:
+					writeInt( node.as( ParameterNode.class ).getParameterIndex() );
+					break;
+				case METHOD:
+					writeTypes( node.as( MethodNode.class ).getParameterTypes() );
+					break;
+				case CONSTRUCTOR:
+					writeTypes( node.as( ConstructorNode.class ).getParameterTypes() );
+					break;
+				default:
+					break;
+			}
+		}
+
+		private void writeTypes(List<Class<?>> types) throws IOException {
+			if ( types == null ) {
+				writeInt( 0 );
+				return;
+			}
+
+			writeInt( types.size() + 1 );
+			for ( Class<?> type : types ) {
+				writeType( type );
+			}
+		}
+
+		private void writeType(Class<?> type) throws IOException {
+			writeString( type != null ? type.getName() : null );
+		}
+
+		private void writeString(String value) throws IOException {
+			if ( value == null ) {
+				writeInt( 0 );
+				return;
+			}
+
+			Integer index = stringIndexes.get( value );
+			if ( index != null ) {
+				writeInt( index + 2 );
+				return;
+			}
+			stringIndexes.put( value, stringIndexes.size() );
+
+			byte[] bytes = value.getBytes( StandardCharsets.UTF_8 );
+			writeInt( 1 );
+			writeInt( bytes.length );
+			out.write( bytes );
+		}
+
+		private void writeInt(int value) throws IOException {
+			if ( value < 0 ) {
+				throw new IllegalArgumentException( "Negative values cannot be encoded: " + value );
+			}
+
+			while ( ( value & ~0x7F ) != 0 ) {
+				out.writeByte( ( value & 0x7F ) | 0x80 );
+				value >>>= 7;
+			}
+			out.writeByte( value );
+		}
+	}
+
+	/**
+	 * Reads one batch of violations, keeping track of the strings read so far.
+	 */
+	private static class Decoder {
+
+		private final DataInput in;
+		private final ClassLoader classLoader;
+		private final List<String> strings = new ArrayList<>();
+
+		private Decoder(DataInput in, ClassLoader classLoader) {
+			this.in = in;
+			this.classLoader = classLoader;
+		}
+
+		private void readVersion() throws IOException {
+			int version = readInt();
+			if ( version != VERSION ) {
+				throw new StreamCorruptedException( "Unsupported constraint violation format version " + version + "." );
+			}
+		}
+
+		private DetachedConstraintViolation<?> readViolation() throws IOException {
+			Class<?> rootBeanClass = readType();
+			Path propertyPath = readPath();
+			String messageTemplate = readString();
+			String message = readString();
+			Class<?> annotationType = readType();
+			String invalidValue = readString();
+
+			return newViolation(
+					rootBeanClass,
+					propertyPath,
+					message,
+					messageTemplate,
+					annotationType != null && annotationType.isAnnotation() ? annotationType.asSubclass( Annotation.class ) : null,
+					invalidValue
+			);
+		}
+
+		private static <T> DetachedConstraintViolation<T> newViolation(Class<T> rootBeanClass, Path propertyPath,
+				String message, String messageTemplate, Class<? extends Annotation> annotationType, String invalidValue) {
+			return new DetachedConstraintViolation<>( rootBeanClass, propertyPath, message, messageTemplate, null,
+					annotationType, invalidValue );
+		}
+
+		private Path readPath() throws IOException {
+			int size = readInt() - 1;
+			if ( size < 0 ) {
+				return null;
+			}
+
+			ImmutablePath path = ImmutablePath.ROOT;
+			for ( int i = 0; i < size; i++ ) {
+				path = path.append( readNode() );
+			}
+			return path;
+		}
+
+		private ImmutableNode readNode() throws IOException {
+			int kindCode = in.readUnsignedByte();
+			if ( kindCode >= KINDS.length ) {
+				throw new StreamCorruptedException( "Unknown node kind " + kindCode + "." );
+			}
+			ElementKind kind = KINDS[kindCode];
+			int flags = in.readUnsignedByte();
+
+			String name = readString();
+			Integer index = ( flags & HAS_INDEX ) != 0 ? readInt() : null;
+			String key = ( flags & HAS_KEY ) != 0 ? readString() : null;
+			Class<?> containerClass = ( flags & HAS_CONTAINER_CLASS ) != 0 ? readType() : null;
+			Integer typeArgumentIndex = ( flags & HAS_TYPE_ARGUMENT_INDEX ) != 0 ? readInt() : null;
+
+			int parameterIndex = -1;
+			List<Class<?>> parameterTypes = null;
+			switch ( kind ) {
+				case PARAMETER:
+					parameterIndex = readInt();
+					break;
+				case METHOD:
+				case CONSTRUCTOR:
+					parameterTypes = readTypes();
+					break;
+				default:
+					break;
+			}
+
+			return ImmutableNode.of( kind, name, ( flags & IN_ITERABLE ) != 0, index, key, containerClass,
+					typeArgumentIndex, parameterIndex, parameterTypes );
+		}
+
+		private List<Class<?>> readTypes() throws IOException {
+			int size = readInt() - 1;
+			if ( size < 0 ) {
+				return null;
+			}
+
+			List<Class<?>> types = new ArrayList<>( Math.min( size, 16 ) );
+			for ( int i = 0; i < size; i++ ) {
+				types.add( readType() );
+			}
+			return Collections.unmodifiableList( types );
+		}
+
+		private Class<?> readType() throws IOException {
+			String name = readString();
+			if ( name == null ) {
+				return null;
+			}
+
+			Class<?> primitiveType = PRIMITIVE_TYPES.get( name );
+			if ( primitiveType != null ) {
+				return primitiveType;
+			}
+
+			try {
+				return Class.forName( name, false, classLoader );
+			}
+			catch ( ClassNotFoundException | LinkageError e ) {
+				return null;
+			}
+		}
+
+		private String readString() throws IOException {
+			int reference = readInt();
+			if ( reference == 0 ) {
+				return null;
+			}
+			if ( reference > 1 ) {
+				int index = reference - 2;
+				if ( index >= strings.size() ) {
+					throw new StreamCorruptedException( "Reference to unknown string " + index + "." );
+				}
+				return strings.get( index );
+			}
+
+			int length = readInt();
+			byte[] bytes;
+			if ( length <= READ_CHUNK_SIZE ) {
+				bytes = new byte[length];
+				in.readFully( bytes );
+			}
+			else {
+				// the length may be malformed, so only allocate as much as is actually read
+				ByteArrayOutputStream buffer = new ByteArrayOutputStream( READ_CHUNK_SIZE );
+				byte[] chunk = new byte[READ_CHUNK_SIZE];
+				for ( int remaining = length; remaining > 0; remaining -= chunk.length ) {
+					if ( remaining < chunk.length ) {
+						chunk = new byte[remaining];
+					}
+					in.readFully( chunk );
+					buffer.write( chunk, 0, chunk.length );
+				}
+				bytes = buffer.toByteArray();
+			}
+
+			String value = new String( bytes, StandardCharsets.UTF_8 );
+			strings.add( value );
+			return value;
+		}
+
+		private int readInt() throws IOException {
+			int value = 0;
+			for ( int shift = 0; shift < 32; shift += 7 ) {
+				int b = in.readUnsignedByte();
+				value |= ( b & 0x7F ) << shift;
+				if ( ( b & 0x80 ) == 0 ) {
+					if ( value < 0 ) {
+						break;
+					}
+					return value;
+				}
+			}
+			throw new StreamCorruptedException( "Malformed variable-length integer." );
+		}
+	}
+}
@@ -0,0 +1,215 @@
+/*
+ * Bean Validation API
+ *
+ * License: Apache License, Version 2.0
+ * See the license.txt file in the root directory or <http://www.apache.org/licenses/LICENSE-2.0>.
+ */
+package javax.validation;
+
+import java.io.IOException;
+import java.io.InvalidObjectException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.ObjectStreamField;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Reports the result of constraint violations.
+ * <p>
+ * If no explicit message is given, the message of the exception lists the property paths
+ * and messages of the violations. It is built when {@link #getMessage()} is called for
+ * the first time and lists at most 100 violations.
+ * <p>
+ * When serialized, the violations are {@link ConstraintViolation#detach() detached}
+ * and written in the format defined by {@link ConstraintViolationCodec}, so neither the
+ * validated object graph nor the violation implementations of the provider need to be
+ * serializable. After deserialization, the exception holds the violations as
+ * {@link DetachedConstraintViolation}s. Exceptions serialized by earlier versions of this
+ * API, which wrote the violations themselves, can still be deserialized; they hold the
+ * violations as written. Earlier versions deserialize exceptions written by this version
+ * without violations.
+ *
+ * @author Emmanuel Bernard
+ * @author Gunnar Morling
+ */
+public class ConstraintViolationException extends ValidationException {
+
+	private static final int MAX_VIOLATIONS_IN_MESSAGE = 100;
+
+	// the value computed for earlier versions of this class, which declared none
+	private static final long serialVersionUID = -61143224454277624L;
+
+	/**
+	 * {@code constraintViolations} is the field holding the violations in the serialized
+	 * form of earlier versions; it is read from streams written by these versions, but
+	 * always written as {@code null}, as the violations are written following the fields
+	 * in the format defined by {@link ConstraintViolationCodec}.
+	 */
+	private static final ObjectStreamField[] serialPersistentFields = {
+			new ObjectStreamField( "constraintViolations", Set.class ),
+			new ObjectStreamField( "messageFromViolations", boolean.class )
+	};
+
+	// not final, as it is restored by readObject()
+	private transient Set<ConstraintViolation<?>> constraintViolations;
+
+	// not final, as it is restored by readObject()
+	private transient boolean messageFromViolations;
+
+	private transient volatile String violationsMessage;
+
+	/**
+	 * Creates a constraint violation report.
+	 *
+	 * @param message error message
+	 * @param constraintViolations {@code Set} of {@link ConstraintViolation}
+	 */
+	public ConstraintViolationException(String message,
+										Set<? extends ConstraintViolation<?>> constraintViolations) {
+		this( message, copy( constraintViolations ), false );
+	}
+
+	/**
+	 * Creates a constraint violation report.
+	 *
+	 * @param constraintViolations {@code Set} of {@link ConstraintViolation}
+	 */
+	public ConstraintViolationException(Set<? extends ConstraintViolation<?>> constraintViolations) {
+		this( null, copy( constraintViolations ), true );
+	}
+
+	private ConstraintViolationException(String message, Set<ConstraintViolation<?>> constraintViolations,
+			boolean messageFromViolations) {
+		super( message );
+		this.constraintViolations = constraintViolations;
+		this.messageFromViolations = messageFromViolations;
+	}
+
+	/**
+	 * Creates a constraint violation report referencing the given set rather than a copy
+	 * of it, avoiding the cost of copying large sets of violations.
+	 * <p>
+	 * The set must not be modified after invoking this method; ideally it is immutable.
+	 * Apart from that, the returned exception behaves like one created by
+	 * {@link #ConstraintViolationException(Set)}.
+	 *
+	 * @param constraintViolations {@code Set} of {@link ConstraintViolation}
+	 * @return a constraint violation report referencing the given set
+	 *
+	 * @since 2.0
+	 */
+	public static ConstraintViolationException withoutCopy(Set<? extends ConstraintViolation<?>> constraintViolations) {
+		return new ConstraintViolationException(
+				null,
+				constraintViolations != null ? Collections.unmodifiableSet( constraintViolations ) : null,
+				true
+		);
+	}
+
+	/**
+	 * Set of constraint violations reported during a validation.
+	 *
+	 * @return unmodifiable {@code Set} of {@link ConstraintViolation}
+	 */
+	public Set<ConstraintViolation<?>> getConstraintViolations() {
+		return constraintViolations;
+	}
+
+	/**
+	 * Returns the message given when creating this exception or, if none was given, a
+	 * message listing the property paths and messages of the violations, which is built
+	 * upon the first invocation of this method.
+	 *
+	 * @return the message of this exception
+	 */
+	@Override
+	public String getMessage() {
+		if ( !messageFromViolations ) {
+			return super.getMessage();
+		}
+
+		String message = violationsMessage;
+		if ( message == null && constraintViolations != null ) {
+			message = toString( constraintViolations, MAX_VIOLATIONS_IN_MESSAGE );
+			violationsMessage = message;
+		}
+		return message;
+	}
+
+	private void writeObject(ObjectOutputStream out) throws IOException {
+		ObjectOutputStream.PutField fields = out.putFields();
+		fields.put( "messageFromViolations", messageFromViolations );
+		out.writeFields();
+
+		out.writeBoolean( constraintViolations != null );
+		if ( constraintViolations != null ) {
+			ConstraintViolationCodec.writeAll(
+					constraintViolations.stream().filter( Objects::nonNull ).collect( Collectors.toList() ),
+					out
+			);
+		}
+	}
+
+	private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+		ObjectInputStream.GetField fields = in.readFields();
+		if ( fields.defaulted( "messageFromViolations" ) ) {
+			// written by an earlier version, with the message given explicitly
+			constraintViolations = readConstraintViolations( fields.get( "constraintViolations", null ) );
+			return;
+		}
+
+		messageFromViolations = fields.get( "messageFromViolations", false );
+		if ( in.readBoolean() ) {
+			constraintViolations = copy(
+					ConstraintViolationCodec.readAll( in, ConstraintViolationCodec.getDeserializationClassLoader() )
+			);
+		}
+	}
+
+	private static Set<ConstraintViolation<?>> readConstraintViolations(Object constraintViolations)
+			throws InvalidObjectException {
+		if ( constraintViolations == null ) {
+			return null;
+		}
+		if ( !( constraintViolations instanceof Set ) ) {
+			throw new InvalidObjectException( "Malformed constraint violations." );
+		}
+
+		Set<ConstraintViolation<?>> copy = new HashSet<>();
+		for ( Object constraintViolation : (Set<?>) constraintViolations ) {
+			if ( constraintViolation != null && !( constraintViolation instanceof ConstraintViolation ) ) {
+				throw new InvalidObjectException( "Malformed constraint violations." );
+			}
+			copy.add( (ConstraintViolation<?>) constraintViolation );
+		}
+		return Collections.unmodifiableSet( copy );
+	}
+
+	private static Set<ConstraintViolation<?>> copy(Collection<? extends ConstraintViolation<?>> constraintViolations) {
+		return constraintViolations != null ? Collections.unmodifiableSet( new HashSet<>( constraintViolations ) ) : null;
+	}
+
+	private static String toString(Set<? extends ConstraintViolation<?>> constraintViolations, int maxViolations) {
+		StringBuilder message = new StringBuilder();
+		int count = 0;
+
+		for ( ConstraintViolation<?> cv : constraintViolations ) {
+			if ( count == maxViolations ) {
+				message.append( count > 0 ? ", ... and " : "... and " ).append( constraintViolations.size() - count ).append( " more" );
+				break;
+			}
+			if ( count > 0 ) {
+				message.append( ", " );
+			}
+			message.append( cv == null ? "null" : cv.getPropertyPath() + ": " + cv.getMessage() );
+			count++;
+		}
+
+		return message.toString();
+	}
+}
@@ -0,0 +1,344 @@
+/*
+ * Bean Validation API
+ *
+ * License: Apache License, Version 2.0
+ * See the license.txt file in the root directory or <http://www.apache.org/licenses/LICENSE-2.0>.
+ */
+package javax.validation;
+
+import java.util.Iterator;
+
+import javax.validation.ConstraintValidatorContext.ConstraintViolationBuilder;
+import javax.validation.ConstraintValidatorContext.ConstraintViolationBuilder.ContainerElementNodeBuilderCustomizableContext;
+import javax.validation.ConstraintValidatorContext.ConstraintViolationBuilder.ContainerElementNodeBuilderDefinedContext;
+import javax.validation.ConstraintValidatorContext.ConstraintViolationBuilder.ContainerElementNodeContextBuilder;
+import javax.validation.ConstraintValidatorContext.ConstraintViolationBuilder.LeafNodeBuilderCustomizableContext;
+import javax.validation.ConstraintValidatorContext.ConstraintViolationBuilder.LeafNodeContextBuilder;
+import javax.validation.ConstraintValidatorContext.ConstraintViolationBuilder.NodeBuilderCustomizableContext;
+import javax.validation.ConstraintValidatorContext.ConstraintViolationBuilder.NodeBuilderDefinedContext;
+import javax.validation.ConstraintValidatorContext.ConstraintViolationBuilder.NodeContextBuilder;
+import javax.validation.Path.BeanNode;
+import javax.validation.Path.ContainerElementNode;
+import javax.validation.Path.Node;
+import javax.validation.Path.ParameterNode;
+import javax.validation.Path.PropertyNode;
+
+/**
+ * Translates a relative {@link Path} into calls of the
+ * {@link ConstraintViolationBuilder} fluent API; used by the default implementation of
+ * {@link ConstraintValidatorContext#reportViolation(String, Path)}.
+ *
+ * @since 2.0
+ */
+final class ConstraintViolationPaths {
+
+	private ConstraintViolationPaths() {
+	}
+
+	/**
+	 * Adds the nodes of the given path to the given builder and adds the violation.
+	 *
+	 * @throws IllegalArgumentException if the path contains nodes of a kind not supported
+	 *         by the builder at their position
+	 */
+	static ConstraintValidatorContext addConstraintViolation(ConstraintViolationBuilder builder, Path path) {
+		BuilderStage stage = stage( builder );
+
+		Iterator<Node> nodes = path.iterator();
+		boolean first = true;
+		while ( nodes.hasNext() ) {
+			Node node = nodes.next();
+			switch ( node.getKind() ) {
+				case PARAMETER:
+					if ( !first ) {
+						throw unsupportedNode( node );
+					}
+					stage = stage( builder.addParameterNode( node.as( ParameterNode.class ).getParameterIndex() ) );
+					break;
+				case PROPERTY:
+					stage = addPropertyNode( stage, node );
+					break;
+				case BEAN:
+					if ( nodes.hasNext() ) {
+						throw new IllegalArgumentException( "A bean node must be the last node of a path." );
+					}
+					return addBeanNode( stage, node );
+				case CONTAINER_ELEMENT:
+					stage = addContainerElementNode( stage, node );
+					break;
+				default:
+					throw unsupportedNode( node );
+			}
+			first = false;
+		}
+
+		return stage.addConstraintViolation();
+	}
+
+	private static BuilderStage addPropertyNode(BuilderStage stage, Node node) {
+		NodeBuilderCustomizableContext propertyContext = stage.addPropertyNode( node.getName() );
+
+		PropertyNode propertyNode = node.as( PropertyNode.class );
+		if ( propertyNode.getContainerClass() != null ) {
+			propertyContext = propertyContext.inContainer( propertyNode.getContainerClass(), propertyNode.getTypeArgumentIndex() );
+		}
+		if ( !node.isInIterable() ) {
+			return stage( propertyContext );
+		}
+
+		NodeContextBuilder iterableContext = propertyContext.inIterable();
+		if ( node.getIndex() != null ) {
+			return stage( iterableContext.atIndex( node.getIndex() ) );
+		}
+		if ( node.getKey() != null ) {
+			return stage( iterableContext.atKey( node.getKey() ) );
+		}
+		return stage( iterableContext );
+	}
+
+	private static ConstraintValidatorContext addBeanNode(BuilderStage stage, Node node) {
+		LeafNodeBuilderCustomizableContext beanContext = stage.addBeanNode();
+
+		BeanNode beanNode = node.as( BeanNode.class );
+		if ( beanNode.getContainerClass() != null ) {
+			beanContext = beanContext.inContainer( beanNode.getContainerClass(), beanNode.getTypeArgumentIndex() );
+		}
+		if ( !node.isInIterable() ) {
+			return beanContext.addConstraintViolation();
+		}
+
+		LeafNodeContextBuilder iterableContext = beanContext.inIterable();
+		if ( node.getIndex() != null ) {
+			return iterableContext.atIndex( node.getIndex() ).addConstraintViolation();
+		}
+		if ( node.getKey() != null ) {
+			return iterableContext.atKey( node.getKey() ).addConstraintViolation();
+		}
+		return iterableContext.addConstraintViolation();
+	}
+
+	private static BuilderStage addContainerElementNode(BuilderStage stage, Node node) {
+		ContainerElementNode containerElementNode = node.as( ContainerElementNode.class );
+		ContainerElementNodeBuilderCustomizableContext elementContext = stage.addContainerElementNode(
+				node.getName(),
+				containerElementNode.getContainerClass(),
+				containerElementNode.getTypeArgumentIndex()
+		);
+
+		if ( !node.isInIterable() ) {
+			return stage( elementContext );
+		}
+
+		ContainerElementNodeContextBuilder iterableContext = elementContext.inIterable();
+		if ( node.getIndex() != null ) {
+			return stage( iterableContext.atIndex( node.getIndex() ) );
+		}
+		if ( node.getKey() != null ) {
+			return stage( iterableContext.atKey( node.getKey() ) );
+		}
+		return stage( iterableContext );
+	}
+
+	private static IllegalArgumentException unsupportedNode(Node node) {
+		return new IllegalArgumentException( "Nodes of kind " + node.getKind() + " cannot be added at this position of a path." );
+	}
+
+	private static BuilderStage stage(ConstraintViolationBuilder builder) {
+		return new BuilderStage() {
+
+			@Override
+			NodeBuilderCustomizableContext addPropertyNode(String name) {
+				return builder.addPropertyNode( name );
+			}
+
+			@Override
+			LeafNodeBuilderCustomizableContext addBeanNode() {
+				return builder.addBeanNode();
+			}
+
+			@Override
+			ContainerElementNodeBuilderCustomizableContext addContainerElementNode(String name, Class<?> containerType,
+					Integer typeArgumentIndex) {
+				return builder.addContainerElementNode( name, containerType, typeArgumentIndex );
+			}
+
+			@Override
+			ConstraintValidatorContext addConstraintViolation() {
+				return builder.addConstraintViolation();
+			}
+		};
+	}
+
+	private static BuilderStage stage(NodeBuilderCustomizableContext context) {
+		return new BuilderStage() {
+
+			@Override
+			NodeBuilderCustomizableContext addPropertyNode(String name) {
+				return context.addPropertyNode( name );
+			}
+
+			@Override
+			LeafNodeBuilderCustomizableContext addBeanNode() {
+				return context.addBeanNode();
+			}
+
+			@Override
+			ContainerElementNodeBuilderCustomizableContext addContainerElementNode(String name, Class<?> containerType,
+					Integer typeArgumentIndex) {
+				return context.addContainerElementNode( name, containerType, typeArgumentIndex );
+			}
+
+			@Override
+			ConstraintValidatorContext addConstraintViolation() {
+				return context.addConstraintViolation();
+			}
+		};
+	}
+
+	private static BuilderStage stage(NodeContextBuilder context) {
+		return new BuilderStage() {
+
+			@Override
+			NodeBuilderCustomizableContext addPropertyNode(String name) {
+				return context.addPropertyNode( name );
+			}
+
+			@Override
+			LeafNodeBuilderCustomizableContext addBeanNode() {
+				return context.addBeanNode();
+			}
+
+			@Override
+			ContainerElementNodeBuilderCustomizableContext addContainerElementNode(String name, Class<?> containerType,
+					Integer typeArgumentIndex) {
+				return context.addContainerElementNode( name, containerType, typeArgumentIndex );
+			}
+
+			@Override
+			ConstraintValidatorContext addConstraintViolation() {
+				return context.addConstraintViolation();
+			}
+		};
+	}
+
+	private static BuilderStage stage(NodeBuilderDefinedContext context) {
+		return new BuilderStage() {
+
+			@Override
+			NodeBuilderCustomizableContext addPropertyNode(String name) {
+				return context.addPropertyNode( name );
+			}
+
+			@Override
+			LeafNodeBuilderCustomizableContext addBeanNode() {
+				return context.addBeanNode();
+			}
+
+			@Override
+			ContainerElementNodeBuilderCustomizableContext addContainerElementNode(String name, Class<?> containerType,
+					Integer typeArgumentIndex) {
+				return context.addContainerElementNode( name, containerType, typeArgumentIndex );
+			}
+
+			@Override
+			ConstraintValidatorContext addConstraintViolation() {
+				return context.addConstraintViolation();
+			}
+		};
+	}
+
+	private static BuilderStage stage(ContainerElementNodeBuilderCustomizableContext context) {
+		return new BuilderStage() {
+
+			@Override
+			NodeBuilderCustomizableContext addPropertyNode(String name) {
+				return context.addPropertyNode( name );
+			}
+
+			@Override
+			LeafNodeBuilderCustomizableContext addBeanNode() {
+				return context.addBeanNode();
+			}
+
+			@Override
+			ContainerElementNodeBuilderCustomizableContext addContainerElementNode(String name, Class<?> containerType,
+					Integer typeArgumentIndex) {
+				return context.addContainerElementNode( name, containerType, typeArgumentIndex );
+			}
+
+			@Override
+			ConstraintValidatorContext addConstraintViolation() {
+				return context.addConstraintViolation();
+			}
+		};
+	}
+
+	private static BuilderStage stage(ContainerElementNodeContextBuilder context) {
+		return new BuilderStage() {
+
+			@Override
+			NodeBuilderCustomizableContext addPropertyNode(String name) {
+				return context.addPropertyNode( name );
+			}
+
+			@Override
+			LeafNodeBuilderCustomizableContext addBeanNode() {
+				return context.addBeanNode();
+			}
+
+			@Override
+			ContainerElementNodeBuilderCustomizableContext addContainerElementNode(String name, Class<?> containerType,
+					Integer typeArgumentIndex) {
+				return context.addContainerElementNode( name, containerType, typeArgumentIndex );
+			}
+
+			@Override
+			ConstraintValidatorContext addConstraintViolation() {
+				return context.addConstraintViolation();
+			}
+		};
+	}
+
+	private static BuilderStage stage(ContainerElementNodeBuilderDefinedContext context) {
+		return new BuilderStage() {
+
+			@Override
+			NodeBuilderCustomizableContext addPropertyNode(String name) {
+				return context.addPropertyNode( name );
+			}
+
+			@Override
+			LeafNodeBuilderCustomizableContext addBeanNode() {
+				return context.addBeanNode();
+			}
+
+			@Override
+			ContainerElementNodeBuilderCustomizableContext addContainerElementNode(String name, Class<?> containerType,
+					Integer typeArgumentIndex) {
+				return context.addContainerElementNode( name, containerType, typeArgumentIndex );
+			}
+
+			@Override
+			ConstraintValidatorContext addConstraintViolation() {
+				return context.addConstraintViolation();
+			}
+		};
+	}
+
+	/**
+	 * The operations shared by the builder and the node contexts of the fluent API, which
+	 * have no common super-type; there is one implementation per type of context, created
+	 * by the {@code stage()} methods.
+	 */
+	private abstract static class BuilderStage {
+
+		abstract NodeBuilderCustomizableContext addPropertyNode(String name);
+
+		abstract LeafNodeBuilderCustomizableContext addBeanNode();
+
+		abstract ContainerElementNodeBuilderCustomizableContext addContainerElementNode(String name, Class<?> containerType,
+				Integer typeArgumentIndex);
+
+		abstract ConstraintValidatorContext addConstraintViolation();
+	}
+}
@@ -0,0 +1,62 @@
+/*
+ * Bean Validation API
+ *
+ * License: Apache License, Version 2.0
+ * See the license.txt file in the root directory or <http://www.apache.org/licenses/LICENSE-2.0>.
+ */
+package javax.validation;
+
+import java.util.function.Consumer;
+
+import javax.validation.executable.ExecutableValidator;
+
+/**
+ * Receives the constraint violations found by {@link Validator} or
+ * {@link ExecutableValidator} one by one, as an alternative to collecting them into a
+ * {@code Set}.
+ * <p>
+ * Passing violations to a sink allows providers to hand them over as soon as they have
+ * been found, without hashing them, comparing them with each other or retaining them
+ * until the validation is complete. Violations passed to a sink are thus not guaranteed
+ * to be distinct. A sink can stop the validation by returning {@code false}; no further
+ * violations are passed to it then.
+ * <p>
+ * Sinks are invoked from the thread running the validation; they don't need to be
+ * thread-safe unless they are shared between concurrent validations.
+ *
+ * @param <T> the type of the root bean of the violations
+ *
+ * @since 2.0
+ */
+@FunctionalInterface
+public interface ConstraintViolationSink<T> {
+
+	/**
+	 * Receives a constraint violation.
+	 *
+	 * @param violation the constraint violation, never {@code null}
+	 * @return {@code true} if the validation is to be continued, {@code false} if it is
+	 *         to be stopped
+	 */
+	boolean accept(ConstraintViolation<T> violation);
+
+	/**
+	 * Returns a sink passing all violations to the given consumer; the validation is
+	 * never stopped by the returned sink.
+	 *
+	 * @param consumer the consumer to pass the violations to
+	 * @param <T> the type of the root bean of the violations
+	 * @return a sink passing all violations to the given consumer
+	 * @throws IllegalArgumentException if {@code consumer} is {@code null}
+	 */
+	static <T> ConstraintViolationSink<T> of(Consumer<? super ConstraintViolation<T>> consumer) {
+		if ( consumer == null ) {
+			throw new IllegalArgumentException( "The consumer must not be null." );
+		}
+
+		return violation -> {
+			consumer.accept( violation );
+			return true;
+		};
+	}
+}
@@ -0,0 +1,149 @@
+/*
+ * Bean Validation API
+ *
+ * License: Apache License, Version 2.0
+ * See the license.txt file in the root directory or <http://www.apache.org/licenses/LICENSE-2.0>.
+ */
+package javax.validation;
+
+/**
+ * {@link PropertyPathHandle} holding the parsed property path, returned by
+ * {@link PropertyPathHandle#of(Class, String)}.
+ */
+final class DefaultPropertyPathHandle implements PropertyPathHandle {
+
+	private final Class<?> beanType;
+	private final String propertyName;
+	private final ImmutablePath path;
+
+	DefaultPropertyPathHandle(Class<?> beanType, String propertyName) {
+		if ( beanType == null ) {
+			throw new IllegalArgumentException( "The bean type must not be null." );
+		}
+		if ( propertyName == null || propertyName.isEmpty() ) {
+			throw new IllegalArgumentException( "The property name must not be null or empty." );
+		}
+
+		this.beanType = beanType;
+		this.propertyName = propertyName;
+		this.path = parse( propertyName );
+	}
+
+	@Override
+	public Class<?> getBeanType() {
+		return beanType;
+	}
+
+	@Override
+	public String getPropertyName() {
+		return propertyName;
+	}
+
+	@Override
+	public Path getPath() {
+		return path;
+	}
+
+	@Override
+	public <U> U unwrap(Class<U> type) {
+		if ( type.isInstance( this ) ) {
+			return type.cast( this );
+		}
+		throw new ValidationException( "Type " + type.getName() + " not supported for unwrapping." );
+	}
+
+	@Override
+	public String toString() {
+		return beanType.getName() + "#" + propertyName;
+	}
+
+	/**
+	 * Parses paths such as {@code lines[17].product.sku}. An index or key in square
+	 * brackets is attached to the node following it, as mandated for path nodes.
+	 */
+	private static ImmutablePath parse(String propertyName) {
+		ImmutablePath path = ImmutablePath.ROOT;
+		boolean inIterable = false;
+		Integer index = null;
+		String key = null;
+
+		int position = 0;
+		int length = propertyName.length();
+
+		while ( position < length ) {
+			int end = position;
+			while ( end < length && propertyName.charAt( end ) != '.' && propertyName.charAt( end ) != '[' ) {
+				if ( propertyName.charAt( end ) == ']' ) {
+					throw malformed( propertyName );
+				}
+				end++;
+			}
+			if ( end == position ) {
+				throw malformed( propertyName );
+			}
+
+			path = path.append( ImmutableNode.property( propertyName.substring( position, end ), inIterable, index, key ) );
+			inIterable = false;
+			index = null;
+			key = null;
+
+			if ( end < length && propertyName.charAt( end ) == '[' ) {
+				int closing = propertyName.indexOf( ']', end );
+				if ( closing < 0 ) {
+					throw malformed( propertyName );
+				}
+
+				String selector = propertyName.substring( end + 1, closing );
+				if ( selector.indexOf( '[' ) >= 0 ) {
+					throw malformed( propertyName );
+				}
+				inIterable = true;
+				if ( isIndex( selector ) ) {
+					index = parseIndex( selector, propertyName );
+				}
+				else if ( !selector.isEmpty() ) {
+					key = selector;
+				}
+				end = closing + 1;
+			}
+
+			if ( end == length ) {
+				if ( inIterable ) {
+					throw malformed( propertyName );
+				}
+				break;
+			}
+			if ( propertyName.charAt( end ) != '.' || end == length - 1 ) {
+				throw malformed( propertyName );
+			}
+			position = end + 1;
+		}
+
+		return path;
+	}
+
+	private static boolean isIndex(String selector) {
+		if ( selector.isEmpty() ) {
+			return false;
+		}
+		for ( int i = 0; i < selector.length(); i++ ) {
+			if ( !Character.isDigit( selector.charAt( i ) ) ) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private static Integer parseIndex(String selector, String propertyName) {
+		try {
+			return Integer.valueOf( selector );
+		}
+		catch ( NumberFormatException e ) {
+			throw new IllegalArgumentException( "Invalid index " + selector + " in property path: " + propertyName, e );
+		}
+	}
+
+	private static IllegalArgumentException malformed(String propertyName) {
+		return new IllegalArgumentException( "Invalid property path: " + propertyName );
+	}
+}
@@ -0,0 +1,88 @@
+/*
+ * Bean Validation API
+ *
+ * License: Apache License, Version 2.0
+ * See the license.txt file in the root directory or <http://www.apache.org/licenses/LICENSE-2.0>.
+ */
+package javax.validation;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+
+import javax.validation.groups.Default;
+
+/**
+ * {@link ValidationPlan} returned by the default implementation of
+ * {@link Validator#compileValidationPlan(Class, Class[])}, delegating to the
+ * {@link Validator} it has been obtained from.
+ */
+final class DefaultValidationPlan<T> implements ValidationPlan<T> {
+
+	private static final Class<?>[] DEFAULT_GROUPS = { Default.class };
+
+	private final Validator validator;
+	private final Class<T> beanType;
+	private final Class<?>[] groups;
+	private final List<Class<?>> groupList;
+
+	DefaultValidationPlan(Validator validator, Class<T> beanType, Class<?>... groups) {
+		if ( beanType == null ) {
+			throw new IllegalArgumentException( "The bean type must not be null." );
+		}
+		if ( groups == null ) {
+			throw new IllegalArgumentException( "The groups must not be null." );
+		}
+		for ( Class<?> group : groups ) {
+			if ( group == null ) {
+				throw new IllegalArgumentException( "The groups must not contain null." );
+			}
+		}
+
+		this.validator = validator;
+		this.beanType = beanType;
+		this.groups = groups.length == 0 ? DEFAULT_GROUPS : groups.clone();
+		this.groupList = Collections.unmodifiableList( Arrays.asList( this.groups ) );
+	}
+
+	@Override
+	public Set<ConstraintViolation<T>> validate(T object) {
+		checkObject( object );
+		return validator.validate( object, groups );
+	}
+
+	@Override
+	public boolean isValid(T object) {
+		checkObject( object );
+		return validator.isValid( object, groups );
+	}
+
+	@Override
+	public Class<T> getBeanType() {
+		return beanType;
+	}
+
+	@Override
+	public List<Class<?>> getGroups() {
+		return groupList;
+	}
+
+	@Override
+	public <U> U unwrap(Class<U> type) {
+		if ( type.isInstance( this ) ) {
+			return type.cast( this );
+		}
+		throw new ValidationException( "Type " + type.getName() + " not supported for unwrapping." );
+	}
+
+	private void checkObject(T object) {
+		if ( object == null ) {
+			throw new IllegalArgumentException( "The object to validate must not be null." );
+		}
+		if ( !beanType.isInstance( object ) ) {
+			throw new IllegalArgumentException( "The validation plan has been compiled for type " + beanType.getName()
+					+ ", but the object to validate is of type " + object.getClass().getName() + "." );
+		}
+	}
+}
@@ -0,0 +1,319 @@
+/*
+ * Bean Validation API
+ *
+ * License: Apache License, Version 2.0
+ * See the license.txt file in the root directory or <http://www.apache.org/licenses/LICENSE-2.0>.
+ */
+package javax.validation;
+
+import java.io.InvalidObjectException;
+import java.io.ObjectInputStream;
+import java.io.Serializable;
+import java.lang.annotation.Annotation;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Objects;
+
+import javax.validation.metadata.ConstraintDescriptor;
+
+/**
+ * A {@link ConstraintViolation} detached from the validated object graph.
+ * <p>
+ * A detached violation only retains the root bean class, the property path, the
+ * interpolated message, the message template, the constraint descriptor and the string
+ * representation of the invalid value. It doesn't reference the root bean, the leaf bean,
+ * the executable parameters or return value, nor the invalid value itself, so buffering
+ * detached violations, e.g. for reporting them asynchronously, doesn't keep the validated
+ * object graph reachable.
+ * <p>
+ * The property path is an immutable copy of the path of the original violation (see
+ * {@link Path#copyOf(Path)}). Note that the keys of map entries referenced by the path are
+ * retained. The message of the original violation is obtained when detaching it, i.e. a
+ * lazily interpolated message is interpolated at that point.
+ * <p>
+ * The string representation of the invalid value is obtained by invoking its
+ * {@code toString()} method when detaching the violation. Its cost thus is incurred for
+ * every detached violation, and for large values, e.g. big collections, it may exceed the
+ * cost of the validation itself, as the complete representation is built before being
+ * truncated to {@value #MAX_INVALID_VALUE_LENGTH} characters; the truncation only bounds
+ * the memory retained by the detached violation. If {@code toString()} fails with a
+ * runtime exception, a placeholder naming the type of the value is retained instead, so
+ * that detaching a violation never fails because of the invalid value.
+ * <p>
+ * Two detached violations are equal if their root bean classes, property paths, messages,
+ * message templates, constraint annotation types and invalid values are equal. Instances
+ * are immutable and thread-safe.
+ * <p>
+ * Detached violations are serializable; they are serialized in the format defined by
+ * {@link ConstraintViolationCodec}. The constraint descriptor is not serialized, and the
+ * keys of map entries referenced by the path are serialized as strings.
+ *
+ * @param <T> the type of the root bean
+ *
+ * @since 2.0
+ */
+public final class DetachedConstraintViolation<T> implements ConstraintViolation<T>, Serializable {
+
+	/**
+	 * The maximum length of the string representation of the invalid value retained by
+	 * detached violations, excluding the marker appended to truncated representations.
+	 */
+	public static final int MAX_INVALID_VALUE_LENGTH = 1000;
+
+	private static final long serialVersionUID = 1L;
+
+	/**
+	 * Appended to string representations of invalid values which have been truncated.
+	 */
+	private static final String TRUNCATION_MARKER = "...";
+
+	private final Class<T> rootBeanClass;
+	private final transient Path propertyPath;
+	private final String message;
+	private final String messageTemplate;
+	private final transient ConstraintDescriptor<?> constraintDescriptor;
+	private final Class<? extends Annotation> constraintAnnotationType;
+	private final String invalidValue;
+
+	DetachedConstraintViolation(Class<T> rootBeanClass, Path propertyPath, String message,
+			String messageTemplate, ConstraintDescriptor<?> constraintDescriptor,
+			Class<? extends Annotation> constraintAnnotationType, String invalidValue) {
+		this.rootBeanClass = rootBeanClass;
+		this.propertyPath = propertyPath;
+		this.message = message;
+		this.messageTemplate = messageTemplate;
+		this.constraintDescriptor = constraintDescriptor;
+		this.constraintAnnotationType = constraintAnnotationType;
+		this.invalidValue = invalidValue;
+	}
+
+	/**
+	 * Returns a detached view of the given constraint violation. If the violation is
+	 * detached already, it is returned as is.
+	 *
+	 * @param violation the violation to detach
+	 * @param <T> the type of the root bean
+	 * @return a detached view of the given violation
+	 * @throws IllegalArgumentException if {@code violation} is {@code null}
+	 * @throws ValidationException if the message of the violation is interpolated lazily
+	 *         and the interpolation fails
+	 */
+	public static <T> DetachedConstraintViolation<T> of(ConstraintViolation<T> violation) {
+		if ( violation == null ) {
+			throw new IllegalArgumentException( "The violation must not be null." );
+		}
+		if ( violation instanceof DetachedConstraintViolation ) {
+			return (DetachedConstraintViolation<T>) violation;
+		}
+
+		ConstraintDescriptor<?> constraintDescriptor = violation.getConstraintDescriptor();
+		Annotation annotation = constraintDescriptor != null ? constraintDescriptor.getAnnotation() : null;
+		Path propertyPath = violation.getPropertyPath();
+
+		return new DetachedConstraintViolation<>(
+				violation.getRootBeanClass(),
+				propertyPath != null ? Path.copyOf( propertyPath ) : null,
+				violation.getMessage(),
+				violation.getMessageTemplate(),
+				constraintDescriptor,
+				annotation != null ? annotation.annotationType() : null,
+				toString( violation.getInvalidValue() )
+		);
+	}
+
+	@Override
+	public String getMessage() {
+		return message;
+	}
+
+	@Override
+	public String getMessageTemplate() {
+		return messageTemplate;
+	}
+
+	/**
+	 * @return always {@code null} as detached violations don't retain the root bean
+	 */
+	@Override
+	public T getRootBean() {
+		return null;
+	}
+
+	@Override
+	public Class<T> getRootBeanClass() {
+		return rootBeanClass;
+	}
+
+	/**
+	 * @return always {@code null} as detached violations don't retain the leaf bean
+	 */
+	@Override
+	public Object getLeafBean() {
+		return null;
+	}
+
+	/**
+	 * @return always {@code null} as detached violations don't retain the executable
+	 *         parameters
+	 */
+	@Override
+	public Object[] getExecutableParameters() {
+		return null;
+	}
+
+	/**
+	 * @return always {@code null} as detached violations don't retain the executable
+	 *         return value
+	 */
+	@Override
+	public Object getExecutableReturnValue() {
+		return null;
+	}
+
+	@Override
+	public Path getPropertyPath() {
+		return propertyPath;
+	}
+
+	/**
+	 * Returns the string representation of the value failing to pass the constraint
+	 * rather than the value itself; the return type is {@code Object} as defined by
+	 * {@link ConstraintViolation#getInvalidValue()}, but the returned object always is a
+	 * {@code String} or {@code null}. Arrays, e.g. the invocation arguments of
+	 * cross-parameter constraints, are represented as by
+	 * {@link Arrays#deepToString(Object[])}. Representations longer than
+	 * {@value #MAX_INVALID_VALUE_LENGTH} characters are truncated and end with
+	 * {@code "..."}. If obtaining the representation failed, a placeholder of the form
+	 * {@code <toString() of com.acme.Value failed>} is returned.
+	 *
+	 * @return the string representation of the invalid value or {@code null} if the
+	 *         invalid value is {@code null}
+	 */
+	@Override
+	public Object getInvalidValue() {
+		return invalidValue;
+	}
+
+	@Override
+	public ConstraintDescriptor<?> getConstraintDescriptor() {
+		return constraintDescriptor;
+	}
+
+	/**
+	 * @return the type of the constraint annotation reported to fail or {@code null} if
+	 *         the original violation didn't provide a constraint descriptor
+	 */
+	public Class<? extends Annotation> getConstraintAnnotationType() {
+		return constraintAnnotationType;
+	}
+
+	@Override
+	public <U> U unwrap(Class<U> type) {
+		if ( type.isInstance( this ) ) {
+			return type.cast( this );
+		}
+		throw new ValidationException( "Type " + type.getName() + " not supported for unwrapping." );
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		if ( this == obj ) {
+			return true;
+		}
+		if ( !( obj instanceof DetachedConstraintViolation ) ) {
+			return false;
+		}
+
+		DetachedConstraintViolation<?> other = (DetachedConstraintViolation<?>) obj;
+		return Objects.equals( rootBeanClass, other.rootBeanClass )
+				&& Objects.equals( propertyPath, other.propertyPath )
+				&& Objects.equals( message, other.message )
+				&& Objects.equals( messageTemplate, other.messageTemplate )
+				&& Objects.equals( constraintAnnotationType, other.constraintAnnotationType )
+				&& Objects.equals( invalidValue, other.invalidValue );
+	}
+
+	@Override
+	public int hashCode() {
+		return Objects.hash( rootBeanClass, propertyPath, message, messageTemplate, constraintAnnotationType, invalidValue );
+	}
+
+	@Override
+	public String toString() {
+		return "DetachedConstraintViolation [propertyPath=" + propertyPath + ", message=" + message
+				+ ", rootBeanClass=" + ( rootBeanClass != null ? rootBeanClass.getName() : null )
+				+ ", invalidValue=" + invalidValue + "]";
+	}
+
+	private Object writeReplace() {
+		return new SerializedForm( ConstraintViolationCodec.encode( Collections.singleton( this ) ) );
+	}
+
+	private void readObject(ObjectInputStream in) throws InvalidObjectException {
+		throw new InvalidObjectException( "Detached constraint violations are serialized via their serialized form." );
+	}
+
+	private static String toString(Object value) {
+		if ( value == null ) {
+			return null;
+		}
+
+		String string;
+		try {
+			if ( value.getClass().isArray() ) {
+				// wrapping the array covers arrays of primitives, too
+				String wrapped = Arrays.deepToString( new Object[] { value } );
+				string = wrapped.substring( 1, wrapped.length() - 1 );
+			}
+			else {
+				string = value.toString();
+			}
+		}
+		catch ( RuntimeException e ) {
+			// the invalid value is user code which is not to prevent reporting the violation
+			return "<toString() of " + value.getClass().getName() + " failed>";
+		}
+
+		return truncate( string, MAX_INVALID_VALUE_LENGTH );
+	}
+
+	static String truncate(String string, int maxLength) {
+		if ( string == null || string.length() <= maxLength ) {
+			return string;
+		}
+
+		int end = maxLength;
+		if ( end > 0 && Character.isHighSurrogate( string.charAt( end - 1 ) ) ) {
+			// don't split surrogate pairs
+			end--;
+		}
+		return string.substring( 0, end ) + TRUNCATION_MARKER;
+	}
+
+	/**
+	 * The serialized form of a detached violation, holding it encoded by
+	 * {@link ConstraintViolationCodec}.
+	 */
+	private static class SerializedForm implements Serializable {
+
+		private static final long serialVersionUID = 1L;
+
+		private final byte[] encoded;
+
+		private SerializedForm(byte[] encoded) {
+			this.encoded = encoded;
+		}
+
+		private Object readResolve() throws InvalidObjectException {
+			try {
+				return ConstraintViolationCodec.decode( encoded, ConstraintViolationCodec.getDeserializationClassLoader() )
+						.get( 0 );
+			}
+			catch ( ValidationException | IndexOutOfBoundsException e ) {
+				InvalidObjectException exception = new InvalidObjectException( "Malformed constraint violation." );
+				exception.initCause( e );
+				throw exception;
+			}
+		}
+	}
+}
@@ -0,0 +1,343 @@
+/*
+ * Bean Validation API
+ *
+ * License: Apache License, Version 2.0
+ * See the license.txt file in the root directory or <http://www.apache.org/licenses/LICENSE-2.0>.
+ */
+package javax.validation;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+
+import javax.validation.Path.BeanNode;
+import javax.validation.Path.ConstructorNode;
+import javax.validation.Path.ContainerElementNode;
+import javax.validation.Path.CrossParameterNode;
+import javax.validation.Path.MethodNode;
+import javax.validation.Path.Node;
+import javax.validation.Path.ParameterNode;
+import javax.validation.Path.PropertyNode;
+import javax.validation.Path.ReturnValueNode;
+
+/**
+ * Immutable {@link Node} implementation used by {@link ImmutablePath}. There is one
+ * subclass per kind of node, implementing only the node type matching that kind. Node
+ * names are interned, so equal names of many nodes share the same string instance.
+ */
+abstract class ImmutableNode implements Node {
+
+	private final ElementKind kind;
+	private final String name;
+	private final boolean inIterable;
+	private final Integer index;
+	private final Object key;
+	private final int hashCode;
+
+	private ImmutableNode(ElementKind kind, String name, boolean inIterable, Integer index, Object key,
+			int kindSpecificHashCode) {
+		this.kind = kind;
+		this.name = name != null ? name.intern() : null;
+		this.inIterable = inIterable;
+		this.index = index;
+		this.key = key;
+		this.hashCode = 31 * Objects.hash( kind, name, inIterable, index, key ) + kindSpecificHashCode;
+	}
+
+	static ImmutableNode property(String name, boolean inIterable, Integer index, Object key) {
+		if ( name == null || name.isEmpty() ) {
+			throw new IllegalArgumentException( "The property name must not be null or empty." );
+		}
+		return new PropertyNodeImpl( name, inIterable, index, key, null, null );
+	}
+
+	/**
+	 * Returns a node of any kind; the attributes not applying to the given kind are ignored.
+	 */
+	static ImmutableNode of(ElementKind kind, String name, boolean inIterable, Integer index, Object key,
+			Class<?> containerClass, Integer typeArgumentIndex, int parameterIndex, List<Class<?>> parameterTypes) {
+		switch ( kind ) {
+			case BEAN:
+				return new BeanNodeImpl( name, inIterable, index, key, containerClass, typeArgumentIndex );
+			case PROPERTY:
+				return new PropertyNodeImpl( name, inIterable, index, key, containerClass, typeArgumentIndex );
+			case CONTAINER_ELEMENT:
+				return new ContainerElementNodeImpl( name, inIterable, index, key, containerClass, typeArgumentIndex );
+			case METHOD:
+				return new MethodNodeImpl( name, inIterable, index, key, copyOf( parameterTypes ) );
+			case CONSTRUCTOR:
+				return new ConstructorNodeImpl( name, inIterable, index, key, copyOf( parameterTypes ) );
+			case PARAMETER:
+				return new ParameterNodeImpl( name, inIterable, index, key, parameterIndex );
+			case CROSS_PARAMETER:
+				return new CrossParameterNodeImpl( name, inIterable, index, key );
+			case RETURN_VALUE:
+				return new ReturnValueNodeImpl( name, inIterable, index, key );
+			default:
+				throw new IllegalArgumentException( "Unknown element kind: " + kind );
+		}
+	}
+
+	/**
+	 * Returns an immutable copy of the given node, or the node itself if it already is immutable.
+	 */
+	static ImmutableNode copyOf(Node node) {
+		if ( node instanceof ImmutableNode ) {
+			return (ImmutableNode) node;
+		}
+
+		ElementKind kind = node.getKind();
+		Class<?> containerClass = null;
+		Integer typeArgumentIndex = null;
+		int parameterIndex = -1;
+		List<Class<?>> parameterTypes = null;
+
+		switch ( kind ) {
+			case BEAN:
+				containerClass = node.as( BeanNode.class ).getContainerClass();
+				typeArgumentIndex = node.as( BeanNode.class ).getTypeArgumentIndex();
+				break;
+			case PROPERTY:
+				containerClass = node.as( PropertyNode.class ).getContainerClass();
+				typeArgumentIndex = node.as( PropertyNode.class ).getTypeArgumentIndex();
+				break;
+			case CONTAINER_ELEMENT:
+				containerClass = node.as( ContainerElementNode.class ).getContainerClass();
+				typeArgumentIndex = node.as( ContainerElementNode.class ).getTypeArgumentIndex();
+				break;
+			case METHOD:
+				parameterTypes = node.as( MethodNode.class ).getParameterTypes();
+				break;
+			case CONSTRUCTOR:
+				parameterTypes = node.as( ConstructorNode.class ).getParameterTypes();
+				break;
+			case PARAMETER:
+				parameterIndex = node.as( ParameterNode.class ).getParameterIndex();
+				break;
+			default:
+				break;
+		}
+
+		return of( kind, node.getName(), node.isInIterable(), node.getIndex(), node.getKey(), containerClass,
+				typeArgumentIndex, parameterIndex, parameterTypes );
+	}
+
+	private static List<Class<?>> copyOf(List<Class<?>> parameterTypes) {
+		return parameterTypes != null ? Collections.unmodifiableList( new ArrayList<>( parameterTypes ) ) : null;
+	}
+
+	@Override
+	public String getName() {
+		return name;
+	}
+
+	@Override
+	public boolean isInIterable() {
+		return inIterable;
+	}
+
+	@Override
+	public Integer getIndex() {
+		return index;
+	}
+
+	@Override
+	public Object getKey() {
+		return key;
+	}
+
+	@Override
+	public ElementKind getKind() {
+		return kind;
+	}
+
+	@Override
+	public <T extends Node> T as(Class<T> nodeType) {
+		if ( nodeType.isInstance( this ) ) {
+			return nodeType.cast( this );
+		}
+		throw new ClassCastException( "Unable to narrow a node of kind " + kind + " to " + nodeType.getName() );
+	}
+
+	/**
+	 * Compares the attributes specific to the kind of this node; {@code other} is of the
+	 * same class as this node.
+	 */
+	boolean kindSpecificEquals(ImmutableNode other) {
+		return true;
+	}
+
+	@Override
+	public boolean equals(Object o) {
+		if ( this == o ) {
+			return true;
+		}
+		if ( o == null || o.getClass() != getClass() ) {
+			return false;
+		}
+
+		ImmutableNode other = (ImmutableNode) o;
+		return inIterable == other.inIterable
+				&& Objects.equals( name, other.name )
+				&& Objects.equals( index, other.index )
+				&& Objects.equals( key, other.key )
+				&& kindSpecificEquals( other );
+	}
+
+	@Override
+	public int hashCode() {
+		return hashCode;
+	}
+
+	@Override
+	public String toString() {
+		StringBuilder sb = new StringBuilder();
+		if ( name != null ) {
+			sb.append( name );
+		}
+		if ( inIterable ) {
+			appendIterableSuffix( sb );
+		}
+		return sb.toString();
+	}
+
+	void appendIterableSuffix(StringBuilder sb) {
+		sb.append( '[' );
+		if ( index != null ) {
+			sb.append( index );
+		}
+		else if ( key != null ) {
+			sb.append( key );
+		}
+		sb.append( ']' );
+	}
+
+	/**
+	 * Base for the kinds of nodes which may represent an element of a container.
+	 */
+	private abstract static class ContainedNode extends ImmutableNode {
+
+		private final Class<?> containerClass;
+		private final Integer typeArgumentIndex;
+
+		private ContainedNode(ElementKind kind, String name, boolean inIterable, Integer index, Object key,
+				Class<?> containerClass, Integer typeArgumentIndex) {
+			super( kind, name, inIterable, index, key, Objects.hash( containerClass, typeArgumentIndex ) );
+			this.containerClass = containerClass;
+			this.typeArgumentIndex = typeArgumentIndex;
+		}
+
+		public Class<?> getContainerClass() {
+			return containerClass;
+		}
+
+		public Integer getTypeArgumentIndex() {
+			return typeArgumentIndex;
+		}
+
+		@Override
+		boolean kindSpecificEquals(ImmutableNode other) {
+			ContainedNode otherNode = (ContainedNode) other;
+			return containerClass == otherNode.containerClass
+					&& Objects.equals( typeArgumentIndex, otherNode.typeArgumentIndex );
+		}
+	}
+
+	/**
+	 * Base for the kinds of nodes representing an executable.
+	 */
+	private abstract static class ExecutableNode extends ImmutableNode {
+
+		private final List<Class<?>> parameterTypes;
+
+		private ExecutableNode(ElementKind kind, String name, boolean inIterable, Integer index, Object key,
+				List<Class<?>> parameterTypes) {
+			super( kind, name, inIterable, index, key, Objects.hashCode( parameterTypes ) );
+			this.parameterTypes = parameterTypes;
+		}
+
+		public List<Class<?>> getParameterTypes() {
+			return parameterTypes;
+		}
+
+		@Override
+		boolean kindSpecificEquals(ImmutableNode other) {
+			return Objects.equals( parameterTypes, ( (ExecutableNode) other ).parameterTypes );
+		}
+	}
+
+	private static final class BeanNodeImpl extends ContainedNode implements BeanNode {
+
+		private BeanNodeImpl(String name, boolean inIterable, Integer index, Object key, Class<?> containerClass,
+				Integer typeArgumentIndex) {
+			super( ElementKind.BEAN, name, inIterable, index, key, containerClass, typeArgumentIndex );
+		}
+	}
+
+	private static final class PropertyNodeImpl extends ContainedNode implements PropertyNode {
+
+		private PropertyNodeImpl(String name, boolean inIterable, Integer index, Object key, Class<?> containerClass,
+				Integer typeArgumentIndex) {
+			super( ElementKind.PROPERTY, name, inIterable, index, key, containerClass, typeArgumentIndex );
+		}
+	}
+
+	private static final class ContainerElementNodeImpl extends ContainedNode implements ContainerElementNode {
+
+		private ContainerElementNodeImpl(String name, boolean inIterable, Integer index, Object key,
+				Class<?> containerClass, Integer typeArgumentIndex) {
+			super( ElementKind.CONTAINER_ELEMENT, name, inIterable, index, key, containerClass, typeArgumentIndex );
+		}
+	}
+
+	private static final class MethodNodeImpl extends ExecutableNode implements MethodNode {
+
+		private MethodNodeImpl(String name, boolean inIterable, Integer index, Object key,
+				List<Class<?>> parameterTypes) {
+			super( ElementKind.METHOD, name, inIterable, index, key, parameterTypes );
+		}
+	}
+
+	private static final class ConstructorNodeImpl extends ExecutableNode implements ConstructorNode {
+
+		private ConstructorNodeImpl(String name, boolean inIterable, Integer index, Object key,
+				List<Class<?>> parameterTypes) {
+			super( ElementKind.CONSTRUCTOR, name, inIterable, index, key, parameterTypes );
+		}
+	}
+
+	private static final class ParameterNodeImpl extends ImmutableNode implements ParameterNode {
+
+		private final int parameterIndex;
+
+		private ParameterNodeImpl(String name, boolean inIterable, Integer index, Object key, int parameterIndex) {
+			super( ElementKind.PARAMETER, name, inIterable, index, key, parameterIndex );
+			this.parameterIndex = parameterIndex;
+		}
+
+		@Override
+		public int getParameterIndex() {
+			return parameterIndex;
+		}
+
+		@Override
+		boolean kindSpecificEquals(ImmutableNode other) {
+			return parameterIndex == ( (ParameterNodeImpl) other ).parameterIndex;
+		}
+	}
+
+	private static final class CrossParameterNodeImpl extends ImmutableNode implements CrossParameterNode {
+
+		private CrossParameterNodeImpl(String name, boolean inIterable, Integer index, Object key) {
+			super( ElementKind.CROSS_PARAMETER, name, inIterable, index, key, 0 );
+		}
+	}
+
+	private static final class ReturnValueNodeImpl extends ImmutableNode implements ReturnValueNode {
+
+		private ReturnValueNodeImpl(String name, boolean inIterable, Integer index, Object key) {
+			super( ElementKind.RETURN_VALUE, name, inIterable, index, key, 0 );
+		}
+	}
+}
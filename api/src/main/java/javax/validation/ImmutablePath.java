@@ -0,0 +1,132 @@
+/*
+ * Bean Validation API
+ *
+ * License: Apache License, Version 2.0
+ * See the license.txt file in the root directory or <http://www.apache.org/licenses/LICENSE-2.0>.
+ */
+package javax.validation;
+
+import java.util.Arrays;
+import java.util.Iterator;
+
+/**
+ * Immutable {@link Path} implementation sharing its prefix with other paths.
+ * <p>
+ * Each path only references its last node and the path leading to it (its parent).
+ * Appending a node thus neither copies nor alters the parent path, so all the paths
+ * below a given element, e.g. the paths of many constraint violations of one bean,
+ * share the nodes of their common prefix.
+ */
+final class ImmutablePath implements Path {
+
+	static final ImmutablePath ROOT = new ImmutablePath( null, null );
+
+	private final ImmutablePath parent;
+	private final ImmutableNode node;
+	private final int size;
+	private final int hashCode;
+
+	private ImmutablePath(ImmutablePath parent, ImmutableNode node) {
+		this.parent = parent;
+		this.node = node;
+		this.size = parent == null ? 0 : parent.size + 1;
+		this.hashCode = parent == null ? 1 : 31 * parent.hashCode + node.hashCode();
+	}
+
+	/**
+	 * Returns the given path in its immutable form. Paths already immutable are returned
+	 * as is, others are copied node by node.
+	 */
+	static ImmutablePath copyOf(Path path) {
+		if ( path == null ) {
+			throw new IllegalArgumentException( "The path must not be null." );
+		}
+		if ( path instanceof ImmutablePath ) {
+			return (ImmutablePath) path;
+		}
+
+		ImmutablePath copy = ROOT;
+		for ( Node node : path ) {
+			copy = copy.append( ImmutableNode.copyOf( node ) );
+		}
+		return copy;
+	}
+
+	ImmutablePath append(ImmutableNode node) {
+		return new ImmutablePath( this, node );
+	}
+
+	ImmutablePath getParent() {
+		return parent;
+	}
+
+	ImmutableNode getLeafNode() {
+		return node;
+	}
+
+	int size() {
+		return size;
+	}
+
+	@Override
+	public Iterator<Node> iterator() {
+		return Arrays.<Node>asList( toNodeArray() ).iterator();
+	}
+
+	ImmutableNode[] toNodeArray() {
+		ImmutableNode[] nodes = new ImmutableNode[size];
+		ImmutablePath current = this;
+		for ( int i = size - 1; i >= 0; i-- ) {
+			nodes[i] = current.node;
+			current = current.parent;
+		}
+		return nodes;
+	}
+
+	@Override
+	public boolean equals(Object o) {
+		if ( this == o ) {
+			return true;
+		}
+		if ( !( o instanceof ImmutablePath ) ) {
+			return false;
+		}
+
+		ImmutablePath other = (ImmutablePath) o;
+		if ( size != other.size || hashCode != other.hashCode ) {
+			return false;
+		}
+
+		ImmutablePath current = this;
+		while ( current != other && current.size > 0 ) {
+			if ( !current.node.equals( other.node ) ) {
+				return false;
+			}
+			current = current.parent;
+			other = other.parent;
+		}
+		return true;
+	}
+
+	@Override
+	public int hashCode() {
+		return hashCode;
+	}
+
+	@Override
+	public String toString() {
+		StringBuilder sb = new StringBuilder();
+		for ( ImmutableNode node : toNodeArray() ) {
+			if ( node.isInIterable() ) {
+				node.appendIterableSuffix( sb );
+			}
+			if ( node.getName() != null ) {
+				if ( sb.length() > 0 ) {
+					sb.append( '.' );
+				}
+				sb.append( node.getName() );
+			}
+		}
+		return sb.toString();
+	}
+}
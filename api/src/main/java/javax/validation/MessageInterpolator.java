@@ -0,0 +1,170 @@
+/*
+ * Bean Validation API
+ *
+ * License: Apache License, Version 2.0
+ * See the license.txt file in the root directory or <http://www.apache.org/licenses/LICENSE-2.0>.
+ */
+package javax.validation;
+
+import java.util.Locale;
+
+import javax.validation.metadata.ConstraintDescriptor;
+
+/**
+ * Interpolates a given constraint violation message.
+ * <p>
+ * Implementations should be as tolerant as possible on syntax errors.
+ * Implementations must be thread-safe.
+ *
+ * @author Emmanuel Bernard
+ * @author Hardy Ferentschik
+ */
+public interface MessageInterpolator {
+
+	/**
+	 * Interpolates the message template based on the constraint validation context.
+	 * <p>
+	 * The locale is defaulted according to the {@code MessageInterpolator}
+	 * implementation. See the implementation documentation for more detail.
+	 *
+	 * @param messageTemplate the message to interpolate
+	 * @param context contextual information related to the interpolation
+	 *
+	 * @return interpolated error message
+	 */
+	String interpolate(String messageTemplate, Context context);
+
+	/**
+	 * Interpolates the message template based on the constraint validation context.
+	 * The {@code Locale} used is provided as a parameter.
+	 *
+	 * @param messageTemplate the message to interpolate
+	 * @param context contextual information related to the interpolation
+	 * @param locale the locale targeted for the message
+	 *
+	 * @return interpolated error message
+	 */
+	String interpolate(String messageTemplate, Context context,  Locale locale);
+
+	/**
+	 * Compiles the given message template into a representation which can be
+	 * interpolated repeatedly without parsing the template again.
+	 * <p>
+	 * The compiled template does neither depend on the constraint validation context
+	 * nor on the locale. Bean Validation providers may thus compile the message template
+	 * of a constraint once, e.g. per {@link ConstraintDescriptor}, and pass it to
+	 * {@link #interpolate(CompiledMessageTemplate, Context, Locale)} for each
+	 * constraint violation.
+	 * <p>
+	 * The default implementation returns a template which merely wraps the given
+	 * message template.
+	 *
+	 * @param messageTemplate the message template to compile
+	 *
+	 * @return the compiled message template
+	 *
+	 * @throws IllegalArgumentException if {@code messageTemplate} is {@code null}
+	 *
+	 * @since 2.0
+	 */
+	default CompiledMessageTemplate compile(String messageTemplate) {
+		if ( messageTemplate == null ) {
+			throw new IllegalArgumentException( "The message template must not be null." );
+		}
+		return () -> messageTemplate;
+	}
+
+	/**
+	 * Interpolates the compiled message template based on the constraint validation
+	 * context. The {@code Locale} used is provided as a parameter.
+	 * <p>
+	 * The result must be the same as the result of
+	 * {@link #interpolate(String, Context, Locale)} for the original message template.
+	 * Implementations must accept compiled templates created by other interpolators,
+	 * e.g. by interpolating their {@link CompiledMessageTemplate#getMessageTemplate()}.
+	 * <p>
+	 * The default implementation interpolates the original message template using
+	 * {@link #interpolate(String, Context, Locale)}.
+	 *
+	 * @param messageTemplate the compiled message to interpolate
+	 * @param context contextual information related to the interpolation
+	 * @param locale the locale targeted for the message
+	 *
+	 * @return interpolated error message
+	 *
+	 * @since 2.0
+	 */
+	default String interpolate(CompiledMessageTemplate messageTemplate, Context context, Locale locale) {
+		return interpolate( messageTemplate.getMessageTemplate(), context, locale );
+	}
+
+	/**
+	 * Information related to the interpolation context.
+	 */
+	interface Context {
+		/**
+		 * @return {@link ConstraintDescriptor} corresponding to the constraint being
+		 * validated
+		 */
+		ConstraintDescriptor<?> getConstraintDescriptor();
+
+		/**
+		 * @return value being validated
+		 */
+		Object getValidatedValue();
+
+		/**
+		 * Returns an instance of the specified type allowing access to
+		 * provider-specific APIs. If the Bean Validation provider
+		 * implementation does not support the specified class,
+		 * {@link ValidationException} is thrown.
+		 *
+		 * @param type the class of the object to be returned
+		 * @param <T> the type of the object to be returned
+		 * @return an instance of the specified class
+		 * @throws ValidationException if the provider does not support the call
+		 *
+		 * @since 1.1
+		 */
+		<T> T unwrap(Class<T> type);
+	}
+
+	/**
+	 * A message template parsed by {@link MessageInterpolator#compile(String)}.
+	 * <p>
+	 * Implementations are typically specific to a given {@code MessageInterpolator}
+	 * implementation, e.g. holding the template split into literal text and
+	 * message parameters or expressions. They must be immutable and thread-safe.
+	 *
+	 * @since 2.0
+	 */
+	interface CompiledMessageTemplate {
+
+		/**
+		 * @return the original, non-interpolated message template
+		 */
+		String getMessageTemplate();
+
+		/**
+		 * Returns a compiled template in which all the parts which depend on the given
+		 * locale but not on the constraint validation context are resolved, typically the
+		 * message parameters looked up in resource bundles.
+		 * <p>
+		 * Interpolating the returned template for the given locale must yield the same
+		 * message as interpolating this template. The returned template can thus be
+		 * cached per message template and locale, e.g. by {@link CachingMessageInterpolator},
+		 * so that resource bundles are not consulted again for each interpolation.
+		 * <p>
+		 * The default implementation returns this template.
+		 *
+		 * @param locale the locale targeted for the message
+		 *
+		 * @return the template resolved for the given locale
+		 *
+		 * @since 2.0
+		 */
+		default CompiledMessageTemplate resolve(Locale locale) {
+			return this;
+		}
+	}
+}
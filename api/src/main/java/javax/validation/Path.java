@@ -37,6 +37,106 @@ public interface Path extends Iterable<Path.Node> {
 	@Override
 	String toString();
 
+	/**
+	 * Returns an immutable path made of property nodes with the given names.
+	 * <p>
+	 * Paths returned by the factory methods of this interface only reference their
+	 * last node and the path leading to it. Paths derived from the same parent thus
+	 * share the nodes of their common prefix instead of copying them, and node names
+	 * are interned. These paths are suitable for being referenced by large numbers of
+	 * constraint violations, e.g. when validating deep object graphs. Two such paths are
+	 * equal if they are made of equal nodes.
+	 *
+	 * @param propertyNames the names of the property nodes, in the order of traversal
+	 * @return an immutable path
+	 * @throws IllegalArgumentException if {@code propertyNames} is {@code null} or contains
+	 *         {@code null} or empty names
+	 * @since 2.0
+	 */
+	static Path of(String... propertyNames) {
+		if ( propertyNames == null ) {
+			throw new IllegalArgumentException( "The property names must not be null." );
+		}
+
+		ImmutablePath path = ImmutablePath.ROOT;
+		for ( String propertyName : propertyNames ) {
+			path = path.append( ImmutableNode.property( propertyName, false, null, null ) );
+		}
+		return path;
+	}
+
+	/**
+	 * Returns an immutable path made of the given parent path followed by a property node.
+	 * The nodes of the parent path are shared, not copied, if the parent has been obtained
+	 * from one of the factory methods of this interface.
+	 *
+	 * @param parent the path leading to the property
+	 * @param propertyName the name of the property
+	 * @return an immutable path
+	 * @throws IllegalArgumentException if {@code parent} is {@code null} or if
+	 *         {@code propertyName} is {@code null} or empty
+	 * @see #of(String...)
+	 * @since 2.0
+	 */
+	static Path of(Path parent, String propertyName) {
+		return ImmutablePath.copyOf( parent ).append( ImmutableNode.property( propertyName, false, null, null ) );
+	}
+
+	/**
+	 * Returns an immutable path made of the given parent path followed by a property node
+	 * hosted by an element of the iterable or array represented by the parent.
+	 * <p>
+	 * As for any node, the index refers to the iterable preceding the new node:
+	 * {@code Path.ofIndexed( Path.of( "lines" ), "product", 17 )} represents
+	 * {@code lines[17].product}.
+	 *
+	 * @param parent the path leading to the property
+	 * @param propertyName the name of the property
+	 * @param index the index of the element of the parent hosting the property
+	 * @return an immutable path
+	 * @throws IllegalArgumentException if {@code parent} is {@code null} or if
+	 *         {@code propertyName} is {@code null} or empty
+	 * @see #of(String...)
+	 * @since 2.0
+	 */
+	static Path ofIndexed(Path parent, String propertyName, int index) {
+		return ImmutablePath.copyOf( parent ).append( ImmutableNode.property( propertyName, true, index, null ) );
+	}
+
+	/**
+	 * Returns an immutable path made of the given parent path followed by a property node
+	 * hosted by an element of the map represented by the parent, e.g.
+	 * {@code Path.ofKeyed( Path.of( "addresses" ), "city", "home" )} represents
+	 * {@code addresses[home].city}.
+	 *
+	 * @param parent the path leading to the property
+	 * @param propertyName the name of the property
+	 * @param key the key of the element of the parent hosting the property
+	 * @return an immutable path
+	 * @throws IllegalArgumentException if {@code parent} is {@code null} or if
+	 *         {@code propertyName} is {@code null} or empty
+	 * @see #ofIndexed(Path, String, int)
+	 * @since 2.0
+	 */
+	static Path ofKeyed(Path parent, String propertyName, Object key) {
+		return ImmutablePath.copyOf( parent ).append( ImmutableNode.property( propertyName, true, null, key ) );
+	}
+
+	/**
+	 * Returns an immutable copy of the given path. Nodes of any kind are supported. If the
+	 * given path has been obtained from one of the factory methods of this interface, it is
+	 * returned as is.
+	 *
+	 * @param path the path to copy
+	 * @return an immutable path equal to the given one
+	 * @throws IllegalArgumentException if {@code path} is {@code null}
+	 * @see #of(String...)
+	 * @since 2.0
+	 */
+	static Path copyOf(Path path) {
+		return ImmutablePath.copyOf( path );
+	}
+
 	/**
 	 * Represents an element of a navigation path.
 	 */
@@ -0,0 +1,63 @@
+/*
+ * Bean Validation API
+ *
+ * License: Apache License, Version 2.0
+ * See the license.txt file in the root directory or <http://www.apache.org/licenses/LICENSE-2.0>.
+ */
+package javax.validation;
+
+import java.util.regex.Pattern;
+
+/**
+ * Contract for obtaining the compiled {@link Pattern} for a regular expression, e.g.
+ * when validating the {@code @Pattern} and {@code @Email} constraints.
+ * <p>
+ * Implementations canonicalize {@code (regexp, flags)} pairs: all the constraint
+ * declarations using the same expression and flags, possibly across many bean types,
+ * obtain the same compiled {@code Pattern} instance. This avoids compiling an
+ * expression repeatedly at warm-up and bounds the memory needed for compiled patterns.
+ * As {@code Pattern} instances are immutable, they can safely be shared.
+ * <p>
+ * Plugging in custom implementations may be useful for instance to pre-populate the
+ * cache with the expressions used by an application or to limit its size.
+ * <p>
+ * Implementations must be safe for access from several threads at the same time.
+ *
+ * @since 2.0
+ */
+public interface PatternCache {
+
+	/**
+	 * Returns the compiled pattern for the given regular expression and flags.
+	 *
+	 * @param regexp the regular expression
+	 * @param flags the match flags as defined by {@link Pattern#compile(String, int)}
+	 *
+	 * @return the compiled pattern; must not be {@code null}
+	 *
+	 * @throws java.util.regex.PatternSyntaxException if the expression's syntax is invalid
+	 */
+	Pattern getPattern(String regexp, int flags);
+
+	/**
+	 * Returns the compiled pattern for the given regular expression and flags as
+	 * specified by the {@code @Pattern} and {@code @Email} constraints.
+	 * <p>
+	 * The default implementation combines the values of the given flags and delegates
+	 * to {@link #getPattern(String, int)}.
+	 *
+	 * @param regexp the regular expression
+	 * @param flags the flags of the constraint
+	 *
+	 * @return the compiled pattern; must not be {@code null}
+	 *
+	 * @throws java.util.regex.PatternSyntaxException if the expression's syntax is invalid
+	 */
+	default Pattern getPattern(String regexp, javax.validation.constraints.Pattern.Flag... flags) {
+		int combinedFlags = 0;
+		for ( javax.validation.constraints.Pattern.Flag flag : flags ) {
+			combinedFlags |= flag.getValue();
+		}
+		return getPattern( regexp, combinedFlags );
+	}
+}
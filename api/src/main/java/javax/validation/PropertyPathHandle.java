@@ -0,0 +1,81 @@
+/*
+ * Bean Validation API
+ *
+ * License: Apache License, Version 2.0
+ * See the license.txt file in the root directory or <http://www.apache.org/licenses/LICENSE-2.0>.
+ */
+package javax.validation;
+
+import javax.validation.metadata.BeanDescriptor;
+
+/**
+ * A precompiled property path of a given bean type.
+ * <p>
+ * Handles are obtained once via {@link Validator#compilePropertyPath(Class, String)}
+ * or {@link BeanDescriptor#compilePropertyPath(String)} and can then be passed to
+ * {@link Validator#validateCompiledProperty(Object, PropertyPathHandle, Class[])} and
+ * {@link Validator#validateCompiledValue(Class, PropertyPathHandle, Object, Class[])} any number
+ * of times. Providers may resolve the property metadata when compiling the handle, so
+ * validating via a handle neither requires the property path to be parsed again nor
+ * the property to be looked up.
+ * <p>
+ * Handles only are guaranteed to be accepted by the validator they have been obtained
+ * from (or a validator of the same factory). Implementations must be immutable and safe
+ * for access from several threads at the same time.
+ *
+ * @since 2.0
+ */
+public interface PropertyPathHandle {
+
+	/**
+	 * @return the bean type hosting the property path
+	 */
+	Class<?> getBeanType();
+
+	/**
+	 * Returns the property path this handle has been compiled from, in the form accepted
+	 * by {@link Validator#validateProperty(Object, String, Class[])}.
+	 *
+	 * @return the textual property path
+	 */
+	String getPropertyName();
+
+	/**
+	 * @return the property path as sequence of nodes
+	 */
+	Path getPath();
+
+	/**
+	 * Returns an instance of the specified type allowing access to
+	 * provider-specific APIs.
+	 * <p>
+	 * If the Bean Validation provider implementation does not support
+	 * the specified class, {@link ValidationException} is thrown.
+	 *
+	 * @param type the class of the object to be returned
+	 * @param <U> the type of the object to be returned
+	 * @return an instance of the specified class
+	 * @throws ValidationException if the provider does not support the call
+	 */
+	<U> U unwrap(Class<U> type);
+
+	/**
+	 * Returns a handle for the given property path which does not hold any
+	 * provider-specific state.
+	 * <p>
+	 * Property paths are made of property names separated by dots; an element of an
+	 * iterable, array or map property is selected by appending its index or key in
+	 * square brackets to the property name, e.g. {@code lines[17].product.sku}. The path
+	 * must end with a property name.
+	 * The path is parsed eagerly, but the existence of the properties is not verified.
+	 *
+	 * @param beanType the bean type hosting the property path
+	 * @param propertyName the property path
+	 * @return a handle for the given property path
+	 * @throws IllegalArgumentException if {@code beanType} is {@code null} or if
+	 *         {@code propertyName} is {@code null}, empty or malformed
+	 */
+	static PropertyPathHandle of(Class<?> beanType, String propertyName) {
+		return new DefaultPropertyPathHandle( beanType, propertyName );
+	}
+}
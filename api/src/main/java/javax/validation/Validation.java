@@ -6,15 +6,27 @@
  */
 package javax.validation;
 
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
 import java.lang.ref.SoftReference;
+import java.lang.ref.WeakReference;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
 import java.security.AccessController;
 import java.security.PrivilegedAction;
 import java.util.ArrayList;
+import java.util.Enumeration;
 import java.util.Iterator;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.ServiceConfigurationError;
 import java.util.ServiceLoader;
-import java.util.WeakHashMap;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 import javax.validation.bootstrap.GenericBootstrap;
 import javax.validation.bootstrap.ProviderSpecificBootstrap;
@@ -69,6 +81,20 @@ import javax.validation.spi.ValidationProvider;
  *     </li>
  * </ul>
  * <p>
+ * The default validation provider resolver first looks for provider indexes, the resources
+ * {@code META-INF/validation-provider.idx}, which are generated at build time, e.g. by the
+ * {@code javax.validation.processor.ProviderIndexProcessor} annotation processor. They list
+ * the fully-qualified class names of the available providers, one per line, in the same
+ * format as a {@link ServiceLoader} provider-configuration file; the entries of all indexes
+ * are merged. If present, the indexes are trusted and the listed providers are instantiated
+ * directly, without reading the
+ * {@code META-INF/services/javax.validation.spi.ValidationProvider} files. Hence, once
+ * there is an index, providers not listed by any index are not discovered; modules
+ * registering providers should thus ship an index next to their provider-configuration
+ * file. If there is no index or it is stale, i.e. it references a class which cannot be
+ * loaded or is not a {@code ValidationProvider}, the providers are discovered through the
+ * {@code ServiceLoader}.
+ * <p>
  * Note:
  * <ul>
  *     <li>
@@ -309,6 +335,8 @@ public class Validation {
 	 * If no suitable provider is found using the aforementioned class loader, it uses current class loader.
 	 * If it still does not find any suitable provider, it tries to locate the built-in provider using the current
 	 * class loader.
+	 * With each class loader, providers are looked up in the provider indexes first and via the service loader if
+	 * there is no index or it is stale.
 	 *
 	 * @author Emmanuel Bernard
 	 * @author Hardy Ferentschik
@@ -325,12 +353,20 @@ public class Validation {
 
 		private final static GetValidationProviderListAction INSTANCE = new GetValidationProviderListAction();
 
+		private final static String PROVIDER_INDEX = "META-INF/validation-provider.idx";
+
 		//cache per classloader for an appropriate discovery
-		//keep them in a weak hash map to avoid memory leaks and allow proper hot redeployment
-		private final WeakHashMap<ClassLoader, SoftReference<List<ValidationProvider<?>>>> providersPerClassloader =
-				new WeakHashMap<>();
+		//keep them in a weak-keyed map to avoid memory leaks and allow proper hot redeployment;
+		//the map is concurrent so that cache hits do not require any locking
+		//the keys are ClassLoaderKeys; lookups are done with ClassLoaderLookupKeys so that cache hits don't allocate
+		//a weak reference
+		private final ConcurrentMap<Object, SoftReference<List<ValidationProvider<?>>>> providersPerClassloader =
+				new ConcurrentHashMap<>();
+
+		//collects the keys whose class loader has been garbage collected
+		private final ReferenceQueue<ClassLoader> staleClassLoaderKeys = new ReferenceQueue<>();
 
-		public static synchronized List<ValidationProvider<?>> getValidationProviderList() {
+		public static List<ValidationProvider<?>> getValidationProviderList() {
 			if ( System.getSecurityManager() != null ) {
 				return AccessController.doPrivileged( INSTANCE );
 			}
@@ -339,7 +375,7 @@ public class Validation {
 			}
 		}
 
-		public static synchronized void clearCache() {
+		public static void clearCache() {
 			INSTANCE.providersPerClassloader.clear();
 		}
 
@@ -369,12 +405,16 @@ public class Validation {
 			}
 
 			// cache the detected providers against the classloader in which they were found
-			cacheValidationProviders( classloader, validationProviderList );
-
-			return validationProviderList;
+			return cacheValidationProviders( classloader, validationProviderList );
 		}
 
 		private List<ValidationProvider<?>> loadProviders(ClassLoader classloader) {
+			// prefer the build-time generated indexes, as they spare reading the service files and the service loader
+			List<ValidationProvider<?>> indexedProviders = loadIndexedProviders( classloader );
+			if ( indexedProviders != null ) {
+				return indexedProviders;
+			}
+
 			ServiceLoader<ValidationProvider> loader = ServiceLoader.load( ValidationProvider.class, classloader );
 			Iterator<ValidationProvider> providerIterator = loader.iterator();
 			List<ValidationProvider<?>> validationProviderList = new ArrayList<>();
@@ -391,13 +431,178 @@ public class Validation {
 			return validationProviderList;
 		}
 
-		private synchronized List<ValidationProvider<?>> getCachedValidationProviders(ClassLoader classLoader) {
-			SoftReference<List<ValidationProvider<?>>> ref = providersPerClassloader.get( classLoader );
+		/**
+		 * Loads the providers listed in the provider indexes, if present. The provider class names listed by all the
+		 * indexes visible to the given class loader are merged.
+		 *
+		 * @return the indexed providers or {@code null} if there is no index or if it is stale, i.e. it references a
+		 * class which cannot be loaded or instantiated as a provider; in this case the service loader is to be used
+		 */
+		private List<ValidationProvider<?>> loadIndexedProviders(ClassLoader classloader) {
+			// use the same class loader as the service loader in case of null
+			ClassLoader effectiveClassLoader = effectiveClassLoader( classloader );
+
+			List<ValidationProvider<?>> validationProviderList = new ArrayList<>();
+			try {
+				Set<String> indexedProviderClassNames = readProviderClassNames( effectiveClassLoader );
+				if ( indexedProviderClassNames.isEmpty() ) {
+					return null;
+				}
+
+				for ( String providerClassName : indexedProviderClassNames ) {
+					Class<?> providerClass = Class.forName( providerClassName, true, effectiveClassLoader );
+					if ( !ValidationProvider.class.isAssignableFrom( providerClass ) ) {
+						return null;
+					}
+					validationProviderList.add( (ValidationProvider<?>) providerClass.getConstructor().newInstance() );
+				}
+			}
+			catch (IOException | ReflectiveOperationException | RuntimeException | LinkageError e) {
+				// the index is unreadable or stale, fall back to the service loader
+				return null;
+			}
+
+			return validationProviderList;
+		}
+
+		/**
+		 * Reads the class names listed by all the provider indexes, which are in the provider-configuration file
+		 * format.
+		 */
+		private Set<String> readProviderClassNames(ClassLoader classloader) throws IOException {
+			Set<String> providerClassNames = new LinkedHashSet<>();
+
+			Enumeration<URL> resources = classloader.getResources( PROVIDER_INDEX );
+			while ( resources.hasMoreElements() ) {
+				try ( BufferedReader reader = new BufferedReader(
+						new InputStreamReader( resources.nextElement().openStream(), StandardCharsets.UTF_8 ) ) ) {
+					String line;
+					while ( ( line = reader.readLine() ) != null ) {
+						int commentStart = line.indexOf( '#' );
+						String providerClassName = ( commentStart >= 0 ? line.substring( 0, commentStart ) : line ).trim();
+						if ( !providerClassName.isEmpty() ) {
+							providerClassNames.add( providerClassName );
+						}
+					}
+				}
+			}
+
+			return providerClassNames;
+		}
+
+		private List<ValidationProvider<?>> getCachedValidationProviders(ClassLoader classLoader) {
+			SoftReference<List<ValidationProvider<?>>> ref = providersPerClassloader.get( new ClassLoaderLookupKey( classLoader ) );
 			return ref != null ? ref.get() : null;
 		}
 
-		private synchronized void cacheValidationProviders(ClassLoader classLoader, List<ValidationProvider<?>> providers) {
-			providersPerClassloader.put( classLoader, new SoftReference<>( providers ) );
+		private List<ValidationProvider<?>> cacheValidationProviders(ClassLoader classLoader, List<ValidationProvider<?>> providers) {
+			expungeStaleEntries();
+
+			ClassLoaderKey key = new ClassLoaderKey( classLoader, staleClassLoaderKeys );
+			SoftReference<List<ValidationProvider<?>>> ref = new SoftReference<>( providers );
+
+			// if another thread raced us, keep the list it cached so that all callers share the same provider instances
+			while ( true ) {
+				SoftReference<List<ValidationProvider<?>>> existingRef = providersPerClassloader.putIfAbsent( key, ref );
+				if ( existingRef == null ) {
+					return providers;
+				}
+
+				List<ValidationProvider<?>> existingProviders = existingRef.get();
+				if ( existingProviders != null ) {
+					return existingProviders;
+				}
+
+				// the cached list has been garbage collected in the meantime, replace it
+				if ( providersPerClassloader.replace( key, existingRef, ref ) ) {
+					return providers;
+				}
+			}
+		}
+
+		private void expungeStaleEntries() {
+			Reference<? extends ClassLoader> staleKey;
+			while ( ( staleKey = staleClassLoaderKeys.poll() ) != null ) {
+				providersPerClassloader.remove( staleKey );
+			}
+		}
+	}
+
+	/**
+	 * Represents the {@code null} class loader by the system class loader, as that is the one used by
+	 * {@link ServiceLoader} and for loading resources in this case.
+	 */
+	private static ClassLoader effectiveClassLoader(ClassLoader classLoader) {
+		return classLoader != null ? classLoader : ClassLoader.getSystemClassLoader();
+	}
+
+	/**
+	 * Weakly references a class loader used as key of the provider cache. Keys are compared by identity of the
+	 * referenced class loader. The {@code null} class loader is represented by the system class loader.
+	 */
+	private static class ClassLoaderKey extends WeakReference<ClassLoader> {
+
+		private final int hashCode;
+
+		ClassLoaderKey(ClassLoader classLoader, ReferenceQueue<ClassLoader> queue) {
+			super( effectiveClassLoader( classLoader ), queue );
+			this.hashCode = System.identityHashCode( get() );
+		}
+
+		@Override
+		public boolean equals(Object o) {
+			if ( this == o ) {
+				return true;
+			}
+
+			ClassLoader classLoader = get();
+			if ( classLoader == null ) {
+				return false;
+			}
+			if ( o instanceof ClassLoaderKey ) {
+				return classLoader == ( (ClassLoaderKey) o ).get();
+			}
+			if ( o instanceof ClassLoaderLookupKey ) {
+				return classLoader == ( (ClassLoaderLookupKey) o ).classLoader;
+			}
+			return false;
+		}
+
+		@Override
+		public int hashCode() {
+			return hashCode;
+		}
+	}
+
+	/**
+	 * Strongly references a class loader for looking up cached providers; equal to the {@link ClassLoaderKey} of
+	 * the same class loader. Only used transiently, never stored in the cache.
+	 */
+	private static final class ClassLoaderLookupKey {
+
+		private final ClassLoader classLoader;
+
+		ClassLoaderLookupKey(ClassLoader classLoader) {
+			this.classLoader = effectiveClassLoader( classLoader );
+		}
+
+		@Override
+		public boolean equals(Object o) {
+			if ( this == o ) {
+				return true;
+			}
+			if ( o instanceof ClassLoaderKey ) {
+				return classLoader == ( (ClassLoaderKey) o ).get();
+			}
+			if ( o instanceof ClassLoaderLookupKey ) {
+				return classLoader == ( (ClassLoaderLookupKey) o ).classLoader;
+			}
+			return false;
+		}
+
+		@Override
+		public int hashCode() {
+			return System.identityHashCode( classLoader );
 		}
 	}
 
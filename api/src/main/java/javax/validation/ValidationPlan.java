@@ -0,0 +1,85 @@
+/*
+ * Bean Validation API
+ *
+ * License: Apache License, Version 2.0
+ * See the license.txt file in the root directory or <http://www.apache.org/licenses/LICENSE-2.0>.
+ */
+package javax.validation;
+
+import java.util.List;
+import java.util.Set;
+
+import javax.validation.groups.Default;
+
+/**
+ * A precompiled validation of the instances of a given bean type for given groups.
+ * <p>
+ * Plans are obtained once via {@link Validator#compileValidationPlan(Class, Class[])}
+ * and can then be run any number of times. Providers may expand group sequences
+ * (including the redefined {@link Default} group sequence of the bean type), resolve
+ * group conversions and select the matching constraints when compiling the plan,
+ * so that running it does not need to do this again.
+ * <p>
+ * Implementations must be immutable and safe for access from several threads at the
+ * same time. A plan is bound to the validator it has been obtained from.
+ *
+ * @param <T> the bean type validated by this plan
+ * @since 2.0
+ */
+public interface ValidationPlan<T> {
+
+	/**
+	 * Validates all constraints of the given object for the groups of this plan.
+	 * <p>
+	 * The result is the same as the one of {@link Validator#validate(Object, Class[])}
+	 * invoked with the groups of this plan.
+	 *
+	 * @param object object to validate
+	 * @return constraint violations or an empty set if none
+	 * @throws IllegalArgumentException if {@code object} is {@code null} or not an
+	 *         instance of the bean type of this plan
+	 * @throws ValidationException if a non recoverable error happens
+	 *         during the validation process
+	 */
+	Set<ConstraintViolation<T>> validate(T object);
+
+	/**
+	 * Checks whether the given object satisfies all its constraints for the groups of
+	 * this plan.
+	 *
+	 * @param object object to validate
+	 * @return {@code true} if {@code object} satisfies all its constraints, {@code false}
+	 *         otherwise
+	 * @throws IllegalArgumentException if {@code object} is {@code null} or not an
+	 *         instance of the bean type of this plan
+	 * @throws ValidationException if a non recoverable error happens
+	 *         during the validation process
+	 * @see Validator#isValid(Object, Class[])
+	 */
+	boolean isValid(T object);
+
+	/**
+	 * @return the bean type validated by this plan
+	 */
+	Class<T> getBeanType();
+
+	/**
+	 * @return the groups this plan validates, as passed when compiling the plan; never
+	 *         {@code null}, {@link Default} if no groups have been passed
+	 */
+	List<Class<?>> getGroups();
+
+	/**
+	 * Returns an instance of the specified type allowing access to
+	 * provider-specific APIs.
+	 * <p>
+	 * If the Bean Validation provider implementation does not support
+	 * the specified class, {@link ValidationException} is thrown.
+	 *
+	 * @param type the class of the object to be returned
+	 * @param <U> the type of the object to be returned
+	 * @return an instance of the specified class
+	 * @throws ValidationException if the provider does not support the call
+	 */
+	<U> U unwrap(Class<U> type);
+}
@@ -0,0 +1,501 @@
+/*
+ * Bean Validation API
+ *
+ * License: Apache License, Version 2.0
+ * See the license.txt file in the root directory or <http://www.apache.org/licenses/LICENSE-2.0>.
+ */
+package javax.validation;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Executor;
+
+import javax.validation.executable.ExecutableValidator;
+import javax.validation.groups.Default;
+import javax.validation.metadata.BeanDescriptor;
+import javax.validation.metadata.ConstraintDescriptor;
+
+/**
+ * Validates bean instances. Implementations of this interface must be thread-safe.
+ *
+ * @author Emmanuel Bernard
+ * @author Hardy Ferentschik
+ * @author Gunnar Morling
+ */
+public interface Validator {
+
+	/**
+	 * Validates all constraints on {@code object}.
+	 *
+	 * @param object object to validate
+	 * @param groups the group or list of groups targeted for validation (defaults to
+	 *        {@link Default})
+	 * @param <T> the type of the object to validate
+	 * @return constraint violations or an empty set if none
+	 * @throws IllegalArgumentException if object is {@code null}
+	 *         or if {@code null} is passed to the varargs groups
+	 * @throws ValidationException if a non recoverable error happens
+	 *         during the validation process
+	 */
+	<T> Set<ConstraintViolation<T>> validate(T object, Class<?>... groups);
+
+	/**
+	 * Validates all constraints on {@code object} and passes the constraint violations
+	 * to {@code sink} one by one.
+	 * <p>
+	 * This is semantically equivalent to passing each element of
+	 * {@code validate( object, groups )} to the sink, but implementations are encouraged to
+	 * pass the violations as soon as they have been found rather than collecting them into
+	 * a set first. Violations are not guaranteed to be distinct then. If the sink returns
+	 * {@code false}, the validation is stopped and no further violations are passed.
+	 * <p>
+	 * The default implementation passes the violations returned by
+	 * {@link #validate(Object, Class[])}.
+	 *
+	 * @param object object to validate
+	 * @param sink the sink to pass the constraint violations to
+	 * @param groups the group or list of groups targeted for validation (defaults to
+	 *        {@link Default})
+	 * @param <T> the type of the object to validate
+	 * @throws IllegalArgumentException if {@code object} or {@code sink} is {@code null}
+	 *         or if {@code null} is passed to the varargs groups
+	 * @throws ValidationException if a non recoverable error happens
+	 *         during the validation process
+	 *
+	 * @since 2.0
+	 */
+	default <T> void validate(T object, ConstraintViolationSink<T> sink, Class<?>... groups) {
+		if ( sink == null ) {
+			throw new IllegalArgumentException( "The sink must not be null." );
+		}
+
+		for ( ConstraintViolation<T> violation : validate( object, groups ) ) {
+			if ( !sink.accept( violation ) ) {
+				return;
+			}
+		}
+	}
+
+	/**
+	 * Checks whether {@code object} satisfies all its constraints.
+	 * <p>
+	 * This is semantically equivalent to
+	 * {@code validate( object, groups ).isEmpty()}, but the result only
+	 * tells whether the object is valid. Implementations are thus not required
+	 * to create {@link ConstraintViolation} objects, to build property
+	 * paths or to interpolate constraint violation messages, and they can
+	 * stop the validation as soon as the first failing constraint has been
+	 * found.
+	 * <p>
+	 * The default implementation delegates to {@link #validate(Object, Class[])}.
+	 *
+	 * @param object object to validate
+	 * @param groups the group or list of groups targeted for validation (defaults to
+	 *        {@link Default})
+	 * @param <T> the type of the object to validate
+	 * @return {@code true} if {@code object} does not violate any of the constraints
+	 *         of the targeted groups, {@code false} otherwise
+	 * @throws IllegalArgumentException if object is {@code null}
+	 *         or if {@code null} is passed to the varargs groups
+	 * @throws ValidationException if a non recoverable error happens
+	 *         during the validation process
+	 *
+	 * @since 2.0
+	 */
+	default <T> boolean isValid(T object, Class<?>... groups) {
+		return validate( object, groups ).isEmpty();
+	}
+
+	/**
+	 * Asynchronously validates all constraints on {@code object}.
+	 * <p>
+	 * The returned stage is completed with the same constraint violations
+	 * {@link #validate(Object, Class[])} would return. Implementations may
+	 * split the validation of independent parts of the object graph, such as
+	 * cascaded properties or the elements of a container, into separate tasks
+	 * run on {@code executor} and merge their results. The state of
+	 * {@code object} must not be altered until the returned stage is completed.
+	 * <p>
+	 * The arguments are checked before this method returns. If a non recoverable
+	 * error happens during the validation process, the returned stage is completed
+	 * exceptionally with a {@link java.util.concurrent.CompletionException} whose
+	 * cause is a {@link ValidationException}, as done by
+	 * {@link CompletableFuture#supplyAsync(java.util.function.Supplier, Executor)}.
+	 * <p>
+	 * The default implementation runs {@link #validate(Object, Class[])} as a
+	 * single task on {@code executor}.
+	 *
+	 * @param object object to validate
+	 * @param executor the executor used to run the validation tasks
+	 * @param groups the group or list of groups targeted for validation (defaults to
+	 *        {@link Default})
+	 * @param <T> the type of the object to validate
+	 * @return a stage completed with the constraint violations or an empty set if none
+	 * @throws IllegalArgumentException if {@code object} or {@code executor} is {@code null}
+	 *         or if {@code null} is passed to the varargs groups
+	 *
+	 * @since 2.0
+	 */
+	default <T> CompletionStage<Set<ConstraintViolation<T>>> validateAsync(T object,
+																			Executor executor,
+																			Class<?>... groups) {
+		if ( object == null ) {
+			throw new IllegalArgumentException( "The object to validate must not be null." );
+		}
+		if ( executor == null ) {
+			throw new IllegalArgumentException( "The executor must not be null." );
+		}
+		if ( groups == null ) {
+			throw new IllegalArgumentException( "The groups must not be null." );
+		}
+
+		// the array may be modified by the caller while the task is pending
+		Class<?>[] validatedGroups = groups.clone();
+		for ( Class<?> group : validatedGroups ) {
+			if ( group == null ) {
+				throw new IllegalArgumentException( "The groups must not contain null." );
+			}
+		}
+
+		return CompletableFuture.supplyAsync( () -> validate( object, validatedGroups ), executor );
+	}
+
+	/**
+	 * Validates all constraints on each element of {@code objects}.
+	 * <p>
+	 * This is semantically equivalent to calling {@link #validate(Object, Class[])}
+	 * for each element, but allows the implementation to resolve the validated
+	 * groups and group sequences once and to share metadata lookups and other
+	 * contextual state across all the elements of the batch.
+	 * <p>
+	 * The default implementation validates the elements one by one.
+	 *
+	 * @param objects objects to validate
+	 * @param groups the group or list of groups targeted for validation (defaults to
+	 *        {@link Default})
+	 * @param <T> the type of the objects to validate
+	 * @return the constraint violations of each invalid element, keyed by the index of
+	 *         the element in the iteration order of {@code objects} and ordered by that
+	 *         index; valid elements have no entry; an empty map if all elements are valid
+	 * @throws IllegalArgumentException if {@code objects} is {@code null}, if it
+	 *         contains a {@code null} element or if {@code null} is passed to the varargs groups
+	 * @throws ValidationException if a non recoverable error happens
+	 *         during the validation process
+	 *
+	 * @since 2.0
+	 */
+	default <T> Map<Integer, Set<ConstraintViolation<T>>> validateAll(Iterable<? extends T> objects,
+																		Class<?>... groups) {
+		if ( objects == null ) {
+			throw new IllegalArgumentException( "The objects to validate must not be null." );
+		}
+
+		Map<Integer, Set<ConstraintViolation<T>>> violationsByIndex = new LinkedHashMap<>();
+		int index = 0;
+		for ( T object : objects ) {
+			Set<ConstraintViolation<T>> violations = validate( object, groups );
+			if ( !violations.isEmpty() ) {
+				violationsByIndex.put( index, violations );
+			}
+			index++;
+		}
+
+		return violationsByIndex;
+	}
+
+	/**
+	 * Returns a precompiled validation of the instances of {@code beanType} for the given
+	 * groups.
+	 * <p>
+	 * Running the plan yields the same result as {@link #validate(Object, Class[])} invoked
+	 * with the same groups. Implementations are encouraged to expand group sequences,
+	 * resolve group conversions and select the matching constraints once, when compiling the
+	 * plan, so that running it repeatedly doesn't need to do this again.
+	 * <p>
+	 * The default implementation returns a plan delegating to {@link #validate(Object, Class[])}
+	 * and {@link #isValid(Object, Class[])}.
+	 *
+	 * @param beanType the type of the objects to validate
+	 * @param groups the group or list of groups targeted for validation (defaults to
+	 *        {@link Default})
+	 * @param <T> the type of the objects to validate
+	 * @return a validation plan for the given bean type and groups
+	 * @throws IllegalArgumentException if {@code beanType} is {@code null}
+	 *         or if {@code null} is passed to the varargs groups
+	 * @throws ValidationException if a non recoverable error happens
+	 *         during the metadata discovery or if some
+	 *         constraints are invalid
+	 *
+	 * @since 2.0
+	 */
+	default <T> ValidationPlan<T> compileValidationPlan(Class<T> beanType, Class<?>... groups) {
+		return new DefaultValidationPlan<>( this, beanType, groups );
+	}
+
+	/**
+	 * Validates all constraints placed on the property of {@code object}
+	 * named {@code propertyName}.
+	 *
+	 * @param object object to validate
+	 * @param propertyName property to validate (i.e. field and getter constraints)
+	 * @param groups the group or list of groups targeted for validation (defaults to
+	 *        {@link Default})
+	 * @param <T> the type of the object to validate
+	 * @return constraint violations or an empty set if none
+	 * @throws IllegalArgumentException if {@code object} is {@code null},
+	 *         if {@code propertyName} is {@code null}, empty or not a valid object property
+	 *         or if {@code null} is passed to the varargs groups
+	 * @throws ValidationException if a non recoverable error happens
+	 *         during the validation process
+	 */
+	<T> Set<ConstraintViolation<T>> validateProperty(T object,
+													 String propertyName,
+													 Class<?>... groups);
+
+	/**
+	 * Validates all constraints placed on the property of {@code object}
+	 * named {@code propertyName} and passes the constraint violations to {@code sink}
+	 * one by one, as described for {@link #validate(Object, ConstraintViolationSink, Class[])}.
+	 * <p>
+	 * The default implementation passes the violations returned by
+	 * {@link #validateProperty(Object, String, Class[])}.
+	 *
+	 * @param object object to validate
+	 * @param propertyName property to validate (i.e. field and getter constraints)
+	 * @param sink the sink to pass the constraint violations to
+	 * @param groups the group or list of groups targeted for validation (defaults to
+	 *        {@link Default})
+	 * @param <T> the type of the object to validate
+	 * @throws IllegalArgumentException if {@code object} or {@code sink} is {@code null},
+	 *         if {@code propertyName} is {@code null}, empty or not a valid object property
+	 *         or if {@code null} is passed to the varargs groups
+	 * @throws ValidationException if a non recoverable error happens
+	 *         during the validation process
+	 *
+	 * @since 2.0
+	 */
+	default <T> void validateProperty(T object, String propertyName, ConstraintViolationSink<T> sink,
+			Class<?>... groups) {
+		if ( sink == null ) {
+			throw new IllegalArgumentException( "The sink must not be null." );
+		}
+
+		for ( ConstraintViolation<T> violation : validateProperty( object, propertyName, groups ) ) {
+			if ( !sink.accept( violation ) ) {
+				return;
+			}
+		}
+	}
+
+	/**
+	 * Validates all constraints placed on the property named {@code propertyName}
+	 * of the class {@code beanType} would the property value be {@code value}.
+	 * <p>
+	 * {@link ConstraintViolation} objects return {@code null} for
+	 * {@link ConstraintViolation#getRootBean()} and
+	 * {@link ConstraintViolation#getLeafBean()}.
+	 *
+	 * @param beanType the bean type
+	 * @param propertyName property to validate
+	 * @param value property value to validate
+	 * @param groups the group or list of groups targeted for validation (defaults to
+	 *        {@link Default}).
+	 * @param <T> the type of the object to validate
+	 * @return constraint violations or an empty set if none
+	 * @throws IllegalArgumentException if {@code beanType} is {@code null},
+	 *         if {@code propertyName} is {@code null}, empty or not a valid object property
+	 *         or if {@code null} is passed to the varargs groups
+	 * @throws ValidationException if a non recoverable error happens
+	 *         during the validation process
+	 */
+	<T> Set<ConstraintViolation<T>> validateValue(Class<T> beanType,
+												  String propertyName,
+												  Object value,
+												  Class<?>... groups);
+
+	/**
+	 * Validates all constraints placed on the property named {@code propertyName}
+	 * of the class {@code beanType} would the property value be {@code value} and passes
+	 * the constraint violations to {@code sink} one by one, as described for
+	 * {@link #validate(Object, ConstraintViolationSink, Class[])}.
+	 * <p>
+	 * The default implementation passes the violations returned by
+	 * {@link #validateValue(Class, String, Object, Class[])}.
+	 *
+	 * @param beanType the bean type
+	 * @param propertyName property to validate
+	 * @param value property value to validate
+	 * @param sink the sink to pass the constraint violations to
+	 * @param groups the group or list of groups targeted for validation (defaults to
+	 *        {@link Default}).
+	 * @param <T> the type of the object to validate
+	 * @throws IllegalArgumentException if {@code beanType} or {@code sink} is {@code null},
+	 *         if {@code propertyName} is {@code null}, empty or not a valid object property
+	 *         or if {@code null} is passed to the varargs groups
+	 * @throws ValidationException if a non recoverable error happens
+	 *         during the validation process
+	 *
+	 * @since 2.0
+	 */
+	default <T> void validateValue(Class<T> beanType, String propertyName, Object value,
+			ConstraintViolationSink<T> sink, Class<?>... groups) {
+		if ( sink == null ) {
+			throw new IllegalArgumentException( "The sink must not be null." );
+		}
+
+		for ( ConstraintViolation<T> violation : validateValue( beanType, propertyName, value, groups ) ) {
+			if ( !sink.accept( violation ) ) {
+				return;
+			}
+		}
+	}
+
+	/**
+	 * Returns a precompiled handle for the given property path of the given bean type.
+	 * <p>
+	 * The handle can be passed to {@link #validateCompiledProperty(Object, PropertyPathHandle, Class[])}
+	 * and {@link #validateCompiledValue(Class, PropertyPathHandle, Object, Class[])} any number of times
+	 * instead of the property path string. Implementations are encouraged to parse the path
+	 * and resolve the property metadata once, when compiling the handle, so that repeated
+	 * validations of the same property don't need to do this again.
+	 * <p>
+	 * The default implementation returns {@link PropertyPathHandle#of(Class, String)}.
+	 *
+	 * @param beanType the bean type hosting the property
+	 * @param propertyName the property path, as accepted by
+	 *        {@link #validateProperty(Object, String, Class[])}
+	 * @return a handle for the given property path
+	 * @throws IllegalArgumentException if {@code beanType} is {@code null} or
+	 *         if {@code propertyName} is {@code null}, empty or not a valid object property
+	 * @throws ValidationException if a non recoverable error happens
+	 *         during the metadata discovery
+	 *
+	 * @since 2.0
+	 */
+	default PropertyPathHandle compilePropertyPath(Class<?> beanType, String propertyName) {
+		return PropertyPathHandle.of( beanType, propertyName );
+	}
+
+	/**
+	 * Validates all constraints placed on the property of {@code object}
+	 * represented by the given precompiled property path.
+	 * <p>
+	 * The default implementation delegates to {@link #validateProperty(Object, String, Class[])}.
+	 *
+	 * @param object object to validate
+	 * @param propertyPath the property to validate, as obtained from
+	 *        {@link #compilePropertyPath(Class, String)}
+	 * @param groups the group or list of groups targeted for validation (defaults to
+	 *        {@link Default})
+	 * @param <T> the type of the object to validate
+	 * @return constraint violations or an empty set if none
+	 * @throws IllegalArgumentException if {@code object} is {@code null},
+	 *         if {@code propertyPath} is {@code null} or has been compiled for a type
+	 *         {@code object} is not an instance of, or if {@code null} is passed to the
+	 *         varargs groups
+	 * @throws ValidationException if a non recoverable error happens
+	 *         during the validation process
+	 *
+	 * @since 2.0
+	 */
+	default <T> Set<ConstraintViolation<T>> validateCompiledProperty(T object, PropertyPathHandle propertyPath,
+			Class<?>... groups) {
+		if ( object == null ) {
+			throw new IllegalArgumentException( "The object to validate must not be null." );
+		}
+		if ( propertyPath == null ) {
+			throw new IllegalArgumentException( "The property path must not be null." );
+		}
+		if ( !propertyPath.getBeanType().isInstance( object ) ) {
+			throw new IllegalArgumentException( "The property path " + propertyPath.getPropertyName()
+					+ " has been compiled for type " + propertyPath.getBeanType().getName()
+					+ ", but the object to validate is of type " + object.getClass().getName() + "." );
+		}
+
+		return validateProperty( object, propertyPath.getPropertyName(), groups );
+	}
+
+	/**
+	 * Validates all constraints placed on the property of the class {@code beanType}
+	 * represented by the given precompiled property path would the property value
+	 * be {@code value}.
+	 * <p>
+	 * The default implementation delegates to
+	 * {@link #validateValue(Class, String, Object, Class[])}.
+	 *
+	 * @param beanType the bean type
+	 * @param propertyPath the property to validate, as obtained from
+	 *        {@link #compilePropertyPath(Class, String)}
+	 * @param value property value to validate
+	 * @param groups the group or list of groups targeted for validation (defaults to
+	 *        {@link Default}).
+	 * @param <T> the type of the object to validate
+	 * @return constraint violations or an empty set if none
+	 * @throws IllegalArgumentException if {@code beanType} is {@code null},
+	 *         if {@code propertyPath} is {@code null} or has been compiled for a type
+	 *         {@code beanType} is not a sub-type of, or if {@code null} is passed to the
+	 *         varargs groups
+	 * @throws ValidationException if a non recoverable error happens
+	 *         during the validation process
+	 *
+	 * @since 2.0
+	 */
+	default <T> Set<ConstraintViolation<T>> validateCompiledValue(Class<T> beanType, PropertyPathHandle propertyPath,
+			Object value, Class<?>... groups) {
+		if ( beanType == null ) {
+			throw new IllegalArgumentException( "The bean type must not be null." );
+		}
+		if ( propertyPath == null ) {
+			throw new IllegalArgumentException( "The property path must not be null." );
+		}
+		if ( !propertyPath.getBeanType().isAssignableFrom( beanType ) ) {
+			throw new IllegalArgumentException( "The property path " + propertyPath.getPropertyName()
+					+ " has been compiled for type " + propertyPath.getBeanType().getName()
+					+ ", but the bean type is " + beanType.getName() + "." );
+		}
+
+		return validateValue( beanType, propertyPath.getPropertyName(), value, groups );
+	}
+
+	/**
+	 * Returns the descriptor object describing bean constraints.
+	 * <p>
+	 * The returned object (and associated objects including
+	 * {@link ConstraintDescriptor}s) are immutable.
+	 *
+	 * @param clazz class or interface type evaluated
+	 * @return the bean descriptor for the specified class
+	 * @throws IllegalArgumentException if clazz is {@code null}
+	 * @throws ValidationException if a non recoverable error happens
+	 *         during the metadata discovery or if some
+	 *         constraints are invalid.
+	 */
+	BeanDescriptor getConstraintsForClass(Class<?> clazz);
+
+	/**
+	 * Returns an instance of the specified type allowing access to
+	 * provider-specific APIs.
+	 * <p>
+	 * If the Bean Validation provider implementation does not support
+	 * the specified class, {@link ValidationException} is thrown.
+	 *
+	 * @param type the class of the object to be returned
+	 * @param <T> the type of the object to be returned
+	 * @return an instance of the specified class
+	 * @throws ValidationException if the provider does not support the call
+	 */
+	<T> T unwrap(Class<T> type);
+
+	/**
+	 * Returns the contract for validating parameters and return values of methods
+	 * and constructors.
+	 *
+	 * @return contract for method and constructor validation
+	 *
+	 * @since 1.1
+	 */
+	ExecutableValidator forExecutables();
+}
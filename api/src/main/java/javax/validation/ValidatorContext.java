@@ -88,6 +88,18 @@ public interface ValidatorContext {
 	 */
 	ValidatorContext clockProvider(ClockProvider clockProvider);
 
+	/**
+	 * Defines the {@link PatternCache} implementation used by the {@link Validator}.
+	 * If not set or if {@code null} is passed as a parameter,
+	 * the pattern cache of the {@link ValidatorFactory} is used.
+	 *
+	 * @param patternCache {@code PatternCache} implementation
+	 * @return self following the chaining method pattern
+	 *
+	 * @since 2.0
+	 */
+	ValidatorContext patternCache(PatternCache patternCache);
+
 	/**
 	 * Adds a value extractor to be used by the {@link Validator}. Has
 	 * priority over any extractor for the same type and type parameter
@@ -102,6 +114,51 @@ public interface ValidatorContext {
 	 */
 	ValidatorContext addValueExtractor(ValueExtractor<?> extractor);
 
+	/**
+	 * Enables or disables the fail-fast mode for the {@link Validator}.
+	 * Calling this method with {@code true} is equivalent to calling
+	 * {@link #maxViolations(int)} with {@code 1}; calling it with {@code false}
+	 * removes any limit on the number of reported constraint violations.
+	 * <p>
+	 * If not set, the fail-fast mode of the {@link ValidatorFactory} is used.
+	 *
+	 * @param failFast whether validation should stop at the first constraint violation
+	 * @return self following the chaining method pattern
+	 *
+	 * @since 2.0
+	 */
+	ValidatorContext failFast(boolean failFast);
+
+	/**
+	 * Defines the maximum number of constraint violations reported by a
+	 * validation call of the {@link Validator}. Validation stops as soon as
+	 * the given number of constraint violations has been found.
+	 * <p>
+	 * If not set, the maximum number of violations of the {@link ValidatorFactory}
+	 * is used.
+	 *
+	 * @param maxViolations the maximum number of constraint violations to report
+	 * @return self following the chaining method pattern
+	 * @throws IllegalArgumentException if {@code maxViolations} is less than 1
+	 *
+	 * @since 2.0
+	 */
+	ValidatorContext maxViolations(int maxViolations);
+
+	/**
+	 * Enables or disables lazy message interpolation for the {@link Validator}.
+	 * If enabled, the messages of constraint violations are only interpolated
+	 * when {@link ConstraintViolation#getMessage()} is called for the first time.
+	 * <p>
+	 * If not set, the setting of the {@link ValidatorFactory} is used.
+	 *
+	 * @param lazyMessageInterpolation whether messages should be interpolated lazily
+	 * @return self following the chaining method pattern
+	 *
+	 * @since 2.0
+	 */
+	ValidatorContext lazyMessageInterpolation(boolean lazyMessageInterpolation);
+
 	/**
 	 * Returns an initialized {@link Validator} instance respecting the defined state.
 	 * {@code Validator} instances can be pooled and shared by the implementation.
@@ -87,6 +87,17 @@ public interface ValidatorFactory extends AutoCloseable {
 	 */
 	ClockProvider getClockProvider();
 
+	/**
+	 * Returns the {@link PatternCache} instance configured at
+	 * initialization time for the {@code ValidatorFactory}.
+	 * This is the instance used by #getValidator().
+	 *
+	 * @return {@code PatternCache} instance
+	 *
+	 * @since 2.0
+	 */
+	PatternCache getPatternCache();
+
 	/**
 	 * Returns an instance of the specified type allowing access to
 	 * provider-specific APIs. If the Bean Validation provider
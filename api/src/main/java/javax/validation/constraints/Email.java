@@ -20,12 +20,16 @@ import java.lang.annotation.Retention;
 import java.lang.annotation.Target;
 
 import javax.validation.Constraint;
+import javax.validation.PatternCache;
 import javax.validation.Payload;
 import javax.validation.constraints.Email.List;
 
 /**
  * The string has to be a well-formed email address. Exact semantics of what makes up a valid
  * email address are left to Bean Validation providers. Accepts {@code CharSequence}.
+ * <p>
+ * The expression given via {@link #regexp()} and {@link #flags()} is compiled using the
+ * {@link PatternCache}.
  *
  * @author Emmanuel Bernard
  * @author Hardy Ferentschik
@@ -20,6 +20,7 @@ import java.lang.annotation.Retention;
 import java.lang.annotation.Target;
 
 import javax.validation.Constraint;
+import javax.validation.PatternCache;
 import javax.validation.Payload;
 import javax.validation.constraints.Pattern.List;
 
@@ -29,6 +30,9 @@ import javax.validation.constraints.Pattern.List;
  * see {@link java.util.regex.Pattern}.
  * <p>
  * Accepts {@code CharSequence}. {@code null} elements are considered valid.
+ * <p>
+ * The compiled expression is obtained from the {@link PatternCache}, so declarations
+ * using the same expression and flags share the same compiled pattern.
  *
  * @author Emmanuel Bernard
  */
@@ -11,5 +11,11 @@
  * These constraints do not cover all functional use cases but do represent
  * all the fundamental blocks to express low level constraints on basic JDK
  * types.
+ * <p>
+ * The validators of the built-in constraints are stateless and thread-safe in the
+ * sense of {@link javax.validation.constraintvalidation.Shareable}: their state only
+ * depends on the attributes of the constraint annotation. Providers may thus share one
+ * validator instance among all declarations of a built-in constraint with equal
+ * attributes.
  */
 package javax.validation.constraints;
@@ -0,0 +1,61 @@
+/*
+ * Bean Validation API
+ *
+ * License: Apache License, Version 2.0
+ * See the license.txt file in the root directory or <http://www.apache.org/licenses/LICENSE-2.0>.
+ */
+package javax.validation.constraintvalidation;
+
+import java.lang.annotation.Annotation;
+
+import javax.validation.ConstraintValidator;
+import javax.validation.ConstraintValidatorContext;
+
+/**
+ * A {@link ConstraintValidator} for {@code double} values.
+ * <p>
+ * When validating an element of type {@code double}, the Bean Validation provider
+ * invokes {@link #isValid(double, ConstraintValidatorContext)} with the unboxed value,
+ * so no wrapper object needs to be allocated. The same applies to elements of type
+ * {@code Double} holding a value.
+ * <p>
+ * {@link #isValid(Double, ConstraintValidatorContext)} is used for {@code null}
+ * values and by callers not aware of this interface. Its default implementation
+ * considers {@code null} as valid and delegates to the primitive variant otherwise,
+ * following the convention of the built-in constraints.
+ *
+ * @param <A> the annotation type handled by an implementation
+ *
+ * @since 2.0
+ */
+public interface DoubleConstraintValidator<A extends Annotation> extends ConstraintValidator<A, Double> {
+
+	/**
+	 * Implements the validation logic for a {@code double} value.
+	 * <p>
+	 * This method can be accessed concurrently, thread-safety must be ensured
+	 * by the implementation.
+	 *
+	 * @param value value to validate
+	 * @param context context in which the constraint is evaluated
+	 *
+	 * @return {@code false} if {@code value} does not pass the constraint
+	 */
+	boolean isValid(double value, ConstraintValidatorContext context);
+
+	/**
+	 * Validates a boxed value.
+	 * <p>
+	 * The default implementation returns {@code true} for {@code null} and
+	 * delegates to {@link #isValid(double, ConstraintValidatorContext)} otherwise.
+	 *
+	 * @param value object to validate
+	 * @param context context in which the constraint is evaluated
+	 *
+	 * @return {@code false} if {@code value} does not pass the constraint
+	 */
+	@Override
+	default boolean isValid(Double value, ConstraintValidatorContext context) {
+		return value == null || isValid( value.doubleValue(), context );
+	}
+}
@@ -0,0 +1,49 @@
+/*
+ * Bean Validation API
+ *
+ * License: Apache License, Version 2.0
+ * See the license.txt file in the root directory or <http://www.apache.org/licenses/LICENSE-2.0>.
+ */
+package javax.validation.constraintvalidation;
+
+import static java.lang.annotation.ElementType.TYPE;
+import static java.lang.annotation.RetentionPolicy.RUNTIME;
+
+import java.lang.annotation.Annotation;
+import java.lang.annotation.Documented;
+import java.lang.annotation.Retention;
+import java.lang.annotation.Target;
+
+import javax.validation.ConstraintValidator;
+import javax.validation.ConstraintValidatorFactory;
+
+/**
+ * Marks a {@link ConstraintValidator} implementation as stateless and thread-safe.
+ * <p>
+ * A validator marked as {@code @Shareable} must comply to the following restrictions:
+ * <ul>
+ *     <li>its state only depends on the constraint annotation passed to
+ *     {@link ConstraintValidator#initialize(Annotation)}, i.e. initializing two
+ *     instances with equal annotations (as per {@link Annotation#equals(Object)})
+ *     results in validators behaving identically</li>
+ *     <li>its state is not altered by
+ *     {@link ConstraintValidator#isValid(Object, javax.validation.ConstraintValidatorContext)},
+ *     which can be invoked concurrently</li>
+ * </ul>
+ * <p>
+ * The Bean Validation provider may then retrieve a single instance from the
+ * {@link ConstraintValidatorFactory} for all the constraint declarations using
+ * equal annotations, initialize it once and share it among these declarations,
+ * instead of creating one instance per constraint declaration. In this case,
+ * {@link ConstraintValidatorFactory#releaseInstance(ConstraintValidator)} is
+ * called once for the shared instance.
+ * <p>
+ * Providers are free to ignore this annotation.
+ *
+ * @since 2.0
+ */
+@Documented
+@Target({ TYPE })
+@Retention(RUNTIME)
+public @interface Shareable {
+}
@@ -8,5 +8,11 @@
  * Package containing constructs specific to constraint validators
  * In particular {@link javax.validation.constraintvalidation.SupportedValidationTarget}
  * is used to refine the validation target of a {@link javax.validation.ConstraintValidator}.
+ * {@link javax.validation.constraintvalidation.IntConstraintValidator},
+ * {@link javax.validation.constraintvalidation.LongConstraintValidator} and
+ * {@link javax.validation.constraintvalidation.DoubleConstraintValidator} allow to
+ * validate primitive values without boxing them.
+ * {@link javax.validation.constraintvalidation.Shareable} marks validators which
+ * can be shared among constraint declarations.
  */
 package javax.validation.constraintvalidation;
@@ -0,0 +1,253 @@
+/*
+ * Bean Validation API
+ *
+ * License: Apache License, Version 2.0
+ * See the license.txt file in the root directory or <http://www.apache.org/licenses/LICENSE-2.0>.
+ */
+package javax.validation.executable;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Method;
+import java.util.Set;
+import javax.validation.ConstraintViolation;
+import javax.validation.ConstraintViolationSink;
+import javax.validation.ValidationException;
+import javax.validation.groups.Default;
+
+/**
+ * Validates parameters and return values of methods and constructors.
+ * Implementations of this interface must be thread-safe.
+ *
+ * @author Gunnar Morling
+ * @since 1.1
+ */
+public interface ExecutableValidator {
+
+	/**
+	 * Validates all constraints placed on the parameters of the given method.
+	 *
+	 * @param <T> the type hosting the method to validate
+	 * @param object the object on which the method to validate is invoked
+	 * @param method the method for which the parameter constraints is validated
+	 * @param parameterValues the values provided by the caller for the given method's
+	 *        parameters
+	 * @param groups the group or list of groups targeted for validation (defaults to
+	 *        {@link Default})
+	 * @return a set with the constraint violations caused by this validation;
+	 *         will be empty if no error occurs, but never {@code null}
+	 * @throws IllegalArgumentException if {@code null} is passed for any of the parameters
+	 *         or if parameters don't match with each other
+	 * @throws ValidationException if a non recoverable error happens during the
+	 *         validation process
+	 */
+	<T> Set<ConstraintViolation<T>> validateParameters(T object,
+													   Method method,
+													   Object[] parameterValues,
+													   Class<?>... groups);
+
+	/**
+	 * Validates all constraints placed on the parameters of the given method and passes
+	 * the constraint violations to {@code sink} one by one.
+	 * <p>
+	 * This is semantically equivalent to passing each element of
+	 * {@code validateParameters( object, method, parameterValues, groups )} to the sink,
+	 * but implementations are encouraged to pass the violations as soon as they have been
+	 * found rather than collecting them into a set first. Violations are not guaranteed to
+	 * be distinct then. If the sink returns {@code false}, the validation is stopped and no
+	 * further violations are passed.
+	 * <p>
+	 * The default implementation passes the violations returned by
+	 * {@link #validateParameters(Object, Method, Object[], Class[])}.
+	 *
+	 * @param <T> the type hosting the method to validate
+	 * @param object the object on which the method to validate is invoked
+	 * @param method the method for which the parameter constraints is validated
+	 * @param parameterValues the values provided by the caller for the given method's
+	 *        parameters
+	 * @param sink the sink to pass the constraint violations to
+	 * @param groups the group or list of groups targeted for validation (defaults to
+	 *        {@link Default})
+	 * @throws IllegalArgumentException if {@code null} is passed for any of the parameters
+	 *         or if parameters don't match with each other
+	 * @throws ValidationException if a non recoverable error happens during the
+	 *         validation process
+	 *
+	 * @since 2.0
+	 */
+	default <T> void validateParameters(T object, Method method, Object[] parameterValues,
+			ConstraintViolationSink<T> sink, Class<?>... groups) {
+		if ( sink == null ) {
+			throw new IllegalArgumentException( "The sink must not be null." );
+		}
+
+		for ( ConstraintViolation<T> violation : validateParameters( object, method, parameterValues, groups ) ) {
+			if ( !sink.accept( violation ) ) {
+				return;
+			}
+		}
+	}
+
+	/**
+	 * Validates all return value constraints of the given method.
+	 *
+	 * @param <T> the type hosting the method to validate
+	 * @param object the object on which the method to validate is invoked
+	 * @param method the method for which the return value constraints is validated
+	 * @param returnValue the value returned by the given method
+	 * @param groups the group or list of groups targeted for validation (defaults to
+	 *        {@link Default})
+	 * @return a set with the constraint violations caused by this validation;
+	 *         will be empty if no error occurs, but never {@code null}
+	 * @throws IllegalArgumentException if {@code null} is passed for any of the object,
+	 *         method or groups parameters or if parameters don't match with each other
+	 * @throws ValidationException if a non recoverable error happens during the
+	 *         validation process
+	 */
+	<T> Set<ConstraintViolation<T>> validateReturnValue(T object,
+														Method method,
+														Object returnValue,
+														Class<?>... groups);
+
+	/**
+	 * Validates all return value constraints of the given method and passes the
+	 * constraint violations to {@code sink} one by one, as described for
+	 * {@link #validateParameters(Object, Method, Object[], ConstraintViolationSink, Class[])}.
+	 * <p>
+	 * The default implementation passes the violations returned by
+	 * {@link #validateReturnValue(Object, Method, Object, Class[])}.
+	 *
+	 * @param <T> the type hosting the method to validate
+	 * @param object the object on which the method to validate is invoked
+	 * @param method the method for which the return value constraints is validated
+	 * @param returnValue the value returned by the given method
+	 * @param sink the sink to pass the constraint violations to
+	 * @param groups the group or list of groups targeted for validation (defaults to
+	 *        {@link Default})
+	 * @throws IllegalArgumentException if {@code null} is passed for any of the object,
+	 *         method, sink or groups parameters or if parameters don't match with each other
+	 * @throws ValidationException if a non recoverable error happens during the
+	 *         validation process
+	 *
+	 * @since 2.0
+	 */
+	default <T> void validateReturnValue(T object, Method method, Object returnValue,
+			ConstraintViolationSink<T> sink, Class<?>... groups) {
+		if ( sink == null ) {
+			throw new IllegalArgumentException( "The sink must not be null." );
+		}
+
+		for ( ConstraintViolation<T> violation : validateReturnValue( object, method, returnValue, groups ) ) {
+			if ( !sink.accept( violation ) ) {
+				return;
+			}
+		}
+	}
+
+	/**
+	 * Validates all constraints placed on the parameters of the given constructor.
+	 *
+	 * @param <T> the type hosting the constructor to validate
+	 * @param constructor the constructor for which the parameter constraints is validated
+	 * @param parameterValues the values provided by the caller for the given constructor's
+	 *        parameters
+	 * @param groups the group or list of groups targeted for validation (defaults to
+	 *        {@link Default})
+	 * @return a set with the constraint violations caused by this validation;
+	 *         Will be empty if no error occurs, but never {@code null}
+	 * @throws IllegalArgumentException if {@code null} is passed for any of the parameters
+	 *         or if parameters don't match with each other
+	 * @throws ValidationException if a non recoverable error happens during the
+	 *         validation process
+	 */
+	<T> Set<ConstraintViolation<T>> validateConstructorParameters(Constructor<? extends T> constructor,
+																  Object[] parameterValues,
+																  Class<?>... groups);
+
+	/**
+	 * Validates all constraints placed on the parameters of the given constructor and
+	 * passes the constraint violations to {@code sink} one by one, as described for
+	 * {@link #validateParameters(Object, Method, Object[], ConstraintViolationSink, Class[])}.
+	 * <p>
+	 * The default implementation passes the violations returned by
+	 * {@link #validateConstructorParameters(Constructor, Object[], Class[])}.
+	 *
+	 * @param <T> the type hosting the constructor to validate
+	 * @param constructor the constructor for which the parameter constraints is validated
+	 * @param parameterValues the values provided by the caller for the given constructor's
+	 *        parameters
+	 * @param sink the sink to pass the constraint violations to
+	 * @param groups the group or list of groups targeted for validation (defaults to
+	 *        {@link Default})
+	 * @throws IllegalArgumentException if {@code null} is passed for any of the parameters
+	 *         or if parameters don't match with each other
+	 * @throws ValidationException if a non recoverable error happens during the
+	 *         validation process
+	 *
+	 * @since 2.0
+	 */
+	default <T> void validateConstructorParameters(Constructor<? extends T> constructor, Object[] parameterValues,
+			ConstraintViolationSink<T> sink, Class<?>... groups) {
+		if ( sink == null ) {
+			throw new IllegalArgumentException( "The sink must not be null." );
+		}
+
+		for ( ConstraintViolation<T> violation : this.<T>validateConstructorParameters( constructor, parameterValues, groups ) ) {
+			if ( !sink.accept( violation ) ) {
+				return;
+			}
+		}
+	}
+
+	/**
+	 * Validates all return value constraints of the given constructor.
+	 *
+	 * @param <T> the type hosting the constructor to validate
+	 * @param constructor the constructor for which the return value constraints is validated
+	 * @param createdObject the object instantiated by the given method
+	 * @param groups the group or list of groups targeted for validation (defaults to
+	 *        {@link Default})
+	 * @return a set with the constraint violations caused by this validation;
+	 *         will be empty, if no error occurs, but never {@code null}
+	 * @throws IllegalArgumentException if {@code null} is passed for any of the parameters
+	 *         or if parameters don't match with each other
+	 * @throws ValidationException if a non recoverable error happens during the
+	 *         validation process
+	 */
+	<T> Set<ConstraintViolation<T>> validateConstructorReturnValue(Constructor<? extends T> constructor,
+																   T createdObject,
+																   Class<?>... groups);
+
+	/**
+	 * Validates all return value constraints of the given constructor and passes the
+	 * constraint violations to {@code sink} one by one, as described for
+	 * {@link #validateParameters(Object, Method, Object[], ConstraintViolationSink, Class[])}.
+	 * <p>
+	 * The default implementation passes the violations returned by
+	 * {@link #validateConstructorReturnValue(Constructor, Object, Class[])}.
+	 *
+	 * @param <T> the type hosting the constructor to validate
+	 * @param constructor the constructor for which the return value constraints is validated
+	 * @param createdObject the object instantiated by the given method
+	 * @param sink the sink to pass the constraint violations to
+	 * @param groups the group or list of groups targeted for validation (defaults to
+	 *        {@link Default})
+	 * @throws IllegalArgumentException if {@code null} is passed for any of the parameters
+	 *         or if parameters don't match with each other
+	 * @throws ValidationException if a non recoverable error happens during the
+	 *         validation process
+	 *
+	 * @since 2.0
+	 */
+	default <T> void validateConstructorReturnValue(Constructor<? extends T> constructor, T createdObject,
+			ConstraintViolationSink<T> sink, Class<?>... groups) {
+		if ( sink == null ) {
+			throw new IllegalArgumentException( "The sink must not be null." );
+		}
+
+		for ( ConstraintViolation<T> violation : validateConstructorReturnValue( constructor, createdObject, groups ) ) {
+			if ( !sink.accept( violation ) ) {
+				return;
+			}
+		}
+	}
+}
@@ -8,7 +8,9 @@ package javax.validation.metadata;
 
 import java.util.Set;
 
+import javax.validation.PropertyPathHandle;
 import javax.validation.Valid;
+import javax.validation.Validator;
 
 /**
  * Describes a constrained Java Bean and the constraints associated to it. All
@@ -47,6 +49,27 @@ public interface BeanDescriptor extends ElementDescriptor {
 	 */
 	PropertyDescriptor getConstraintsForProperty(String propertyName);
 
+	/**
+	 * Returns a precompiled handle for the given property path of the bean represented by
+	 * this descriptor, to be passed to
+	 * {@link Validator#validateCompiledProperty(Object, PropertyPathHandle, Class[])} and
+	 * {@link Validator#validateCompiledValue(Class, PropertyPathHandle, Object, Class[])}.
+	 * <p>
+	 * The default implementation returns
+	 * {@link PropertyPathHandle#of(Class, String)} for the element class of this descriptor.
+	 *
+	 * @param propertyName the property path
+	 * @return a handle for the given property path
+	 * @throws IllegalArgumentException if {@code propertyName} is {@code null}, empty or
+	 *         not a valid object property
+	 * @see Validator#compilePropertyPath(Class, String)
+	 *
+	 * @since 2.0
+	 */
+	default PropertyPathHandle compilePropertyPath(String propertyName) {
+		return PropertyPathHandle.of( getElementClass(), propertyName );
+	}
+
 	/**
 	 * Returns a set of property descriptors having at least one constraint defined
 	 * or marked as cascaded ({@link Valid}).
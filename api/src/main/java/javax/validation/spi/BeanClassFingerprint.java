@@ -0,0 +1,228 @@
+/*
+ * Bean Validation API
+ *
+ * License: Apache License, Version 2.0
+ * See the license.txt file in the root directory or <http://www.apache.org/licenses/LICENSE-2.0>.
+ */
+package javax.validation.spi;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.AnnotatedParameterizedType;
+import java.lang.reflect.AnnotatedType;
+import java.lang.reflect.Array;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Computes fingerprints of bean types, allowing to detect whether
+ * {@link PrecompiledBeanMetadata} is outdated with respect to the bean type it has been
+ * generated from, e.g. after an incremental build which didn't run the annotation processor.
+ * <p>
+ * The fingerprint is computed from one descriptor per element of the bean type:
+ * <ul>
+ *     <li>{@code class} for the bean type itself</li>
+ *     <li>{@code field <name> <type>} for each non-static field</li>
+ *     <li>{@code method <name> <return type>} for each non-static method without
+ *     parameters</li>
+ * </ul>
+ * Synthetic members are ignored. Types are represented by the name returned by
+ * {@link Class#getTypeName()} for their erasure, followed by the annotations of their type
+ * arguments, if any, e.g. {@code java.util.List<@com.acme.NotEmpty()>} or
+ * {@code java.util.Map<,<@com.acme.NotNull()>>}. Each descriptor is followed by the
+ * annotations of the element, separated by a space.
+ * <p>
+ * Only annotations with runtime retention are taken into account. An annotation is
+ * represented as {@code @<type name>(<attribute>=<value>,...)}, listing all its attributes,
+ * including the ones with default values, ordered by name. Strings are represented in
+ * double quotes, classes by their type name, enum constants by their name, annotations as
+ * described before, arrays as {@code {<element>,...}} and all other values as returned by
+ * {@link String#valueOf(Object)}. The annotations of an element, respectively of a type
+ * argument, are ordered by their representation.
+ * <p>
+ * The fingerprint is the hexadecimal SHA-256 hash of the descriptors, ordered
+ * lexicographically, each one terminated by a line feed and encoded in UTF-8. As it is
+ * defined independently of reflection, it can also be computed at build time.
+ *
+ * @since 2.0
+ */
+public final class BeanClassFingerprint {
+
+	private BeanClassFingerprint() {
+	}
+
+	/**
+	 * Computes the fingerprint of the given bean type by reflecting on its elements.
+	 *
+	 * @param beanClass the bean type
+	 * @return the fingerprint of the given bean type
+	 * @throws IllegalArgumentException if {@code beanClass} is {@code null}
+	 */
+	public static String of(Class<?> beanClass) {
+		if ( beanClass == null ) {
+			throw new IllegalArgumentException( "The bean class must not be null." );
+		}
+
+		List<String> descriptors = new ArrayList<>();
+		descriptors.add( "class" + annotations( beanClass.getDeclaredAnnotations() ) );
+
+		for ( Field field : beanClass.getDeclaredFields() ) {
+			if ( !Modifier.isStatic( field.getModifiers() ) && !field.isSynthetic() ) {
+				descriptors.add( "field " + field.getName() + " " + field.getType().getTypeName()
+						+ typeArguments( field.getAnnotatedType() )
+						+ annotations( field.getDeclaredAnnotations() ) );
+			}
+		}
+
+		for ( Method method : beanClass.getDeclaredMethods() ) {
+			if ( !Modifier.isStatic( method.getModifiers() ) && !method.isSynthetic()
+					&& method.getParameterCount() == 0 ) {
+				descriptors.add( "method " + method.getName() + " "
+						+ method.getReturnType().getTypeName() + typeArguments( method.getAnnotatedReturnType() )
+						+ annotations( method.getDeclaredAnnotations() ) );
+			}
+		}
+
+		return of( descriptors );
+	}
+
+	/**
+	 * Computes the fingerprint from the given element descriptors, which must have been
+	 * obtained as described above. This allows to compute fingerprints without reflection,
+	 * e.g. at build time.
+	 *
+	 * @param descriptors the descriptors of the elements of a bean type, in any order
+	 * @return the fingerprint of the bean type
+	 * @throws IllegalArgumentException if {@code descriptors} is {@code null}
+	 */
+	public static String of(Collection<String> descriptors) {
+		if ( descriptors == null ) {
+			throw new IllegalArgumentException( "The descriptors must not be null." );
+		}
+
+		String[] sortedDescriptors = descriptors.toArray( new String[descriptors.size()] );
+		Arrays.sort( sortedDescriptors );
+
+		MessageDigest digest;
+		try {
+			digest = MessageDigest.getInstance( "SHA-256" );
+		}
+		catch ( NoSuchAlgorithmException e ) {
+			// every Java platform implementation supports SHA-256
+			throw new IllegalStateException( e );
+		}
+		for ( String descriptor : sortedDescriptors ) {
+			digest.update( ( descriptor + "\n" ).getBytes( StandardCharsets.UTF_8 ) );
+		}
+
+		StringBuilder fingerprint = new StringBuilder();
+		for ( byte b : digest.digest() ) {
+			fingerprint.append( Character.forDigit( ( b >> 4 ) & 0xF, 16 ) ).append( Character.forDigit( b & 0xF, 16 ) );
+		}
+		return fingerprint.toString();
+	}
+
+	private static String typeArguments(AnnotatedType type) {
+		if ( !( type instanceof AnnotatedParameterizedType ) ) {
+			return "";
+		}
+
+		AnnotatedType[] typeArguments = ( (AnnotatedParameterizedType) type ).getAnnotatedActualTypeArguments();
+		if ( typeArguments.length == 0 ) {
+			return "";
+		}
+
+		StringBuilder sb = new StringBuilder( "<" );
+		for ( int i = 0; i < typeArguments.length; i++ ) {
+			if ( i > 0 ) {
+				sb.append( ',' );
+			}
+			sb.append( annotations( typeArguments[i].getDeclaredAnnotations() ).trim() )
+					.append( typeArguments( typeArguments[i] ) );
+		}
+		return sb.append( '>' ).toString();
+	}
+
+	/**
+	 * Returns the representations of the given annotations, each preceded by a space.
+	 */
+	private static String annotations(Annotation[] annotations) {
+		List<String> representations = new ArrayList<>( annotations.length );
+		for ( Annotation annotation : annotations ) {
+			representations.add( annotation( annotation ) );
+		}
+		representations.sort( Comparator.naturalOrder() );
+
+		StringBuilder sb = new StringBuilder();
+		for ( String representation : representations ) {
+			sb.append( ' ' ).append( representation );
+		}
+		return sb.toString();
+	}
+
+	private static String annotation(Annotation annotation) {
+		Method[] attributes = annotation.annotationType().getDeclaredMethods();
+		Arrays.sort( attributes, Comparator.comparing( Method::getName ) );
+
+		StringBuilder sb = new StringBuilder( "@" ).append( annotation.annotationType().getTypeName() ).append( '(' );
+		boolean first = true;
+		for ( Method attribute : attributes ) {
+			if ( Modifier.isStatic( attribute.getModifiers() ) || attribute.isSynthetic() ) {
+				continue;
+			}
+			if ( !first ) {
+				sb.append( ',' );
+			}
+			first = false;
+			sb.append( attribute.getName() ).append( '=' ).append( attributeValue( annotation, attribute ) );
+		}
+		return sb.append( ')' ).toString();
+	}
+
+	private static String attributeValue(Annotation annotation, Method attribute) {
+		try {
+			if ( !Modifier.isPublic( attribute.getDeclaringClass().getModifiers() ) ) {
+				attribute.setAccessible( true );
+			}
+			return value( attribute.invoke( annotation ) );
+		}
+		catch ( ReflectiveOperationException | RuntimeException e ) {
+			// the fingerprint won't match, so the bean type will be treated as if it had no precompiled metadata
+			return "?";
+		}
+	}
+
+	private static String value(Object value) {
+		if ( value instanceof String ) {
+			return "\"" + value + "\"";
+		}
+		if ( value instanceof Class ) {
+			return ( (Class<?>) value ).getTypeName();
+		}
+		if ( value instanceof Enum ) {
+			return ( (Enum<?>) value ).name();
+		}
+		if ( value instanceof Annotation ) {
+			return annotation( (Annotation) value );
+		}
+		if ( value.getClass().isArray() ) {
+			StringBuilder sb = new StringBuilder( "{" );
+			for ( int i = 0; i < Array.getLength( value ); i++ ) {
+				if ( i > 0 ) {
+					sb.append( ',' );
+				}
+				sb.append( value( Array.get( value, i ) ) );
+			}
+			return sb.append( '}' ).toString();
+		}
+		return String.valueOf( value );
+	}
+}
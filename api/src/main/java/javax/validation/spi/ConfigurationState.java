@@ -7,14 +7,18 @@
 package javax.validation.spi;
 
 import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
 
 import javax.validation.ClockProvider;
 import javax.validation.Configuration;
 import javax.validation.ConstraintValidatorFactory;
 import javax.validation.MessageInterpolator;
 import javax.validation.ParameterNameProvider;
+import javax.validation.PatternCache;
 import javax.validation.TraversableResolver;
 import javax.validation.ValidatorFactory;
 import javax.validation.valueextraction.ValueExtractor;
@@ -77,6 +81,8 @@ public interface ConfigurationState {
 	 * creation (or if an exception occurs). All streams are guaranteed to
 	 * adhere to the mark/reset contract (see {@link InputStream#markSupported()}
 	 * by the Bean Validation provider.
+	 * <p>
+	 * The streams can be read incrementally using {@link ConstraintMappingReader}.
 	 *
 	 * @return set of input stream
 	 */
@@ -178,6 +184,95 @@ public interface ConfigurationState {
 	 */
 	ClockProvider getClockProvider();
 
+	/**
+	 * Returns the pattern cache for this configuration.
+	 * <p>
+	 * {@link PatternCache} is defined in the following decreasing priority:
+	 * <ul>
+	 *     <li>set via the {@link Configuration} programmatic API</li>
+	 *     <li>defined in {@code META-INF/validation.xml} provided that
+	 *     {@code ignoreXmlConfiguration} is {@code false}. In this case the instance
+	 *     is created via its no-arg constructor.</li>
+	 *     <li>{@code null} if undefined.</li>
+	 * </ul>
+	 *
+	 * @return pattern cache instance or {@code null} if not defined
+	 *
+	 * @since 2.0
+	 */
+	PatternCache getPatternCache();
+
+	/**
+	 * Returns the maximum number of constraint violations reported by a
+	 * validation call.
+	 * <p>
+	 * The value is defined in the following decreasing priority:
+	 * <ul>
+	 *     <li>set via {@link Configuration#failFast(boolean)} or
+	 *     {@link Configuration#maxViolations(int)}</li>
+	 *     <li>defined in {@code META-INF/validation.xml} provided that
+	 *     {@code ignoreXmlConfiguration} is {@code false}.</li>
+	 *     <li>{@code null} if undefined, in which case all constraint violations
+	 *     are reported.</li>
+	 * </ul>
+	 *
+	 * @return maximum number of reported constraint violations or {@code null}
+	 *         if not defined
+	 *
+	 * @since 2.0
+	 */
+	Integer getMaxViolations();
+
+	/**
+	 * Returns {@code true} if lazy message interpolation has been enabled via
+	 * {@link Configuration#lazyMessageInterpolation(boolean)}.
+	 *
+	 * @return {@code true} if constraint violation messages should be interpolated
+	 *         lazily
+	 *
+	 * @since 2.0
+	 */
+	boolean isLazyMessageInterpolation();
+
+	/**
+	 * Returns the fork/join pool used to validate the elements of large containers
+	 * in parallel, as set via {@link Configuration#parallelCascade(ForkJoinPool, int)}.
+	 *
+	 * @return the fork/join pool or {@code null} if parallel cascaded validation
+	 *         is not enabled
+	 *
+	 * @since 2.0
+	 */
+	ForkJoinPool getParallelCascadePool();
+
+	/**
+	 * Returns the minimum number of elements a container must have for its
+	 * elements to be validated in parallel, as set via
+	 * {@link Configuration#parallelCascade(ForkJoinPool, int)}.
+	 * <p>
+	 * The value is only relevant if {@link #getParallelCascadePool()} does not
+	 * return {@code null}.
+	 *
+	 * @return the minimum number of elements for parallel cascaded validation
+	 *
+	 * @since 2.0
+	 */
+	int getParallelCascadeThreshold();
+
+	/**
+	 * Returns the constraint metadata snapshots added via
+	 * {@link Configuration#addMetadataSnapshot(ByteBuffer)}, in the order they have been
+	 * added.
+	 * <p>
+	 * Snapshots are read using
+	 * {@link ConstraintMetadataSnapshot#read(ByteBuffer, ClassLoader, ConstraintMetadataVisitor)}.
+	 *
+	 * @return the constraint metadata snapshots; an empty list if none have been added
+	 *
+	 * @since 2.0
+	 */
+	List<ByteBuffer> getMetadataSnapshots();
+
 	/**
 	 * Returns a map of non type-safe custom properties.
 	 * <p>
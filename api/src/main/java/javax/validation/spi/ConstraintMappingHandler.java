@@ -0,0 +1,192 @@
+/*
+ * Bean Validation API
+ *
+ * License: Apache License, Version 2.0
+ * See the license.txt file in the root directory or <http://www.apache.org/licenses/LICENSE-2.0>.
+ */
+package javax.validation.spi;
+
+import java.util.List;
+
+/**
+ * Receives the contents of an XML constraint mapping from a {@link ConstraintMappingReader},
+ * element by element, in document order.
+ * <p>
+ * Each {@code begin} event of a class, field, getter, container element type, method,
+ * constructor, parameter, cross-parameter or return value element is followed by the
+ * events of its contents and an {@link #end()} event. The {@code ignoreAnnotations}
+ * parameters are {@code null} if the {@code ignore-annotations} attribute is not given.
+ * <p>
+ * All types are given by their names as they appear in the mapping; resolving them,
+ * e.g. against the {@link #defaultPackage(String) default package}, is up to the handler.
+ * <p>
+ * All methods do nothing by default.
+ *
+ * @since 2.0
+ */
+public interface ConstraintMappingHandler {
+
+	/**
+	 * Reports the start of a mapping document.
+	 *
+	 * @param version the value of the {@code version} attribute of the document or
+	 *        {@code null} if not given
+	 */
+	default void beginMappings(String version) {
+	}
+
+	/**
+	 * Reports the default package of the mapping.
+	 *
+	 * @param defaultPackage the default package
+	 */
+	default void defaultPackage(String defaultPackage) {
+	}
+
+	/**
+	 * Reports the start of the mapping of a bean type.
+	 *
+	 * @param className the name of the bean type
+	 * @param ignoreAnnotations whether the annotations of the bean type are to be ignored;
+	 *        {@code true} if not given, as mandated by the mapping schema
+	 */
+	default void beginBean(String className, boolean ignoreAnnotations) {
+	}
+
+	/**
+	 * Reports the start of the class-level mapping of the current bean type.
+	 *
+	 * @param ignoreAnnotations whether the class-level annotations are to be ignored
+	 */
+	default void beginClass(Boolean ignoreAnnotations) {
+	}
+
+	/**
+	 * Reports the redefined default group sequence of the current bean type.
+	 *
+	 * @param groups the names of the groups of the sequence
+	 */
+	default void groupSequence(List<String> groups) {
+	}
+
+	/**
+	 * Reports the start of the mapping of a field of the current bean type.
+	 *
+	 * @param name the name of the field
+	 * @param ignoreAnnotations whether the annotations of the field are to be ignored
+	 */
+	default void beginField(String name, Boolean ignoreAnnotations) {
+	}
+
+	/**
+	 * Reports the start of the mapping of a getter of the current bean type.
+	 *
+	 * @param name the name of the property represented by the getter
+	 * @param ignoreAnnotations whether the annotations of the getter are to be ignored
+	 */
+	default void beginGetter(String name, Boolean ignoreAnnotations) {
+	}
+
+	/**
+	 * Reports the start of the mapping of a constructor of the current bean type.
+	 *
+	 * @param ignoreAnnotations whether the annotations of the constructor are to be ignored
+	 */
+	default void beginConstructor(Boolean ignoreAnnotations) {
+	}
+
+	/**
+	 * Reports the start of the mapping of a method of the current bean type.
+	 *
+	 * @param name the name of the method
+	 * @param ignoreAnnotations whether the annotations of the method are to be ignored
+	 */
+	default void beginMethod(String name, Boolean ignoreAnnotations) {
+	}
+
+	/**
+	 * Reports the start of the mapping of a parameter of the current method or constructor.
+	 *
+	 * @param type the name of the parameter type
+	 * @param ignoreAnnotations whether the annotations of the parameter are to be ignored
+	 */
+	default void beginParameter(String type, Boolean ignoreAnnotations) {
+	}
+
+	/**
+	 * Reports the start of the cross-parameter mapping of the current method or constructor.
+	 *
+	 * @param ignoreAnnotations whether the cross-parameter annotations are to be ignored
+	 */
+	default void beginCrossParameter(Boolean ignoreAnnotations) {
+	}
+
+	/**
+	 * Reports the start of the return value mapping of the current method or constructor.
+	 *
+	 * @param ignoreAnnotations whether the return value annotations are to be ignored
+	 */
+	default void beginReturnValue(Boolean ignoreAnnotations) {
+	}
+
+	/**
+	 * Reports the start of the mapping of a container element type of the current element.
+	 *
+	 * @param typeArgumentIndex the index of the type argument or {@code null} if not given
+	 */
+	default void beginContainerElementType(Integer typeArgumentIndex) {
+	}
+
+	/**
+	 * Reports that the current element is marked for cascaded validation.
+	 */
+	default void valid() {
+	}
+
+	/**
+	 * Reports a group conversion of the current element.
+	 *
+	 * @param from the name of the source group
+	 * @param to the name of the target group
+	 */
+	default void convertGroup(String from, String to) {
+	}
+
+	/**
+	 * Reports a constraint of the current element.
+	 *
+	 * @param constraint the constraint
+	 */
+	default void constraint(MappedConstraint constraint) {
+	}
+
+	/**
+	 * Reports the end of the current class, field, getter, container element type,
+	 * method, constructor, parameter, cross-parameter or return value mapping.
+	 */
+	default void end() {
+	}
+
+	/**
+	 * Reports the end of the mapping of the current bean type.
+	 */
+	default void endBean() {
+	}
+
+	/**
+	 * Reports a constraint definition.
+	 *
+	 * @param annotation the name of the constraint annotation type
+	 * @param includeExistingValidators whether the validators given by the annotation
+	 *        type are to be kept; {@code null} if not given
+	 * @param validatedBy the names of the constraint validator types
+	 */
+	default void constraintDefinition(String annotation, Boolean includeExistingValidators, List<String> validatedBy) {
+	}
+
+	/**
+	 * Reports the end of a mapping document.
+	 */
+	default void endMappings() {
+	}
+}
@@ -0,0 +1,269 @@
+/*
+ * Bean Validation API
+ *
+ * License: Apache License, Version 2.0
+ * See the license.txt file in the root directory or <http://www.apache.org/licenses/LICENSE-2.0>.
+ */
+package javax.validation.spi;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+
+import javax.validation.BootstrapConfiguration;
+import javax.validation.ValidationException;
+
+/**
+ * An index of the bean types mapped by a set of XML constraint mapping resources, such as
+ * the ones given by {@link BootstrapConfiguration#getConstraintMappingResourcePaths()}.
+ * <p>
+ * Building the index reads each resource once and determines which bean types it maps; the
+ * mappings of the bean types themselves are skipped without being parsed. For each bean
+ * type, only its name, its resource and the position of its mapping within the resource
+ * are retained, so the memory held by an index does not depend on the size of the
+ * mappings. This allows providers to defer processing the XML constraints of a bean type
+ * until metadata for that type is first requested, e.g. by {@code getConstraintsForClass()}
+ * or {@code validate()}, so the cost of bootstrapping scales with the bean types actually
+ * in use rather than with the size of the mappings. Reading the mapping of a bean type
+ * reads its resource again, up to the end of the requested bean mapping only.
+ * <p>
+ * As mandated by the specification, a bean type must not be mapped more than once
+ * amongst all the mapping resources.
+ * <p>
+ * Instances are immutable and thread-safe.
+ *
+ * @since 2.0
+ */
+public final class ConstraintMappingIndex {
+
+	private final ClassLoader classLoader;
+	private final Map<String, BeanMapping> beanMappingsByClassName;
+	private final List<MappingResource> constraintDefinitionResources;
+
+	private ConstraintMappingIndex(ClassLoader classLoader, Map<String, BeanMapping> beanMappingsByClassName,
+			List<MappingResource> constraintDefinitionResources) {
+		this.classLoader = classLoader;
+		this.beanMappingsByClassName = Collections.unmodifiableMap( beanMappingsByClassName );
+		this.constraintDefinitionResources = Collections.unmodifiableList( constraintDefinitionResources );
+	}
+
+	/**
+	 * Builds an index of the given XML constraint mapping resources.
+	 *
+	 * @param resourcePaths the paths of the mapping resources
+	 * @param classLoader the class loader to load the mapping resources from; the same
+	 *        loader is used when reading mappings from the returned index
+	 * @return an index of the given mapping resources
+	 * @throws IllegalArgumentException if {@code resourcePaths} or {@code classLoader}
+	 *         is {@code null}
+	 * @throws ValidationException if a resource cannot be read or is malformed, or if a
+	 *         bean type is mapped more than once
+	 */
+	public static ConstraintMappingIndex build(Set<String> resourcePaths, ClassLoader classLoader) {
+		if ( resourcePaths == null ) {
+			throw new IllegalArgumentException( "The resource paths must not be null." );
+		}
+		if ( classLoader == null ) {
+			throw new IllegalArgumentException( "The class loader must not be null." );
+		}
+
+		Map<String, BeanMapping> beanMappingsByClassName = new HashMap<>();
+		List<MappingResource> constraintDefinitionResources = new ArrayList<>();
+
+		for ( String resourcePath : resourcePaths ) {
+			IndexingHandler indexingHandler = new IndexingHandler();
+
+			read( classLoader, resourcePath, in -> ConstraintMappingReader.read(
+					in,
+					className -> {
+						String beanClassName = qualify( className, indexingHandler.defaultPackage );
+						int beanIndex = indexingHandler.beanIndexes.size();
+						if ( indexingHandler.beanIndexes.put( beanClassName, beanIndex ) != null ) {
+							throw duplicateBeanMapping( beanClassName, resourcePath, resourcePath );
+						}
+						return false;
+					},
+					true,
+					indexingHandler
+			) );
+
+			MappingResource resource = new MappingResource( resourcePath, indexingHandler.defaultPackage );
+			for ( Map.Entry<String, Integer> beanIndex : indexingHandler.beanIndexes.entrySet() ) {
+				BeanMapping existing = beanMappingsByClassName.put(
+						beanIndex.getKey(),
+						new BeanMapping( resource, beanIndex.getValue() )
+				);
+				if ( existing != null ) {
+					throw duplicateBeanMapping( beanIndex.getKey(), existing.resource.path, resourcePath );
+				}
+			}
+			if ( indexingHandler.hasConstraintDefinitions ) {
+				constraintDefinitionResources.add( resource );
+			}
+		}
+
+		return new ConstraintMappingIndex( classLoader, beanMappingsByClassName, constraintDefinitionResources );
+	}
+
+	/**
+	 * @return the fully-qualified names of all mapped bean types
+	 */
+	public Set<String> getBeanClassNames() {
+		return beanMappingsByClassName.keySet();
+	}
+
+	/**
+	 * @param beanClassName the fully-qualified name of a bean type
+	 * @return {@code true} if the given bean type is mapped by one of the indexed resources
+	 */
+	public boolean isMapped(String beanClassName) {
+		return beanMappingsByClassName.containsKey( beanClassName );
+	}
+
+	/**
+	 * Reads the mapping of the given bean type and reports it to the given handler.
+	 * <p>
+	 * The resource declaring the bean type is read again up to the end of the mapping of
+	 * the bean type; the preceding bean mappings are skipped without being parsed. Besides
+	 * the events of the bean mapping itself, the handler receives the
+	 * {@code beginMappings()}, {@code defaultPackage()} and {@code endMappings()} events of
+	 * the resource, but no constraint definitions.
+	 *
+	 * @param beanClassName the fully-qualified name of the bean type
+	 * @param handler the handler to report the mapping to
+	 * @return {@code true} if the bean type is mapped, {@code false} otherwise, in
+	 *         which case the handler is not invoked
+	 * @throws IllegalArgumentException if {@code beanClassName} or {@code handler} is
+	 *         {@code null}
+	 * @throws ValidationException if the mapping resource cannot be read, if the mapping
+	 *         of the bean type is malformed, or if the resource no longer maps the bean type
+	 *         at the position determined when building the index
+	 */
+	public boolean readBean(String beanClassName, ConstraintMappingHandler handler) {
+		if ( beanClassName == null ) {
+			throw new IllegalArgumentException( "The bean class name must not be null." );
+		}
+		if ( handler == null ) {
+			throw new IllegalArgumentException( "The handler must not be null." );
+		}
+
+		BeanMapping beanMapping = beanMappingsByClassName.get( beanClassName );
+		if ( beanMapping == null ) {
+			return false;
+		}
+
+		MappingResource resource = beanMapping.resource;
+		read( classLoader, resource.path, in -> {
+			boolean read = ConstraintMappingReader.readBean(
+					in,
+					beanMapping.beanIndex,
+					className -> beanClassName.equals( qualify( className, resource.defaultPackage ) ),
+					handler
+			);
+			if ( !read ) {
+				throw new ValidationException( "Constraint mapping resource " + resource.path
+						+ " does not map bean type " + beanClassName + " as indexed anymore." );
+			}
+		} );
+		return true;
+	}
+
+	/**
+	 * Reads the constraint definitions of all indexed resources and reports them to the
+	 * given handler. As constraint definitions apply globally, providers typically read
+	 * them when bootstrapping. Bean mappings are skipped.
+	 *
+	 * @param handler the handler to report the constraint definitions to
+	 * @throws IllegalArgumentException if {@code handler} is {@code null}
+	 * @throws ValidationException if a mapping resource cannot be read
+	 */
+	public void readConstraintDefinitions(ConstraintMappingHandler handler) {
+		if ( handler == null ) {
+			throw new IllegalArgumentException( "The handler must not be null." );
+		}
+
+		for ( MappingResource resource : constraintDefinitionResources ) {
+			read( classLoader, resource.path, in -> ConstraintMappingReader.read( in, className -> false, handler ) );
+		}
+	}
+
+	private static void read(ClassLoader classLoader, String resourcePath, Consumer<InputStream> consumer) {
+		String path = resourcePath.startsWith( "/" ) ? resourcePath.substring( 1 ) : resourcePath;
+
+		try ( InputStream in = classLoader.getResourceAsStream( path ) ) {
+			if ( in == null ) {
+				throw new ValidationException( "Unable to open constraint mapping resource " + resourcePath + "." );
+			}
+			consumer.accept( in );
+		}
+		catch ( IOException e ) {
+			throw new ValidationException( "Unable to read constraint mapping resource " + resourcePath + ".", e );
+		}
+	}
+
+	private static ValidationException duplicateBeanMapping(String beanClassName, String path, String otherPath) {
+		return new ValidationException( "Bean type " + beanClassName + " is mapped more than once, in " + path + " and "
+				+ otherPath + "." );
+	}
+
+	/**
+	 * Resolves the given class name against the given default package, unless the name
+	 * is qualified already.
+	 */
+	private static String qualify(String className, String defaultPackage) {
+		if ( defaultPackage == null || defaultPackage.isEmpty() || className.indexOf( '.' ) >= 0 ) {
+			return className;
+		}
+		return defaultPackage + "." + className;
+	}
+
+	private static class MappingResource {
+
+		private final String path;
+		private final String defaultPackage;
+
+		private MappingResource(String path, String defaultPackage) {
+			this.path = path;
+			this.defaultPackage = defaultPackage;
+		}
+	}
+
+	/**
+	 * The mapping of one bean type, given by the index of its {@code bean} element amongst
+	 * all the {@code bean} elements of its resource.
+	 */
+	private static class BeanMapping {
+
+		private final MappingResource resource;
+		private final int beanIndex;
+
+		private BeanMapping(MappingResource resource, int beanIndex) {
+			this.resource = resource;
+			this.beanIndex = beanIndex;
+		}
+	}
+
+	private static class IndexingHandler implements ConstraintMappingHandler {
+
+		private final Map<String, Integer> beanIndexes = new LinkedHashMap<>();
+		private String defaultPackage;
+		private boolean hasConstraintDefinitions;
+
+		@Override
+		public void defaultPackage(String defaultPackage) {
+			this.defaultPackage = defaultPackage;
+		}
+
+		@Override
+		public void constraintDefinition(String annotation, Boolean includeExistingValidators, List<String> validatedBy) {
+			hasConstraintDefinitions = true;
+		}
+	}
+}
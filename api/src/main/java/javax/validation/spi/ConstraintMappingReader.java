@@ -0,0 +1,520 @@
+/*
+ * Bean Validation API
+ *
+ * License: Apache License, Version 2.0
+ * See the license.txt file in the root directory or <http://www.apache.org/licenses/LICENSE-2.0>.
+ */
+package javax.validation.spi;
+
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
+
+import javax.validation.Configuration;
+import javax.validation.ValidationException;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
+/**
+ * Reads XML constraint mappings as passed via {@link Configuration#addMapping(InputStream)}
+ * or referenced by {@code META-INF/validation.xml} in a streaming fashion.
+ * <p>
+ * The mapping is reported to a {@link ConstraintMappingHandler} while it is being read,
+ * so the memory needed for reading a mapping does not depend on the number of beans it
+ * declares. Providers can thus build their metadata incrementally, also from very large
+ * mappings.
+ * <p>
+ * Mappings of all schema versions are supported; elements are matched by their local
+ * name. The mapping is checked to be well-formed and to only contain the elements defined
+ * by the mapping schema at the expected places, but it is not validated against the schema
+ * otherwise. DTDs and external entities are not supported.
+ *
+ * @since 2.0
+ */
+public final class ConstraintMappingReader {
+
+	private static final XMLInputFactory INPUT_FACTORY = createInputFactory();
+
+	private ConstraintMappingReader() {
+	}
+
+	/**
+	 * Reads the given constraint mapping and reports its contents to the given handler.
+	 * The stream is not closed.
+	 *
+	 * @param mapping the XML constraint mapping to read
+	 * @param handler the handler to report the contents of the mapping to
+	 * @throws IllegalArgumentException if {@code mapping} or {@code handler} is
+	 *         {@code null}
+	 * @throws ValidationException if the mapping cannot be read or is malformed
+	 */
+	public static void read(InputStream mapping, ConstraintMappingHandler handler) {
+		read( mapping, className -> true, handler );
+	}
+
+	/**
+	 * Reads the given constraint mapping and reports its contents to the given handler,
+	 * omitting the mappings of all bean types not accepted by the given filter. The
+	 * contents of omitted bean mappings are skipped without being parsed. The stream is
+	 * not closed.
+	 *
+	 * @param mapping the XML constraint mapping to read
+	 * @param beanFilter receives the name of each mapped bean type as given in the
+	 *        mapping, i.e. not resolved against the default package; returns
+	 *        {@code true} if the mapping of the bean type is to be reported
+	 * @param handler the handler to report the contents of the mapping to
+	 * @throws IllegalArgumentException if any of the parameters is {@code null}
+	 * @throws ValidationException if the mapping cannot be read or is malformed
+	 */
+	public static void read(InputStream mapping, Predicate<String> beanFilter, ConstraintMappingHandler handler) {
+		read( mapping, beanFilter, true, handler );
+	}
+
+	static void read(InputStream mapping, Predicate<String> beanFilter, boolean includeConstraintDefinitions,
+			ConstraintMappingHandler handler) {
+		parse( mapping, beanFilter, includeConstraintDefinitions, -1, handler );
+	}
+
+	/**
+	 * Reads the mapping of the bean type declared by the {@code bean} element with the
+	 * given 0-based index amongst all {@code bean} elements of the given constraint
+	 * mapping. Preceding bean mappings and all constraint definitions are skipped without
+	 * being parsed; reading stops after the requested bean mapping. The stream is not
+	 * closed.
+	 *
+	 * @return {@code true} if the mapping declares a bean type with the given index and its
+	 *         name, as given in the mapping, is accepted by the given filter, {@code false}
+	 *         otherwise
+	 */
+	static boolean readBean(InputStream mapping, int beanIndex, Predicate<String> beanFilter,
+			ConstraintMappingHandler handler) {
+		if ( beanIndex < 0 ) {
+			throw new IllegalArgumentException( "The bean index must not be negative." );
+		}
+		return parse( mapping, beanFilter, false, beanIndex, handler );
+	}
+
+	private static boolean parse(InputStream mapping, Predicate<String> beanFilter, boolean includeConstraintDefinitions,
+			int beanIndex, ConstraintMappingHandler handler) {
+		if ( mapping == null ) {
+			throw new IllegalArgumentException( "The mapping stream must not be null." );
+		}
+		if ( beanFilter == null ) {
+			throw new IllegalArgumentException( "The bean filter must not be null." );
+		}
+		if ( handler == null ) {
+			throw new IllegalArgumentException( "The handler must not be null." );
+		}
+
+		XMLStreamReader reader = null;
+		try {
+			reader = INPUT_FACTORY.createXMLStreamReader( mapping );
+			return new MappingParser( reader, beanFilter, includeConstraintDefinitions, beanIndex, handler )
+					.parseMappings();
+		}
+		catch ( XMLStreamException e ) {
+			throw new ValidationException( "Unable to read constraint mapping.", e );
+		}
+		finally {
+			if ( reader != null ) {
+				try {
+					reader.close();
+				}
+				catch ( XMLStreamException e ) {
+					// ignore, the stream itself is closed by the caller
+				}
+			}
+		}
+	}
+
+	private static XMLInputFactory createInputFactory() {
+		XMLInputFactory factory = XMLInputFactory.newInstance();
+		factory.setProperty( XMLInputFactory.SUPPORT_DTD, false );
+		factory.setProperty( XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false );
+		factory.setProperty( XMLInputFactory.IS_COALESCING, true );
+		return factory;
+	}
+
+	/**
+	 * Recursive descent parser for the mapping schema; each {@code parseXyz()} method is
+	 * invoked with the reader positioned on the start tag of the element and returns with
+	 * the reader positioned on its end tag.
+	 */
+	private static class MappingParser {
+
+		private final XMLStreamReader reader;
+		private final Predicate<String> beanFilter;
+		private final boolean includeConstraintDefinitions;
+		private final ConstraintMappingHandler handler;
+		private final int beanIndex;
+		private int beanCount;
+
+		/**
+		 * @param beanIndex the index of the only bean mapping to read, or {@code -1} to read
+		 *        all bean mappings accepted by the filter
+		 */
+		private MappingParser(XMLStreamReader reader, Predicate<String> beanFilter, boolean includeConstraintDefinitions,
+				int beanIndex, ConstraintMappingHandler handler) {
+			this.reader = reader;
+			this.beanFilter = beanFilter;
+			this.includeConstraintDefinitions = includeConstraintDefinitions;
+			this.beanIndex = beanIndex;
+			this.handler = handler;
+		}
+
+		/**
+		 * Returns {@code false} if a single bean mapping is to be read, but the mapping
+		 * does not declare it or its name is not accepted by the filter.
+		 */
+		private boolean parseMappings() throws XMLStreamException {
+			reader.nextTag();
+			expect( "constraint-mappings" );
+
+			handler.beginMappings( attribute( "version" ) );
+			while ( nextChild() ) {
+				switch ( reader.getLocalName() ) {
+					case "default-package":
+						handler.defaultPackage( text() );
+						break;
+					case "bean":
+						String className = requiredAttribute( "class" );
+						if ( beanIndex < 0 ) {
+							if ( beanFilter.test( className ) ) {
+								parseBean( className );
+							}
+							else {
+								skipElement();
+							}
+						}
+						else if ( beanCount++ < beanIndex ) {
+							skipElement();
+						}
+						else if ( beanFilter.test( className ) ) {
+							parseBean( className );
+							handler.endMappings();
+							return true;
+						}
+						else {
+							return false;
+						}
+						break;
+					case "constraint-definition":
+						if ( includeConstraintDefinitions ) {
+							parseConstraintDefinition();
+						}
+						else {
+							skipElement();
+						}
+						break;
+					default:
+						throw unexpectedElement();
+				}
+			}
+			handler.endMappings();
+			return beanIndex < 0;
+		}
+
+		private void parseBean(String className) throws XMLStreamException {
+			Boolean ignoreAnnotations = booleanAttribute( "ignore-annotations" );
+
+			handler.beginBean( className, ignoreAnnotations != null ? ignoreAnnotations : true );
+			while ( nextChild() ) {
+				switch ( reader.getLocalName() ) {
+					case "class":
+						parseClass();
+						break;
+					case "field":
+						handler.beginField( requiredAttribute( "name" ), booleanAttribute( "ignore-annotations" ) );
+						parseCascadable();
+						handler.end();
+						break;
+					case "getter":
+						handler.beginGetter( requiredAttribute( "name" ), booleanAttribute( "ignore-annotations" ) );
+						parseCascadable();
+						handler.end();
+						break;
+					case "constructor":
+						handler.beginConstructor( booleanAttribute( "ignore-annotations" ) );
+						parseExecutable();
+						handler.end();
+						break;
+					case "method":
+						handler.beginMethod( requiredAttribute( "name" ), booleanAttribute( "ignore-annotations" ) );
+						parseExecutable();
+						handler.end();
+						break;
+					default:
+						throw unexpectedElement();
+				}
+			}
+			handler.endBean();
+		}
+
+		private void parseClass() throws XMLStreamException {
+			handler.beginClass( booleanAttribute( "ignore-annotations" ) );
+			while ( nextChild() ) {
+				switch ( reader.getLocalName() ) {
+					case "group-sequence":
+						handler.groupSequence( values() );
+						break;
+					case "constraint":
+						parseConstraint();
+						break;
+					default:
+						throw unexpectedElement();
+				}
+			}
+			handler.end();
+		}
+
+		private void parseExecutable() throws XMLStreamException {
+			while ( nextChild() ) {
+				switch ( reader.getLocalName() ) {
+					case "parameter":
+						handler.beginParameter( requiredAttribute( "type" ), booleanAttribute( "ignore-annotations" ) );
+						parseCascadable();
+						handler.end();
+						break;
+					case "cross-parameter":
+						handler.beginCrossParameter( booleanAttribute( "ignore-annotations" ) );
+						parseCascadable();
+						handler.end();
+						break;
+					case "return-value":
+						handler.beginReturnValue( booleanAttribute( "ignore-annotations" ) );
+						parseCascadable();
+						handler.end();
+						break;
+					default:
+						throw unexpectedElement();
+				}
+			}
+		}
+
+		/**
+		 * Parses the contents of fields, getters, parameters, return values and container
+		 * element types; also used for cross-parameters, which only allow constraints.
+		 */
+		private void parseCascadable() throws XMLStreamException {
+			while ( nextChild() ) {
+				switch ( reader.getLocalName() ) {
+					case "valid":
+						text();
+						handler.valid();
+						break;
+					case "convert-group":
+						handler.convertGroup( requiredAttribute( "from" ), requiredAttribute( "to" ) );
+						expectNoChildren();
+						break;
+					case "container-element-type":
+						String typeArgumentIndex = attribute( "type-argument-index" );
+						handler.beginContainerElementType( typeArgumentIndex != null ? parseInt( typeArgumentIndex ) : null );
+						parseCascadable();
+						handler.end();
+						break;
+					case "constraint":
+						parseConstraint();
+						break;
+					default:
+						throw unexpectedElement();
+				}
+			}
+		}
+
+		private void parseConstraint() throws XMLStreamException {
+			String annotation = requiredAttribute( "annotation" );
+			String message = null;
+			List<String> groups = Collections.emptyList();
+			List<String> payload = Collections.emptyList();
+			Map<String, Object> elements = new LinkedHashMap<>();
+
+			while ( nextChild() ) {
+				switch ( reader.getLocalName() ) {
+					case "message":
+						message = reader.getElementText();
+						break;
+					case "groups":
+						groups = values();
+						break;
+					case "payload":
+						payload = values();
+						break;
+					case "element":
+						elements.put( requiredAttribute( "name" ), parseElementValue() );
+						break;
+					default:
+						throw unexpectedElement();
+				}
+			}
+
+			handler.constraint( new MappedConstraint(
+					annotation,
+					message,
+					groups,
+					payload,
+					Collections.unmodifiableMap( elements )
+			) );
+		}
+
+		private Object parseElementValue() throws XMLStreamException {
+			StringBuilder text = new StringBuilder();
+			List<String> values = new ArrayList<>();
+			List<Map<String, Object>> annotations = new ArrayList<>();
+
+			while ( true ) {
+				int event = reader.next();
+				if ( event == XMLStreamConstants.CHARACTERS || event == XMLStreamConstants.CDATA ) {
+					text.append( reader.getText() );
+				}
+				else if ( event == XMLStreamConstants.START_ELEMENT ) {
+					if ( "value".equals( reader.getLocalName() ) ) {
+						values.add( text() );
+					}
+					else if ( "annotation".equals( reader.getLocalName() ) ) {
+						annotations.add( parseAnnotation() );
+					}
+					else {
+						throw unexpectedElement();
+					}
+				}
+				else if ( event == XMLStreamConstants.END_ELEMENT ) {
+					break;
+				}
+			}
+
+			if ( !annotations.isEmpty() ) {
+				return Collections.unmodifiableList( annotations );
+			}
+			if ( !values.isEmpty() ) {
+				return Collections.unmodifiableList( values );
+			}
+			return text.toString().trim();
+		}
+
+		private Map<String, Object> parseAnnotation() throws XMLStreamException {
+			Map<String, Object> elements = new LinkedHashMap<>();
+			while ( nextChild() ) {
+				expect( "element" );
+				elements.put( requiredAttribute( "name" ), parseElementValue() );
+			}
+			return Collections.unmodifiableMap( elements );
+		}
+
+		private void parseConstraintDefinition() throws XMLStreamException {
+			String annotation = requiredAttribute( "annotation" );
+			Boolean includeExistingValidators = null;
+			List<String> validatedBy = Collections.emptyList();
+
+			while ( nextChild() ) {
+				expect( "validated-by" );
+				includeExistingValidators = booleanAttribute( "include-existing-validators" );
+				validatedBy = values();
+			}
+
+			handler.constraintDefinition( annotation, includeExistingValidators, validatedBy );
+		}
+
+		/**
+		 * Returns the texts of the {@code value} children of the current element.
+		 */
+		private List<String> values() throws XMLStreamException {
+			List<String> values = new ArrayList<>();
+			while ( nextChild() ) {
+				expect( "value" );
+				values.add( text() );
+			}
+			return Collections.unmodifiableList( values );
+		}
+
+		/**
+		 * Advances to the next child element of the current element. Returns {@code false}
+		 * if the end tag of the current element has been reached instead.
+		 */
+		private boolean nextChild() throws XMLStreamException {
+			return reader.nextTag() == XMLStreamConstants.START_ELEMENT;
+		}
+
+		/**
+		 * Advances to the end tag of the current element, ignoring its contents.
+		 */
+		private void skipElement() throws XMLStreamException {
+			int depth = 1;
+			while ( depth > 0 ) {
+				int event = reader.next();
+				if ( event == XMLStreamConstants.START_ELEMENT ) {
+					depth++;
+				}
+				else if ( event == XMLStreamConstants.END_ELEMENT ) {
+					depth--;
+				}
+			}
+		}
+
+		private void expectNoChildren() throws XMLStreamException {
+			if ( nextChild() ) {
+				throw unexpectedElement();
+			}
+		}
+
+		private String text() throws XMLStreamException {
+			return reader.getElementText().trim();
+		}
+
+		private String attribute(String name) {
+			String value = reader.getAttributeValue( null, name );
+			return value != null ? value.trim() : null;
+		}
+
+		private String requiredAttribute(String name) {
+			String value = attribute( name );
+			if ( value == null ) {
+				throw new ValidationException( "Missing attribute " + name + " of element " + reader.getLocalName()
+						+ location() );
+			}
+			return value;
+		}
+
+		private Boolean booleanAttribute(String name) {
+			String value = attribute( name );
+			if ( value == null ) {
+				return null;
+			}
+			if ( "true".equals( value ) || "1".equals( value ) ) {
+				return Boolean.TRUE;
+			}
+			if ( "false".equals( value ) || "0".equals( value ) ) {
+				return Boolean.FALSE;
+			}
+			throw new ValidationException( "Invalid boolean value " + value + " of attribute " + name + location() );
+		}
+
+		private Integer parseInt(String value) {
+			try {
+				return Integer.valueOf( value );
+			}
+			catch ( NumberFormatException e ) {
+				throw new ValidationException( "Invalid integer value " + value + location(), e );
+			}
+		}
+
+		private void expect(String localName) {
+			if ( !localName.equals( reader.getLocalName() ) ) {
+				throw unexpectedElement();
+			}
+		}
+
+		private ValidationException unexpectedElement() {
+			return new ValidationException( "Unexpected element " + reader.getLocalName() + location() );
+		}
+
+		private String location() {
+			return " in constraint mapping at line " + reader.getLocation().getLineNumber() + ".";
+		}
+	}
+}
@@ -0,0 +1,542 @@
+/*
+ * Bean Validation API
+ *
+ * License: Apache License, Version 2.0
+ * See the license.txt file in the root directory or <http://www.apache.org/licenses/LICENSE-2.0>.
+ */
+package javax.validation.spi;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Array;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.validation.Configuration;
+import javax.validation.ValidationException;
+import javax.validation.Validator;
+import javax.validation.metadata.BeanDescriptor;
+import javax.validation.metadata.CascadableDescriptor;
+import javax.validation.metadata.ConstraintDescriptor;
+import javax.validation.metadata.ContainerDescriptor;
+import javax.validation.metadata.ContainerElementTypeDescriptor;
+import javax.validation.metadata.ElementDescriptor;
+import javax.validation.metadata.GroupConversionDescriptor;
+import javax.validation.metadata.PropertyDescriptor;
+
+/**
+ * Reads and writes constraint metadata snapshots, a compact binary representation of
+ * {@link BeanDescriptor} trees.
+ * <p>
+ * A snapshot is written once, e.g. at build time, from the bean descriptors obtained via
+ * {@link Validator#getConstraintsForClass(Class)}. It comprises the class-level constraints
+ * of the bean types as well as the constraints, cascades and group conversions of their
+ * properties and container element types. Constraints are represented by their annotation
+ * type and attributes, which may be of any type allowed for annotation members except
+ * annotations. Constraints of executables are not comprised.
+ * <p>
+ * Snapshots are passed to the provider at bootstrap via
+ * {@link Configuration#addMetadataSnapshot(ByteBuffer)}, e.g. after mapping them into
+ * memory via {@link #map(Path)}, and read by the provider via
+ * {@link #read(ByteBuffer, ClassLoader, ConstraintMetadataVisitor)}, which reports the
+ * metadata to a {@link ConstraintMetadataVisitor}, property by property.
+ * <p>
+ * A constraint is recorded by its annotation type and attributes only. The other
+ * properties of its {@link ConstraintDescriptor} are not part of the snapshot and need to
+ * be derived from these by the provider: the composing constraints and
+ * {@link ConstraintDescriptor#isReportAsSingleViolation()} from the annotation type,
+ * {@link ConstraintDescriptor#getValidationAppliesTo()} from the
+ * {@code validationAppliesTo} attribute and {@link ConstraintDescriptor#getValueUnwrapping()}
+ * from the {@code payload} attribute.
+ *
+ * @since 2.0
+ */
+public final class ConstraintMetadataSnapshot {
+
+	private static final int MAGIC = 0x42564D53;
+	private static final byte VERSION = 1;
+
+	private static final byte NULL = 0;
+	private static final byte STRING = 1;
+	private static final byte BOOLEAN = 2;
+	private static final byte BYTE = 3;
+	private static final byte SHORT = 4;
+	private static final byte CHAR = 5;
+	private static final byte INT = 6;
+	private static final byte LONG = 7;
+	private static final byte FLOAT = 8;
+	private static final byte DOUBLE = 9;
+	private static final byte CLASS = 10;
+	private static final byte ENUM = 11;
+	private static final byte ARRAY = 12;
+
+	/**
+	 * The maximum nesting depth of container elements, bounding the recursion when reading
+	 * malformed snapshots.
+	 */
+	private static final int MAX_CONTAINER_ELEMENT_DEPTH = 64;
+
+	private static final Map<String, Class<?>> PRIMITIVE_TYPES;
+
+	static {
+		Map<String, Class<?>> primitiveTypes = new HashMap<>();
+		for ( Class<?> primitiveType : new Class<?>[] { boolean.class, byte.class, short.class, char.class, int.class,
+				long.class, float.class, double.class, void.class } ) {
+			primitiveTypes.put( primitiveType.getName(), primitiveType );
+		}
+		PRIMITIVE_TYPES = Collections.unmodifiableMap( primitiveTypes );
+	}
+
+	private ConstraintMetadataSnapshot() {
+	}
+
+	/**
+	 * Writes a snapshot of the given bean descriptors to the given stream. The stream is
+	 * not closed.
+	 *
+	 * @param beanDescriptors the descriptors of the bean types to write
+	 * @param out the stream to write to
+	 * @throws IOException if writing to the stream fails
+	 * @throws IllegalArgumentException if {@code beanDescriptors} or {@code out} is
+	 *         {@code null}
+	 * @throws ValidationException if a constraint has an attribute of an unsupported type
+	 */
+	public static void write(Collection<? extends BeanDescriptor> beanDescriptors, OutputStream out)
+			throws IOException {
+		if ( beanDescriptors == null ) {
+			throw new IllegalArgumentException( "The bean descriptors must not be null." );
+		}
+		if ( out == null ) {
+			throw new IllegalArgumentException( "The output stream must not be null." );
+		}
+
+		SnapshotWriter writer = new SnapshotWriter( new DataOutputStream( new BufferedOutputStream( out ) ) );
+		writer.writeSnapshot( beanDescriptors );
+	}
+
+	/**
+	 * Reads the given snapshot and reports the metadata of each bean type it contains to
+	 * the given visitor. The position of the given buffer is not altered, so the same buffer
+	 * may be read several times, also concurrently.
+	 *
+	 * @param snapshot the snapshot to read
+	 * @param classLoader the class loader used to load the bean types, annotation types
+	 *        and class-typed attribute values referenced by the snapshot
+	 * @param visitor the visitor to report the metadata to
+	 * @throws IllegalArgumentException if any of the parameters is {@code null}
+	 * @throws ValidationException if the snapshot is malformed or references types
+	 *         which cannot be loaded
+	 */
+	public static void read(ByteBuffer snapshot, ClassLoader classLoader, ConstraintMetadataVisitor visitor) {
+		if ( snapshot == null ) {
+			throw new IllegalArgumentException( "The snapshot must not be null." );
+		}
+		if ( classLoader == null ) {
+			throw new IllegalArgumentException( "The class loader must not be null." );
+		}
+		if ( visitor == null ) {
+			throw new IllegalArgumentException( "The visitor must not be null." );
+		}
+
+		try {
+			new SnapshotReader( snapshot.duplicate(), classLoader, visitor ).readSnapshot();
+		}
+		catch ( BufferUnderflowException e ) {
+			throw new ValidationException( "Unexpected end of constraint metadata snapshot.", e );
+		}
+	}
+
+	/**
+	 * Maps the given snapshot file into memory.
+	 *
+	 * @param file the snapshot file
+	 * @return a read-only buffer with the contents of the file
+	 * @throws IOException if the file cannot be opened or mapped
+	 */
+	public static ByteBuffer map(Path file) throws IOException {
+		try ( FileChannel channel = FileChannel.open( file, StandardOpenOption.READ ) ) {
+			return channel.map( FileChannel.MapMode.READ_ONLY, 0, channel.size() );
+		}
+	}
+
+	/**
+	 * Strings such as class names and messages are written once; subsequent occurrences
+	 * refer to the first one by index.
+	 */
+	private static class SnapshotWriter {
+
+		private final DataOutputStream out;
+		private final Map<String, Integer> stringIndexes = new HashMap<>();
+
+		private SnapshotWriter(DataOutputStream out) {
+			this.out = out;
+		}
+
+		private void writeSnapshot(Collection<? extends BeanDescriptor> beanDescriptors) throws IOException {
+			out.writeInt( MAGIC );
+			out.writeByte( VERSION );
+			writeVarInt( beanDescriptors.size() );
+
+			for ( BeanDescriptor beanDescriptor : beanDescriptors ) {
+				writeString( beanDescriptor.getElementClass().getName() );
+				writeConstraints( beanDescriptor );
+
+				List<PropertyDescriptor> properties = new ArrayList<>( beanDescriptor.getConstrainedProperties() );
+				properties.sort( Comparator.comparing( PropertyDescriptor::getPropertyName ) );
+				writeVarInt( properties.size() );
+				for ( PropertyDescriptor property : properties ) {
+					writeString( property.getPropertyName() );
+					writeContainer( property );
+				}
+			}
+
+			out.flush();
+		}
+
+		private <D extends ElementDescriptor & CascadableDescriptor & ContainerDescriptor> void writeContainer(D element)
+				throws IOException {
+			writeConstraints( element );
+			out.writeBoolean( element.isCascaded() );
+
+			writeVarInt( element.getGroupConversions().size() );
+			for ( GroupConversionDescriptor groupConversion : element.getGroupConversions() ) {
+				writeString( groupConversion.getFrom().getName() );
+				writeString( groupConversion.getTo().getName() );
+			}
+
+			List<ContainerElementTypeDescriptor> containerElements = new ArrayList<>(
+					element.getConstrainedContainerElementTypes()
+			);
+			containerElements.sort( Comparator.comparing( e -> e.getTypeArgumentIndex() != null ? e.getTypeArgumentIndex() : -1 ) );
+			writeVarInt( containerElements.size() );
+			for ( ContainerElementTypeDescriptor containerElement : containerElements ) {
+				writeString( containerElement.getContainerClass().getName() );
+				writeVarInt( containerElement.getTypeArgumentIndex() != null ? containerElement.getTypeArgumentIndex() + 1 : 0 );
+				writeContainer( containerElement );
+			}
+		}
+
+		private void writeConstraints(ElementDescriptor element) throws IOException {
+			writeVarInt( element.getConstraintDescriptors().size() );
+			for ( ConstraintDescriptor<?> constraint : element.getConstraintDescriptors() ) {
+				writeString( constraint.getAnnotation().annotationType().getName() );
+
+				Map<String, Object> attributes = constraint.getAttributes();
+				writeVarInt( attributes.size() );
+				for ( Map.Entry<String, Object> attribute : attributes.entrySet() ) {
+					writeString( attribute.getKey() );
+					writeValue( attribute.getValue() );
+				}
+			}
+		}
+
+		private void writeValue(Object value) throws IOException {
+			if ( value == null ) {
+				out.writeByte( NULL );
+			}
+			else if ( value instanceof String ) {
+				out.writeByte( STRING );
+				writeString( (String) value );
+			}
+			else if ( value instanceof Boolean ) {
+				out.writeByte( BOOLEAN );
+				out.writeBoolean( (Boolean) value );
+			}
+			else if ( value instanceof Byte ) {
+				out.writeByte( BYTE );
+				out.writeByte( (Byte) value );
+			}
+			else if ( value instanceof Short ) {
+				out.writeByte( SHORT );
+				out.writeShort( (Short) value );
+			}
+			else if ( value instanceof Character ) {
+				out.writeByte( CHAR );
+				out.writeChar( (Character) value );
+			}
+			else if ( value instanceof Integer ) {
+				out.writeByte( INT );
+				out.writeInt( (Integer) value );
+			}
+			else if ( value instanceof Long ) {
+				out.writeByte( LONG );
+				out.writeLong( (Long) value );
+			}
+			else if ( value instanceof Float ) {
+				out.writeByte( FLOAT );
+				out.writeFloat( (Float) value );
+			}
+			else if ( value instanceof Double ) {
+				out.writeByte( DOUBLE );
+				out.writeDouble( (Double) value );
+			}
+			else if ( value instanceof Class ) {
+				out.writeByte( CLASS );
+				writeString( ( (Class<?>) value ).getName() );
+			}
+			else if ( value instanceof Enum ) {
+				out.writeByte( ENUM );
+				writeString( ( (Enum<?>) value ).getDeclaringClass().getName() );
+				writeString( ( (Enum<?>) value ).name() );
+			}
+			else if ( value.getClass().isArray() ) {
+				out.writeByte( ARRAY );
+				writeString( value.getClass().getComponentType().getName() );
+				int length = Array.getLength( value );
+				writeVarInt( length );
+				for ( int i = 0; i < length; i++ ) {
+					writeValue( Array.get( value, i ) );
+				}
+			}
+			else {
+				throw new ValidationException( "Constraint attribute values of type " + value.getClass().getName()
+						+ " are not supported in constraint metadata snapshots." );
+			}
+		}
+
+		private void writeString(String value) throws IOException {
+			Integer index = stringIndexes.get( value );
+			if ( index != null ) {
+				writeVarInt( index + 1 );
+				return;
+			}
+
+			stringIndexes.put( value, stringIndexes.size() );
+			writeVarInt( 0 );
+			byte[] bytes = value.getBytes( StandardCharsets.UTF_8 );
+			writeVarInt( bytes.length );
+			out.write( bytes );
+		}
+
+		private void writeVarInt(int value) throws IOException {
+			while ( ( value & ~0x7F ) != 0 ) {
+				out.writeByte( ( value & 0x7F ) | 0x80 );
+				value >>>= 7;
+			}
+			out.writeByte( value );
+		}
+	}
+
+	private static class SnapshotReader {
+
+		private final ByteBuffer in;
+		private final ClassLoader classLoader;
+		private final ConstraintMetadataVisitor visitor;
+		private final List<String> strings = new ArrayList<>();
+
+		private SnapshotReader(ByteBuffer in, ClassLoader classLoader, ConstraintMetadataVisitor visitor) {
+			this.in = in;
+			this.classLoader = classLoader;
+			this.visitor = visitor;
+		}
+
+		private void readSnapshot() {
+			if ( in.getInt() != MAGIC ) {
+				throw new ValidationException( "Not a constraint metadata snapshot." );
+			}
+			byte version = in.get();
+			if ( version != VERSION ) {
+				throw new ValidationException( "Unsupported constraint metadata snapshot version: " + version );
+			}
+
+			int beanCount = readLength();
+			for ( int i = 0; i < beanCount; i++ ) {
+				visitor.beginBean( loadClass( readString() ) );
+				readConstraints();
+
+				int propertyCount = readLength();
+				for ( int j = 0; j < propertyCount; j++ ) {
+					visitor.beginProperty( readString() );
+					readContainer( 0 );
+					visitor.end();
+				}
+
+				visitor.endBean();
+			}
+		}
+
+		private void readContainer(int depth) {
+			if ( depth > MAX_CONTAINER_ELEMENT_DEPTH ) {
+				throw new ValidationException( "Container elements nested too deeply in constraint metadata snapshot." );
+			}
+
+			readConstraints();
+
+			if ( in.get() != 0 ) {
+				visitor.cascaded();
+			}
+
+			int groupConversionCount = readLength();
+			for ( int i = 0; i < groupConversionCount; i++ ) {
+				visitor.groupConversion( loadClass( readString() ), loadClass( readString() ) );
+			}
+
+			int containerElementCount = readLength();
+			for ( int i = 0; i < containerElementCount; i++ ) {
+				visitor.beginContainerElement( loadClass( readString() ), readVarInt() - 1 );
+				readContainer( depth + 1 );
+				visitor.end();
+			}
+		}
+
+		private void readConstraints() {
+			int constraintCount = readLength();
+			for ( int i = 0; i < constraintCount; i++ ) {
+				Class<?> annotationType = loadClass( readString() );
+				if ( !annotationType.isAnnotation() ) {
+					throw new ValidationException( annotationType.getName() + " is not an annotation type." );
+				}
+
+				int attributeCount = readLength();
+				Map<String, Object> attributes = new LinkedHashMap<>();
+				for ( int j = 0; j < attributeCount; j++ ) {
+					attributes.put( readString(), readValue( false ) );
+				}
+
+				visitor.constraint( annotationType.asSubclass( Annotation.class ), Collections.unmodifiableMap( attributes ) );
+			}
+		}
+
+		/**
+		 * Reads an attribute value or an element of an array-typed attribute value. As
+		 * annotation members can't be of nested array types, array elements which are arrays
+		 * themselves are rejected.
+		 */
+		@SuppressWarnings({ "unchecked", "rawtypes" })
+		private Object readValue(boolean arrayElement) {
+			byte tag = in.get();
+			if ( arrayElement && tag == ARRAY ) {
+				throw new ValidationException( "Nested array in constraint metadata snapshot." );
+			}
+			switch ( tag ) {
+				case NULL:
+					return null;
+				case STRING:
+					return readString();
+				case BOOLEAN:
+					return in.get() != 0;
+				case BYTE:
+					return in.get();
+				case SHORT:
+					return in.getShort();
+				case CHAR:
+					return in.getChar();
+				case INT:
+					return in.getInt();
+				case LONG:
+					return in.getLong();
+				case FLOAT:
+					return in.getFloat();
+				case DOUBLE:
+					return in.getDouble();
+				case CLASS:
+					return loadClass( readString() );
+				case ENUM:
+					Class enumType = loadClass( readString() );
+					if ( !enumType.isEnum() ) {
+						throw new ValidationException( enumType.getName() + " is not an enum type." );
+					}
+					String name = readString();
+					try {
+						return Enum.valueOf( enumType, name );
+					}
+					catch ( IllegalArgumentException e ) {
+						throw new ValidationException( "Unknown constant " + name + " of enum type " + enumType.getName()
+								+ " in constraint metadata snapshot.", e );
+					}
+				case ARRAY:
+					Class<?> componentType = loadClass( readString() );
+					if ( componentType.isArray() || componentType == void.class ) {
+						throw new ValidationException( "Invalid array component type in constraint metadata snapshot: "
+								+ componentType.getName() );
+					}
+					int length = readLength();
+					Object array = Array.newInstance( componentType, length );
+					for ( int i = 0; i < length; i++ ) {
+						Object element = readValue( true );
+						try {
+							Array.set( array, i, element );
+						}
+						catch ( IllegalArgumentException e ) {
+							throw new ValidationException( "Invalid element of array of type " + componentType.getName()
+									+ " in constraint metadata snapshot.", e );
+						}
+					}
+					return array;
+				default:
+					throw new ValidationException( "Unknown value tag in constraint metadata snapshot: " + tag );
+			}
+		}
+
+		private String readString() {
+			int reference = readVarInt();
+			if ( reference > 0 ) {
+				if ( reference > strings.size() ) {
+					throw new ValidationException( "Invalid string reference in constraint metadata snapshot: " + reference );
+				}
+				return strings.get( reference - 1 );
+			}
+
+			byte[] bytes = new byte[readLength()];
+			in.get( bytes );
+			String value = new String( bytes, StandardCharsets.UTF_8 );
+			strings.add( value );
+			return value;
+		}
+
+		/**
+		 * Reads the length of a string or the number of elements of a sequence. As each
+		 * byte or element takes at least one byte, it can't exceed the remaining bytes.
+		 */
+		private int readLength() {
+			int length = readVarInt();
+			if ( length < 0 || length > in.remaining() ) {
+				throw new ValidationException( "Invalid length in constraint metadata snapshot: "
+						+ Integer.toUnsignedString( length ) );
+			}
+			return length;
+		}
+
+		private int readVarInt() {
+			int value = 0;
+			for ( int shift = 0; shift < 32; shift += 7 ) {
+				byte b = in.get();
+				value |= ( b & 0x7F ) << shift;
+				if ( ( b & 0x80 ) == 0 ) {
+					return value;
+				}
+			}
+			throw new ValidationException( "Malformed constraint metadata snapshot." );
+		}
+
+		private Class<?> loadClass(String className) {
+			Class<?> primitiveType = PRIMITIVE_TYPES.get( className );
+			if ( primitiveType != null ) {
+				return primitiveType;
+			}
+
+			try {
+				return Class.forName( className, false, classLoader );
+			}
+			catch ( ClassNotFoundException | LinkageError e ) {
+				throw new ValidationException( "Unable to load class " + className
+						+ " referenced by constraint metadata snapshot.", e );
+			}
+		}
+	}
+}
@@ -0,0 +1,128 @@
+/*
+ * Bean Validation API
+ *
+ * License: Apache License, Version 2.0
+ * See the license.txt file in the root directory or <http://www.apache.org/licenses/LICENSE-2.0>.
+ */
+package javax.validation.spi;
+
+import java.lang.annotation.Annotation;
+import java.util.Map;
+
+import javax.validation.Valid;
+import javax.validation.groups.ConvertGroup;
+
+/**
+ * Receives the constraint metadata of a bean type from a {@link PrecompiledBeanMetadata}
+ * or a {@link ConstraintMetadataSnapshot}.
+ * <p>
+ * The events for one bean type are reported in the following order:
+ * <pre>
+ * beginBean
+ *     (constraint)*                                        class-level constraints
+ *     ( (beginField | beginGetter | beginProperty)
+ *         (constraint | cascaded | groupConversion)*
+ *         (containerElement)*
+ *       end )*
+ * endBean
+ * </pre>
+ * where {@code containerElement} is
+ * <pre>
+ * beginContainerElement
+ *     (constraint | cascaded | groupConversion)*
+ *     (containerElement)*
+ * end
+ * </pre>
+ * All methods do nothing by default.
+ *
+ * @since 2.0
+ */
+public interface ConstraintMetadataVisitor {
+
+	/**
+	 * Reports the start of the metadata of the given bean type.
+	 *
+	 * @param beanClass the bean type
+	 */
+	default void beginBean(Class<?> beanClass) {
+	}
+
+	/**
+	 * Reports the start of the metadata of a field declared by the current bean type.
+	 *
+	 * @param name the name of the field
+	 */
+	default void beginField(String name) {
+	}
+
+	/**
+	 * Reports the start of the metadata of a getter declared by the current bean type.
+	 *
+	 * @param propertyName the name of the property represented by the getter, e.g.
+	 *        {@code name} for {@code getName()}
+	 */
+	default void beginGetter(String propertyName) {
+	}
+
+	/**
+	 * Reports the start of the metadata of a property of the current bean type, comprising
+	 * the metadata of the field and the getter representing the property. Used by sources
+	 * which don't distinguish fields and getters, such as {@link ConstraintMetadataSnapshot}s.
+	 *
+	 * @param propertyName the name of the property
+	 */
+	default void beginProperty(String propertyName) {
+	}
+
+	/**
+	 * Reports the start of the metadata of a container element (type argument) of the
+	 * current field, getter, property or container element.
+	 *
+	 * @param containerClass the type declaring the type argument, e.g. {@code Map}
+	 * @param typeArgumentIndex the index of the type argument, e.g. 1 for the value type
+	 *        of a {@code Map}, or -1 if the element is not represented by a type
+	 *        argument, e.g. for the elements of an array
+	 */
+	default void beginContainerElement(Class<?> containerClass, int typeArgumentIndex) {
+	}
+
+	/**
+	 * Reports a constraint declared on the current element.
+	 *
+	 * @param annotationType the constraint annotation type
+	 * @param attributes the attributes of the constraint annotation, including those
+	 *        with default values, keyed by attribute name
+	 */
+	default void constraint(Class<? extends Annotation> annotationType, Map<String, Object> attributes) {
+	}
+
+	/**
+	 * Reports that the current element is marked for cascaded validation
+	 * (see {@link Valid}).
+	 */
+	default void cascaded() {
+	}
+
+	/**
+	 * Reports a group conversion declared on the current element
+	 * (see {@link ConvertGroup}).
+	 *
+	 * @param from the source group
+	 * @param to the target group
+	 */
+	default void groupConversion(Class<?> from, Class<?> to) {
+	}
+
+	/**
+	 * Reports the end of the metadata of the current field, getter, property or container
+	 * element.
+	 */
+	default void end() {
+	}
+
+	/**
+	 * Reports the end of the metadata of the current bean type.
+	 */
+	default void endBean() {
+	}
+}
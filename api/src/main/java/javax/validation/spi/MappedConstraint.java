@@ -0,0 +1,90 @@
+/*
+ * Bean Validation API
+ *
+ * License: Apache License, Version 2.0
+ * See the license.txt file in the root directory or <http://www.apache.org/licenses/LICENSE-2.0>.
+ */
+package javax.validation.spi;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A constraint declared in an XML constraint mapping, as reported by
+ * {@link ConstraintMappingReader}.
+ * <p>
+ * All types are given by their names as they appear in the mapping; resolving them,
+ * e.g. against the default package of the mapping, is up to the provider.
+ * <p>
+ * The values of the {@code element}s of the constraint are represented as follows:
+ * <ul>
+ *     <li>a {@code String} for an element given as text, e.g.
+ *     {@code <element name="max">10</element>}</li>
+ *     <li>a {@code List<String>} for an element given as {@code <value>}s</li>
+ *     <li>a {@code List<Map<String, Object>>} for an element given as
+ *     {@code <annotation>}s; each map holds the elements of one annotation, represented
+ *     in the same way</li>
+ * </ul>
+ * Instances are immutable.
+ *
+ * @since 2.0
+ */
+public final class MappedConstraint {
+
+	private final String annotation;
+	private final String message;
+	private final List<String> groups;
+	private final List<String> payload;
+	private final Map<String, Object> elements;
+
+	MappedConstraint(String annotation, String message, List<String> groups, List<String> payload,
+			Map<String, Object> elements) {
+		this.annotation = annotation;
+		this.message = message;
+		this.groups = groups;
+		this.payload = payload;
+		this.elements = elements;
+	}
+
+	/**
+	 * @return the name of the constraint annotation type
+	 */
+	public String getAnnotation() {
+		return annotation;
+	}
+
+	/**
+	 * @return the message of the constraint or {@code null} if not given
+	 */
+	public String getMessage() {
+		return message;
+	}
+
+	/**
+	 * @return the names of the groups of the constraint; never {@code null}
+	 */
+	public List<String> getGroups() {
+		return groups;
+	}
+
+	/**
+	 * @return the names of the payload types of the constraint; never {@code null}
+	 */
+	public List<String> getPayload() {
+		return payload;
+	}
+
+	/**
+	 * @return the elements of the constraint, keyed by name, in the order of their
+	 *         declaration; never {@code null}
+	 */
+	public Map<String, Object> getElements() {
+		return elements;
+	}
+
+	@Override
+	public String toString() {
+		return "MappedConstraint [annotation=" + annotation + ", message=" + message + ", groups=" + groups
+				+ ", payload=" + payload + ", elements=" + elements + "]";
+	}
+}
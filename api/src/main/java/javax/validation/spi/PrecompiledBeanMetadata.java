@@ -0,0 +1,81 @@
+/*
+ * Bean Validation API
+ *
+ * License: Apache License, Version 2.0
+ * See the license.txt file in the root directory or <http://www.apache.org/licenses/LICENSE-2.0>.
+ */
+package javax.validation.spi;
+
+/**
+ * The constraint metadata of a bean type, retrieved ahead of time, e.g. by an annotation
+ * processor at build time.
+ * <p>
+ * Precompiled metadata allows providers to build the metadata of a bean type without
+ * reflecting on its annotations. It comprises the class-level constraints of the bean type
+ * as well as the constraints, cascades and group conversions of the fields and getters
+ * declared by the bean type itself, including those of their container elements. The
+ * elements of super types are described by the metadata of the respective super type.
+ * Constraints of executables are not comprised. Metadata not reporting any element states
+ * that the bean type itself declares no constraint metadata.
+ * <p>
+ * Implementations for a bean type {@code com.acme.Order} are named
+ * {@code com.acme.Order$$ConstraintMetadata} (see {@link #CLASS_NAME_SUFFIX}); they must
+ * have a public no-arg constructor and be thread-safe. Providers obtain them via
+ * {@link ValidationProvider#loadPrecompiledMetadata(Class)}. Metadata which is outdated
+ * with respect to the bean type can be detected via {@link #isCurrent()}.
+ *
+ * @since 2.0
+ */
+public interface PrecompiledBeanMetadata {
+
+	/**
+	 * The suffix appended to the binary name of a bean type to obtain the name of the
+	 * class describing its precompiled metadata.
+	 */
+	String CLASS_NAME_SUFFIX = "$$ConstraintMetadata";
+
+	/**
+	 * @return the bean type described by this metadata
+	 */
+	Class<?> getBeanClass();
+
+	/**
+	 * Returns the fingerprint of the bean type as of the time this metadata was retrieved,
+	 * as computed by {@link BeanClassFingerprint}. If the bean type has been changed since,
+	 * its fingerprint differs (see {@link #isCurrent()}).
+	 * <p>
+	 * The default implementation returns {@code null}, in which case this metadata is
+	 * always considered up to date.
+	 *
+	 * @return the fingerprint of the bean type described by this metadata or {@code null}
+	 */
+	default String getBeanClassFingerprint() {
+		return null;
+	}
+
+	/**
+	 * Whether this metadata is up to date with respect to the bean type, i.e. the bean type
+	 * has not been changed since this metadata was retrieved, e.g. by an incremental build
+	 * which didn't run the annotation processor.
+	 * <p>
+	 * The default implementation compares {@link #getBeanClassFingerprint()} with the
+	 * current fingerprint of the bean type. As computing the latter reflects on the members
+	 * of the bean type, this check is meant for development environments or for verifying
+	 * a build, not for each bootstrap of a production system. Metadata without a fingerprint
+	 * is considered up to date.
+	 *
+	 * @return {@code true} if this metadata describes the current bean type, {@code false}
+	 *         otherwise
+	 */
+	default boolean isCurrent() {
+		String fingerprint = getBeanClassFingerprint();
+		return fingerprint == null || fingerprint.equals( BeanClassFingerprint.of( getBeanClass() ) );
+	}
+
+	/**
+	 * Reports the metadata of the bean type to the given visitor.
+	 *
+	 * @param visitor the visitor to report the metadata to
+	 */
+	void accept(ConstraintMetadataVisitor visitor);
+}
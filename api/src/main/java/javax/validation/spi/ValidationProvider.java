@@ -63,4 +63,56 @@ public interface ValidationProvider<T extends Configuration<T>> {
 	 * @throws ValidationException if the {@code ValidatorFactory} cannot be built
 	 */
 	ValidatorFactory buildValidatorFactory(ConfigurationState configurationState);
+
+	/**
+	 * Returns the precompiled constraint metadata of the given bean type, if present.
+	 * <p>
+	 * Providers may invoke this method when building the metadata of a bean type and
+	 * use the returned metadata instead of reflecting on the annotations of the type.
+	 * <p>
+	 * The default implementation loads the class named after the bean type as described
+	 * in {@link PrecompiledBeanMetadata} from the class loader of the bean type and
+	 * instantiates it. The metadata is not checked for staleness, as that requires
+	 * reflecting on the members of the bean type; providers may do so via
+	 * {@link PrecompiledBeanMetadata#isCurrent()}, e.g. if enabled by a configuration
+	 * property in development environments.
+	 *
+	 * @param beanClass the bean type
+	 * @return the precompiled metadata of the given bean type or {@code null} if there
+	 *         is none
+	 * @throws IllegalArgumentException if {@code beanClass} is {@code null}
+	 * @throws ValidationException if the precompiled metadata class exists but cannot
+	 *         be instantiated or does not implement {@code PrecompiledBeanMetadata}
+	 *
+	 * @since 2.0
+	 */
+	default PrecompiledBeanMetadata loadPrecompiledMetadata(Class<?> beanClass) {
+		if ( beanClass == null ) {
+			throw new IllegalArgumentException( "The bean class must not be null." );
+		}
+
+		String metadataClassName = beanClass.getName() + PrecompiledBeanMetadata.CLASS_NAME_SUFFIX;
+		Class<?> metadataClass;
+		try {
+			metadataClass = Class.forName( metadataClassName, true, beanClass.getClassLoader() );
+		}
+		catch ( ClassNotFoundException e ) {
+			return null;
+		}
+
+		if ( !PrecompiledBeanMetadata.class.isAssignableFrom( metadataClass ) ) {
+			throw new ValidationException( metadataClassName + " does not implement "
+					+ PrecompiledBeanMetadata.class.getName() + "." );
+		}
+
+		PrecompiledBeanMetadata metadata;
+		try {
+			metadata = (PrecompiledBeanMetadata) metadataClass.getConstructor().newInstance();
+		}
+		catch ( ReflectiveOperationException | RuntimeException e ) {
+			throw new ValidationException( "Unable to instantiate precompiled metadata " + metadataClassName + ".", e );
+		}
+
+		return metadata;
+	}
 }
@@ -11,7 +11,9 @@ import java.util.Map;
 import java.util.Optional;
 import java.util.OptionalInt;
 import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
 
+import javax.validation.Configuration;
 import javax.validation.Path;
 
 /**
@@ -39,6 +41,10 @@ import javax.validation.Path;
  *     }
  * }
  * </pre>
+ * <p>
+ * Extractors for large indexed containers supporting random access may instead pass all the
+ * elements at once to {@link ValueReceiver#indexedValues(String, List)}, allowing the Bean
+ * Validation provider to validate them in parallel.
  *
  * @param <T> the container type handled by a specific implementation
  *
@@ -95,6 +101,32 @@ public interface ValueExtractor<T> {
 		 */
 		void indexedValue(String nodeName, int i, Object object);
 
+		/**
+		 * Receives all the values extracted from an indexed object (e.g. a {@link List}) at
+		 * once. The value at position {@code i} of {@code values} is the value at index
+		 * {@code i} in the original object.
+		 * <p>
+		 * Passing all the values at once allows the receiver to split them into index ranges
+		 * and to validate these ranges in parallel if parallel cascaded validation is enabled
+		 * (see {@link Configuration#parallelCascade(ForkJoinPool, int)}). In any case, the
+		 * resulting constraint violations are reported in the order of the element indexes.
+		 * <p>
+		 * The default implementation passes each value to
+		 * {@link #indexedValue(String, int, Object)}.
+		 *
+		 * @param nodeName the name of the node representing the container elements. If not
+		 * {@code null}, a node with that name will be added to the {@link Path}
+		 * @param values the values to validate; must support efficient random access and
+		 * must not be modified by the value extractor afterwards
+		 *
+		 * @since 2.0
+		 */
+		default void indexedValues(String nodeName, List<?> values) {
+			for ( int i = 0; i < values.size(); i++ ) {
+				indexedValue( nodeName, i, values.get( i ) );
+			}
+		}
+
 		/**
 		 * Receives the value extracted from a keyed object (e.g. a {@link Map}).
 		 *
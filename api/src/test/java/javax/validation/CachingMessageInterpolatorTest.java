@@ -0,0 +1,218 @@
+/*
+ * Bean Validation API
+ *
+ * License: Apache License, Version 2.0
+ * See the license.txt file in the root directory or <http://www.apache.org/licenses/LICENSE-2.0>.
+ */
+package javax.validation;
+
+import static org.testng.Assert.assertEquals;
+
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.validation.MessageInterpolator.CompiledMessageTemplate;
+import javax.validation.metadata.ConstraintDescriptor;
+
+import org.testng.annotations.Test;
+
+/**
+ * Tests for {@link CachingMessageInterpolator}.
+ */
+public class CachingMessageInterpolatorTest {
+
+	@Test
+	public void testTemplateIsResolvedOncePerLocale() {
+		CountingMessageInterpolator delegate = new CountingMessageInterpolator();
+		CachingMessageInterpolator interpolator = new CachingMessageInterpolator( delegate );
+
+		assertEquals( interpolator.interpolate( "{foo}", null, Locale.ENGLISH ), "{foo}_en" );
+		assertEquals( interpolator.interpolate( "{foo}", null, Locale.ENGLISH ), "{foo}_en" );
+		assertEquals( interpolator.interpolate( "{foo}", null, Locale.GERMAN ), "{foo}_de" );
+
+		assertEquals( delegate.resolutions.get(), 2 );
+		assertEquals( interpolator.getHitCount(), 1 );
+		assertEquals( interpolator.getMissCount(), 2 );
+		assertEquals( interpolator.size(), 2 );
+	}
+
+	@Test
+	public void testLeastRecentlyUsedEntryIsEvicted() {
+		CountingMessageInterpolator delegate = new CountingMessageInterpolator();
+		CachingMessageInterpolator interpolator = new CachingMessageInterpolator( delegate, 2 );
+
+		interpolator.interpolate( "{foo}", null, Locale.ENGLISH );
+		interpolator.interpolate( "{bar}", null, Locale.ENGLISH );
+		interpolator.interpolate( "{foo}", null, Locale.ENGLISH );
+		interpolator.interpolate( "{baz}", null, Locale.ENGLISH );
+		assertEquals( interpolator.size(), 2 );
+
+		// {foo} was used more recently than {bar}, so the latter got evicted
+		interpolator.interpolate( "{foo}", null, Locale.ENGLISH );
+		assertEquals( delegate.resolutions.get(), 3 );
+		interpolator.interpolate( "{bar}", null, Locale.ENGLISH );
+		assertEquals( delegate.resolutions.get(), 4 );
+	}
+
+	@Test
+	public void testContextIndependentMessagesAreCached() {
+		AtomicInteger interpolations = new AtomicInteger();
+		CachingMessageInterpolator interpolator = new CachingMessageInterpolator( new MessageInterpolator() {
+
+			@Override
+			public String interpolate(String messageTemplate, Context context) {
+				return interpolate( messageTemplate, context, Locale.getDefault() );
+			}
+
+			@Override
+			public String interpolate(String messageTemplate, Context context, Locale locale) {
+				interpolations.incrementAndGet();
+				return messageTemplate + "_" + locale.getLanguage();
+			}
+		} );
+
+		assertEquals( interpolator.interpolate( "{foo}", new ValueContext( 1 ), Locale.ENGLISH ), "{foo}_en" );
+		assertEquals( interpolator.interpolate( "{foo}", new ValueContext( 2 ), Locale.ENGLISH ), "{foo}_en" );
+		assertEquals( interpolator.interpolate( "{foo}", new ValueContext( 3 ), Locale.GERMAN ), "{foo}_de" );
+
+		assertEquals( interpolations.get(), 2 );
+		assertEquals( interpolator.getHitCount(), 1 );
+		assertEquals( interpolator.getMissCount(), 2 );
+	}
+
+	@Test
+	public void testContextDependentMessagesAreNotCached() {
+		AtomicInteger interpolations = new AtomicInteger();
+		CachingMessageInterpolator interpolator = new CachingMessageInterpolator( new MessageInterpolator() {
+
+			@Override
+			public String interpolate(String messageTemplate, Context context) {
+				return interpolate( messageTemplate, context, Locale.getDefault() );
+			}
+
+			@Override
+			public String interpolate(String messageTemplate, Context context, Locale locale) {
+				interpolations.incrementAndGet();
+				return messageTemplate + "_" + context.getValidatedValue();
+			}
+		} );
+
+		assertEquals( interpolator.interpolate( "{foo}", new ValueContext( 1 ), Locale.ENGLISH ), "{foo}_1" );
+		assertEquals( interpolator.interpolate( "{foo}", new ValueContext( 2 ), Locale.ENGLISH ), "{foo}_2" );
+
+		assertEquals( interpolations.get(), 2 );
+		assertEquals( interpolator.getHitCount(), 0 );
+		assertEquals( interpolator.getMissCount(), 2 );
+		assertEquals( interpolator.size(), 1 );
+	}
+
+	@Test
+	public void testBatchOfLeastRecentlyUsedEntriesIsEvicted() {
+		CountingMessageInterpolator delegate = new CountingMessageInterpolator();
+		CachingMessageInterpolator interpolator = new CachingMessageInterpolator( delegate, 32 );
+
+		for ( int i = 0; i < 32; i++ ) {
+			interpolator.interpolate( "{template" + i + "}", null, Locale.ENGLISH );
+		}
+		interpolator.interpolate( "{template0}", null, Locale.ENGLISH );
+		assertEquals( interpolator.size(), 32 );
+
+		// evicts {template1} to {template3}, making room for the next two misses
+		interpolator.interpolate( "{template32}", null, Locale.ENGLISH );
+		assertEquals( interpolator.size(), 30 );
+
+		interpolator.interpolate( "{template0}", null, Locale.ENGLISH );
+		interpolator.interpolate( "{template4}", null, Locale.ENGLISH );
+		assertEquals( delegate.resolutions.get(), 33 );
+		interpolator.interpolate( "{template3}", null, Locale.ENGLISH );
+		assertEquals( delegate.resolutions.get(), 34 );
+	}
+
+	@Test(expectedExceptions = IllegalArgumentException.class)
+	public void testNullDelegateIsRejected() {
+		new CachingMessageInterpolator( null );
+	}
+
+	/**
+	 * "Resolves" templates by appending the language of the locale and counts the resolutions.
+	 */
+	private static class CountingMessageInterpolator implements MessageInterpolator {
+
+		private final AtomicInteger resolutions = new AtomicInteger();
+
+		@Override
+		public String interpolate(String messageTemplate, Context context) {
+			return interpolate( messageTemplate, context, Locale.getDefault() );
+		}
+
+		@Override
+		public String interpolate(String messageTemplate, Context context, Locale locale) {
+			return interpolate( compile( messageTemplate ), context, locale );
+		}
+
+		@Override
+		public String interpolate(CompiledMessageTemplate messageTemplate, Context context, Locale locale) {
+			if ( messageTemplate instanceof ResolvedTemplate ) {
+				return ( (ResolvedTemplate) messageTemplate ).message;
+			}
+			return messageTemplate.getMessageTemplate() + "_" + locale.getLanguage();
+		}
+
+		@Override
+		public CompiledMessageTemplate compile(String messageTemplate) {
+			return new CompiledMessageTemplate() {
+
+				@Override
+				public String getMessageTemplate() {
+					return messageTemplate;
+				}
+
+				@Override
+				public ResolvedTemplate resolve(Locale locale) {
+					resolutions.incrementAndGet();
+					return new ResolvedTemplate( messageTemplate, messageTemplate + "_" + locale.getLanguage() );
+				}
+			};
+		}
+	}
+
+	private static class ValueContext implements MessageInterpolator.Context {
+
+		private final Object validatedValue;
+
+		private ValueContext(Object validatedValue) {
+			this.validatedValue = validatedValue;
+		}
+
+		@Override
+		public ConstraintDescriptor<?> getConstraintDescriptor() {
+			throw new UnsupportedOperationException( "Not implemented" );
+		}
+
+		@Override
+		public Object getValidatedValue() {
+			return validatedValue;
+		}
+
+		@Override
+		public <T> T unwrap(Class<T> type) {
+			throw new ValidationException( "Type " + type.getName() + " not supported for unwrapping." );
+		}
+	}
+
+	private static class ResolvedTemplate implements CompiledMessageTemplate {
+
+		private final String messageTemplate;
+		private final String message;
+
+		private ResolvedTemplate(String messageTemplate, String message) {
+			this.messageTemplate = messageTemplate;
+			this.message = message;
+		}
+
+		@Override
+		public String getMessageTemplate() {
+			return messageTemplate;
+		}
+	}
+}
@@ -0,0 +1,163 @@
+/*
+ * Bean Validation API
+ *
+ * License: Apache License, Version 2.0
+ * See the license.txt file in the root directory or <http://www.apache.org/licenses/LICENSE-2.0>.
+ */
+package javax.validation;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertSame;
+import static org.testng.Assert.assertTrue;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.file.Paths;
+import java.util.concurrent.ForkJoinPool;
+
+import javax.validation.NonRegisteredValidationProvider.NonRegisteredConfiguration;
+import javax.xml.XMLConstants;
+import javax.xml.transform.stream.StreamSource;
+import javax.xml.validation.Schema;
+import javax.xml.validation.SchemaFactory;
+
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+import org.xml.sax.SAXException;
+
+public class ConfigurationTest {
+
+	private static final String CONFIGURATION_SCHEMA = "src/main/xsd/validation-configuration-2.0.xsd";
+
+	private Schema schema;
+
+	@BeforeClass
+	public void loadSchema() throws SAXException {
+		schema = SchemaFactory.newInstance( XMLConstants.W3C_XML_SCHEMA_NS_URI )
+				.newSchema( Paths.get( CONFIGURATION_SCHEMA ).toFile() );
+	}
+
+	@Test
+	public void testMaxViolations() {
+		NonRegisteredConfiguration configuration = configure();
+
+		assertSame( configuration.maxViolations( 3 ), configuration );
+		assertEquals( configuration.getMaxViolations(), Integer.valueOf( 3 ) );
+	}
+
+	@Test
+	public void testFailFastIsEquivalentToMaxViolationsOfOne() {
+		NonRegisteredConfiguration configuration = configure().maxViolations( 3 );
+
+		assertSame( configuration.failFast( true ), configuration );
+		assertEquals( configuration.getMaxViolations(), Integer.valueOf( 1 ) );
+	}
+
+	@Test
+	public void testDisablingFailFastRemovesLimit() {
+		NonRegisteredConfiguration configuration = configure().maxViolations( 3 ).failFast( false );
+
+		assertNull( configuration.getMaxViolations() );
+	}
+
+	@Test(expectedExceptions = IllegalArgumentException.class)
+	public void testZeroMaxViolationsIsRejected() {
+		configure().maxViolations( 0 );
+	}
+
+	@Test(expectedExceptions = IllegalArgumentException.class)
+	public void testNegativeMaxViolationsIsRejected() {
+		configure().maxViolations( -1 );
+	}
+
+	@Test
+	public void testLazyMessageInterpolationIsDisabledByDefault() {
+		assertFalse( configure().isLazyMessageInterpolation() );
+	}
+
+	@Test
+	public void testLazyMessageInterpolation() {
+		NonRegisteredConfiguration configuration = configure();
+
+		assertSame( configuration.lazyMessageInterpolation( true ), configuration );
+		assertTrue( configuration.isLazyMessageInterpolation() );
+
+		configuration.lazyMessageInterpolation( false );
+		assertFalse( configuration.isLazyMessageInterpolation() );
+	}
+
+	@Test
+	public void testParallelCascadeIsDisabledByDefault() {
+		assertNull( configure().getParallelCascadePool() );
+	}
+
+	@Test
+	public void testParallelCascade() {
+		NonRegisteredConfiguration configuration = configure();
+		ForkJoinPool pool = new ForkJoinPool( 2 );
+
+		try {
+			assertSame( configuration.parallelCascade( pool, 1000 ), configuration );
+			assertSame( configuration.getParallelCascadePool(), pool );
+			assertEquals( configuration.getParallelCascadeThreshold(), 1000 );
+		}
+		finally {
+			pool.shutdown();
+		}
+	}
+
+	@Test
+	public void testNullPoolDisablesParallelCascade() {
+		NonRegisteredConfiguration configuration = configure()
+				.parallelCascade( ForkJoinPool.commonPool(), 1000 )
+				.parallelCascade( null, 1000 );
+
+		assertNull( configuration.getParallelCascadePool() );
+	}
+
+	@Test(expectedExceptions = IllegalArgumentException.class)
+	public void testParallelCascadeThresholdLessThanTwoIsRejected() {
+		configure().parallelCascade( ForkJoinPool.commonPool(), 1 );
+	}
+
+	@Test
+	public void testFailFastElementIsValid() throws Exception {
+		validate( "<fail-fast/>" );
+		validate( "<fail-fast enabled=\"false\"/>" );
+		validate( "<fail-fast max-violations=\"3\"/>" );
+	}
+
+	@Test(expectedExceptions = SAXException.class)
+	public void testZeroMaxViolationsIsRejectedBySchema() throws Exception {
+		validate( "<fail-fast max-violations=\"0\"/>" );
+	}
+
+	@Test(expectedExceptions = SAXException.class)
+	public void testNegativeMaxViolationsIsRejectedBySchema() throws Exception {
+		validate( "<fail-fast max-violations=\"-1\"/>" );
+	}
+
+	@Test(expectedExceptions = SAXException.class)
+	public void testNonNumericMaxViolationsIsRejectedBySchema() throws Exception {
+		validate( "<fail-fast max-violations=\"all\"/>" );
+	}
+
+	@Test(expectedExceptions = SAXException.class)
+	public void testFailFastElementAfterConstraintMappingIsRejectedBySchema() throws Exception {
+		validate( "<constraint-mapping>META-INF/constraints.xml</constraint-mapping><fail-fast/>" );
+	}
+
+	private static NonRegisteredConfiguration configure() {
+		return Validation.byProvider( NonRegisteredValidationProvider.class ).configure();
+	}
+
+	private void validate(String elements) throws SAXException, IOException {
+		String configuration = "<validation-config xmlns=\"http://xmlns.jcp.org/xml/ns/validation/configuration\" version=\"2.0\">"
+				+ elements
+				+ "</validation-config>";
+
+		schema.newValidator().validate( new StreamSource( new StringReader( configuration ) ) );
+	}
+}
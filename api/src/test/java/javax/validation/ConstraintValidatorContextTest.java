@@ -0,0 +1,131 @@
+/*
+ * Bean Validation API
+ *
+ * License: Apache License, Version 2.0
+ * See the license.txt file in the root directory or <http://www.apache.org/licenses/LICENSE-2.0>.
+ */
+package javax.validation;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertSame;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import javax.validation.Path.Node;
+
+import org.testng.annotations.Test;
+
+/**
+ * Tests for the default methods of {@link ConstraintValidatorContext}.
+ */
+public class ConstraintValidatorContextTest {
+
+	@Test
+	public void testReportViolation() {
+		RecordingContext context = new RecordingContext();
+
+		assertSame( context.reportViolation( "{foo}" ), context );
+		assertEquals( context.calls, Arrays.asList( "buildConstraintViolationWithTemplate [{foo}]", "addConstraintViolation" ) );
+	}
+
+	@Test
+	public void testReportViolationWithPath() {
+		RecordingContext context = new RecordingContext();
+		Path path = Path.ofKeyed( Path.ofIndexed( Path.of( "lines" ), "product", 17 ), "name", "en" );
+
+		assertSame( context.reportViolation( "{foo}", path ), context );
+		assertEquals(
+				context.calls,
+				Arrays.asList(
+						"buildConstraintViolationWithTemplate [{foo}]",
+						"addPropertyNode [lines]",
+						"addPropertyNode [product]",
+						"inIterable",
+						"atIndex [17]",
+						"addPropertyNode [name]",
+						"inIterable",
+						"atKey [en]",
+						"addConstraintViolation"
+				)
+		);
+	}
+
+	@Test
+	public void testReportViolationWithEmptyPath() {
+		RecordingContext context = new RecordingContext();
+
+		context.reportViolation( "{foo}", Path.of() );
+		assertEquals( context.calls, Arrays.asList( "buildConstraintViolationWithTemplate [{foo}]", "addConstraintViolation" ) );
+	}
+
+	@Test(expectedExceptions = IllegalArgumentException.class)
+	public void testReportViolationWithUnsupportedNodeFails() {
+		Node methodNode = (Node) Proxy.newProxyInstance(
+				Node.class.getClassLoader(),
+				new Class<?>[] { Node.class },
+				(proxy, method, args) -> method.getName().equals( "getKind" ) ? ElementKind.METHOD : null
+		);
+		Path path = () -> Collections.singletonList( methodNode ).iterator();
+
+		new RecordingContext().reportViolation( "{foo}", path );
+	}
+
+	@Test(expectedExceptions = IllegalArgumentException.class)
+	public void testReportViolationWithNullPathFails() {
+		new RecordingContext().reportViolation( "{foo}", null );
+	}
+
+	/**
+	 * A context recording the invocations of its builder API; each builder method
+	 * returns a proxy of its declared return type.
+	 */
+	private static class RecordingContext implements ConstraintValidatorContext {
+
+		private final List<String> calls = new ArrayList<>();
+
+		@Override
+		public ConstraintViolationBuilder buildConstraintViolationWithTemplate(String messageTemplate) {
+			calls.add( "buildConstraintViolationWithTemplate [" + messageTemplate + "]" );
+			return builder( ConstraintViolationBuilder.class );
+		}
+
+		private <T> T builder(Class<T> type) {
+			return type.cast( Proxy.newProxyInstance(
+					type.getClassLoader(),
+					new Class<?>[] { type },
+					(proxy, method, args) -> {
+						calls.add( method.getName() + ( args != null ? " " + Arrays.toString( args ) : "" ) );
+						return method.getReturnType() == ConstraintValidatorContext.class ? this : builder( method.getReturnType() );
+					}
+			) );
+		}
+
+		@Override
+		public void disableDefaultConstraintViolation() {
+		}
+
+		@Override
+		public String getDefaultConstraintMessageTemplate() {
+			return null;
+		}
+
+		@Override
+		public ClockProvider getClockProvider() {
+			return null;
+		}
+
+		@Override
+		public PatternCache getPatternCache() {
+			return null;
+		}
+
+		@Override
+		public <T> T unwrap(Class<T> type) {
+			throw new ValidationException( "Not supported" );
+		}
+	}
+}
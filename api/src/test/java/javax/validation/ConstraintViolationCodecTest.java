@@ -0,0 +1,201 @@
+/*
+ * Bean Validation API
+ *
+ * License: Apache License, Version 2.0
+ * See the license.txt file in the root directory or <http://www.apache.org/licenses/LICENSE-2.0>.
+ */
+package javax.validation;
+
+import static javax.validation.TestConstraintViolation.notNull;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.StreamCorruptedException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import javax.validation.TestConstraintViolation.Order;
+import javax.validation.constraints.NotNull;
+
+import org.testng.annotations.Test;
+
+/**
+ * Tests for {@link ConstraintViolationCodec} and the serialization of
+ * {@link DetachedConstraintViolation} and {@link ConstraintViolationException}.
+ */
+public class ConstraintViolationCodecTest {
+
+	@Test
+	public void testRoundTrip() throws Exception {
+		Path path = ImmutablePath.ROOT
+				.append( ImmutableNode.of( ElementKind.METHOD, "placeOrder", false, null, null, null, null, -1,
+						Arrays.<Class<?>>asList( String.class, int.class ) ) )
+				.append( ImmutableNode.of( ElementKind.PARAMETER, "arg0", false, null, null, null, null, 0, null ) )
+				.append( ImmutableNode.of( ElementKind.CONTAINER_ELEMENT, "<map value>", true, null, "home", Map.class,
+						1, -1, null ) )
+				.append( ImmutableNode.property( "city", false, null, null ) );
+
+		ConstraintViolation<Order> violation = notNull( path, new Object[] { "a", 1 } );
+
+		List<DetachedConstraintViolation<?>> decoded = ConstraintViolationCodec.decode(
+				ConstraintViolationCodec.encode( Collections.singleton( violation ) ),
+				getClass().getClassLoader()
+		);
+
+		assertEquals( decoded.size(), 1 );
+		DetachedConstraintViolation<?> detached = decoded.get( 0 );
+		assertEquals( detached, violation.detach() );
+		assertEquals( detached.getPropertyPath().toString(), path.toString() );
+		assertEquals( detached.getRootBeanClass(), Order.class );
+		assertEquals( detached.getMessage(), "must not be null" );
+		assertEquals( detached.getMessageTemplate(), "{javax.validation.constraints.NotNull.message}" );
+		assertEquals( detached.getConstraintAnnotationType(), NotNull.class );
+		assertEquals( detached.getInvalidValue(), "[a, 1]" );
+		assertNull( detached.getConstraintDescriptor() );
+	}
+
+	@Test
+	public void testUnknownTypesAreDecodedAsNull() {
+		ClassLoader emptyClassLoader = new ClassLoader( null ) {
+		};
+
+		DetachedConstraintViolation<?> detached = ConstraintViolationCodec.decode(
+				ConstraintViolationCodec.encode( Collections.singleton( notNull( Path.of( "customer" ), null ) ) ),
+				emptyClassLoader
+		).get( 0 );
+
+		assertNull( detached.getRootBeanClass() );
+		assertNull( detached.getConstraintAnnotationType() );
+		assertEquals( detached.getPropertyPath(), Path.of( "customer" ) );
+	}
+
+	@Test
+	public void testFailingToStringOfInvalidValueIsEncodedAsPlaceholder() {
+		Object invalidValue = new Object() {
+
+			@Override
+			public String toString() {
+				throw new IllegalStateException( "Not initialized" );
+			}
+		};
+
+		DetachedConstraintViolation<?> detached = ConstraintViolationCodec.decode(
+				ConstraintViolationCodec.encode( Collections.singleton( notNull( Path.of( "customer" ), invalidValue ) ) ),
+				getClass().getClassLoader()
+		).get( 0 );
+
+		assertEquals( detached.getInvalidValue(), "<toString() of " + invalidValue.getClass().getName() + " failed>" );
+	}
+
+	@Test(expectedExceptions = ValidationException.class)
+	public void testDecodingMalformedBytesFails() {
+		ConstraintViolationCodec.decode( new byte[] { 1, 2, 7 }, getClass().getClassLoader() );
+	}
+
+	@Test
+	public void testRepeatedStringsAreWrittenOnce() {
+		ConstraintViolation<Order> violation = notNull( Path.of( "customer" ), null );
+		ConstraintViolation<Order> sameViolation = notNull( Path.of( "customer" ), null );
+
+		byte[] single = ConstraintViolationCodec.encode( Collections.singleton( violation ) );
+		byte[] repeated = ConstraintViolationCodec.encode( Arrays.asList( violation, sameViolation ) );
+
+		// the second violation only refers to the strings of the first one
+		assertTrue( repeated.length < single.length + 10, "Unexpected length " + repeated.length );
+		assertEquals(
+				ConstraintViolationCodec.decode( repeated, getClass().getClassLoader() ),
+				Arrays.asList( violation.detach(), sameViolation.detach() )
+		);
+	}
+
+	@Test(expectedExceptions = EOFException.class)
+	public void testOversizedStringLengthFailsWithoutAllocatingIt() throws Exception {
+		// version 1, one violation, a new string of length Integer.MAX_VALUE, but only 3 bytes
+		byte[] bytes = { 1, 1, 1, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, 0x07, 'a', 'b', 'c' };
+
+		ConstraintViolationCodec.readAll( new DataInputStream( new ByteArrayInputStream( bytes ) ),
+				getClass().getClassLoader() );
+	}
+
+	@Test(expectedExceptions = StreamCorruptedException.class)
+	public void testReferenceToUnknownStringFails() throws Exception {
+		// version 1, one violation, a reference to the fourth string
+		byte[] bytes = { 1, 1, 5 };
+
+		ConstraintViolationCodec.readAll( new DataInputStream( new ByteArrayInputStream( bytes ) ),
+				getClass().getClassLoader() );
+	}
+
+	@Test
+	public void testSerializationOfDetachedViolation() throws Exception {
+		DetachedConstraintViolation<Order> detached = notNull( Path.ofIndexed( Path.of( "lines" ), "quantity", 2 ), 0 )
+				.detach();
+
+		assertEquals( serializeAndDeserialize( detached ), detached );
+	}
+
+	@Test
+	public void testSerializationOfConstraintViolationException() throws Exception {
+		// the violation itself isn't serializable
+		ConstraintViolation<Order> violation = notNull( Path.of( "customer" ), null );
+		ConstraintViolationException exception = new ConstraintViolationException( Collections.singleton( violation ) );
+
+		ConstraintViolationException deserialized = serializeAndDeserialize( exception );
+
+		Set<ConstraintViolation<?>> violations = deserialized.getConstraintViolations();
+		assertEquals( violations, Collections.singleton( violation.detach() ) );
+		assertTrue( violations.iterator().next() instanceof DetachedConstraintViolation );
+		assertEquals( deserialized.getMessage(), "customer: must not be null" );
+	}
+
+	@Test
+	public void testSerializationOfConstraintViolationExceptionWithMessage() throws Exception {
+		ConstraintViolation<Order> violation = notNull( Path.of( "customer" ), null );
+		ConstraintViolationException exception = new ConstraintViolationException(
+				"invalid order",
+				Collections.singleton( violation )
+		);
+
+		ConstraintViolationException deserialized = serializeAndDeserialize( exception );
+
+		assertEquals( deserialized.getConstraintViolations(), Collections.singleton( violation.detach() ) );
+		assertEquals( deserialized.getMessage(), "invalid order" );
+	}
+
+	@Test
+	public void testDeserializationOfLegacyConstraintViolationException() throws Exception {
+		// written by the version of the class serializing its set of violations as field
+		ConstraintViolationException deserialized;
+		try ( ObjectInputStream in = new ObjectInputStream(
+				getClass().getResourceAsStream( "legacy-constraint-violation-exception.ser" ) ) ) {
+			deserialized = (ConstraintViolationException) in.readObject();
+		}
+
+		assertEquals(
+				deserialized.getConstraintViolations(),
+				Collections.singleton( notNull( Path.of( "customer" ), null ).detach() )
+		);
+		assertEquals( deserialized.getMessage(), "customer: must not be null" );
+	}
+
+	@SuppressWarnings("unchecked")
+	private static <T> T serializeAndDeserialize(T object) throws Exception {
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		try ( ObjectOutputStream out = new ObjectOutputStream( bytes ) ) {
+			out.writeObject( object );
+		}
+		try ( ObjectInputStream in = new ObjectInputStream( new ByteArrayInputStream( bytes.toByteArray() ) ) ) {
+			return (T) in.readObject();
+		}
+	}
+}
@@ -0,0 +1,228 @@
+/*
+ * Bean Validation API
+ *
+ * License: Apache License, Version 2.0
+ * See the license.txt file in the root directory or <http://www.apache.org/licenses/LICENSE-2.0>.
+ */
+package javax.validation;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.validation.metadata.ConstraintDescriptor;
+
+import org.testng.annotations.Test;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertSame;
+import static org.testng.Assert.assertTrue;
+import static org.testng.Assert.fail;
+
+/**
+ * Tests for the creation of {@link ConstraintViolationException}.
+ * @author Gunnar Morling
+ */
+public class ConstraintViolationExceptionTest {
+
+	@Test
+	public void testCreationOfConstraintViolationException() {
+
+		Set<ConstraintViolation<ConstraintViolationExceptionTest>> constraintViolations = new HashSet<ConstraintViolation<ConstraintViolationExceptionTest>>();
+		constraintViolations.add( new DummyConstraintViolation<ConstraintViolationExceptionTest>() );
+
+		ConstraintViolationException constraintViolationException = new ConstraintViolationException(
+				constraintViolations
+		);
+
+		assertEquals( constraintViolationException.getConstraintViolations(), constraintViolations );
+	}
+
+	@Test
+	public void testCreationOfConstraintViolationExceptionWithMessage() {
+
+		Set<ConstraintViolation<ConstraintViolationExceptionTest>> constraintViolations = new HashSet<ConstraintViolation<ConstraintViolationExceptionTest>>();
+		constraintViolations.add( new DummyConstraintViolation<ConstraintViolationExceptionTest>() );
+
+		String message = "constraint violations occurred";
+		ConstraintViolationException constraintViolationException = new ConstraintViolationException(
+				message,
+				constraintViolations
+		);
+
+		assertEquals( constraintViolationException.getConstraintViolations(), constraintViolations );
+		assertEquals( constraintViolationException.getMessage(), message );
+	}
+
+	@Test
+	public void testCreationOfConstraintViolationExceptionWithoutViolations() {
+
+		ConstraintViolationException constraintViolationException = new ConstraintViolationException( null, null );
+
+		assertNull( constraintViolationException.getConstraintViolations() );
+		assertNull( constraintViolationException.getMessage() );
+	}
+
+	@Test
+	public void testMessageIsBuiltLazily() {
+		AtomicInteger messageRequests = new AtomicInteger();
+		Set<ConstraintViolation<?>> constraintViolations = new LinkedHashSet<>();
+		constraintViolations.add( new MessageConstraintViolation<>( "name", "must not be null", messageRequests ) );
+		constraintViolations.add( new MessageConstraintViolation<>( "size", "must be positive", messageRequests ) );
+
+		ConstraintViolationException constraintViolationException = new ConstraintViolationException( constraintViolations );
+		assertEquals( messageRequests.get(), 0 );
+
+		// the violations are copied into a hash set, so their order in the message is undefined
+		String message = constraintViolationException.getMessage();
+		assertTrue( message.equals( "name: must not be null, size: must be positive" )
+				|| message.equals( "size: must be positive, name: must not be null" ), message );
+		assertEquals( constraintViolationException.getMessage(), message );
+		assertEquals( messageRequests.get(), 2 );
+	}
+
+	@Test
+	public void testMessageIsCapped() {
+		Set<ConstraintViolation<?>> constraintViolations = new LinkedHashSet<>();
+		for ( int i = 0; i < 105; i++ ) {
+			constraintViolations.add( new MessageConstraintViolation<>( "value" + i, "invalid", new AtomicInteger() ) );
+		}
+
+		String message = new ConstraintViolationException( constraintViolations ).getMessage();
+
+		assertEquals( message.split( ": invalid" ).length - 1, 100 );
+		assertTrue( message.endsWith( ": invalid, ... and 5 more" ) );
+	}
+
+	@Test
+	public void testCreationOfConstraintViolationExceptionWithoutCopy() {
+		Set<ConstraintViolation<?>> constraintViolations = Collections.singleton(
+				new DummyConstraintViolation<ConstraintViolationExceptionTest>()
+		);
+
+		ConstraintViolationException constraintViolationException = ConstraintViolationException.withoutCopy(
+				constraintViolations
+		);
+
+		assertEquals( constraintViolationException.getConstraintViolations(), constraintViolations );
+		assertSame(
+				constraintViolationException.getConstraintViolations().iterator().next(),
+				constraintViolations.iterator().next()
+		);
+		assertUnmodifiable( constraintViolationException.getConstraintViolations() );
+	}
+
+	@Test
+	public void testCopiedConstraintViolationsAreUnmodifiable() {
+		Set<ConstraintViolation<?>> constraintViolations = new HashSet<>();
+		constraintViolations.add( new DummyConstraintViolation<ConstraintViolationExceptionTest>() );
+
+		assertUnmodifiable( new ConstraintViolationException( constraintViolations ).getConstraintViolations() );
+		assertUnmodifiable( new ConstraintViolationException( "message", constraintViolations ).getConstraintViolations() );
+	}
+
+	@Test
+	public void testCreationOfConstraintViolationExceptionWithNullSet() {
+		ConstraintViolationException constraintViolationException = ConstraintViolationException.withoutCopy( null );
+
+		assertNull( constraintViolationException.getConstraintViolations() );
+		assertNull( constraintViolationException.getMessage() );
+	}
+
+	private static void assertUnmodifiable(Set<ConstraintViolation<?>> constraintViolations) {
+		try {
+			constraintViolations.clear();
+			fail( "Set of constraint violations is modifiable." );
+		}
+		catch ( UnsupportedOperationException e ) {
+			// expected
+		}
+	}
+
+	private static class MessageConstraintViolation<T> extends DummyConstraintViolation<T> {
+
+		private final Path propertyPath;
+		private final String message;
+		private final AtomicInteger messageRequests;
+
+		private MessageConstraintViolation(String propertyName, String message, AtomicInteger messageRequests) {
+			this.propertyPath = Path.of( propertyName );
+			this.message = message;
+			this.messageRequests = messageRequests;
+		}
+
+		@Override
+		public String getMessage() {
+			messageRequests.incrementAndGet();
+			return message;
+		}
+
+		@Override
+		public Path getPropertyPath() {
+			return propertyPath;
+		}
+	}
+
+	/**
+	 * @author Gunnar Morling
+	 */
+	private static class DummyConstraintViolation<T> implements ConstraintViolation<T> {
+
+		@Override
+		public String getMessage() {
+			return null;
+		}
+
+		@Override
+		public String getMessageTemplate() {
+			return null;
+		}
+
+		@Override
+		public T getRootBean() {
+			return null;
+		}
+
+		@Override
+		public Class<T> getRootBeanClass() {
+			return null;
+		}
+
+		@Override
+		public Object getLeafBean() {
+			return null;
+		}
+
+		@Override
+		public Object[] getExecutableParameters() {
+			return new Object[0];
+		}
+
+		@Override
+		public Object getExecutableReturnValue() {
+			return null;
+		}
+
+		@Override
+		public Path getPropertyPath() {
+			return null;
+		}
+
+		@Override
+		public Object getInvalidValue() {
+			return null;
+		}
+
+		@Override
+		public ConstraintDescriptor<?> getConstraintDescriptor() {
+			return null;
+		}
+
+		@Override
+		public <U> U unwrap(Class<U> type) {
+			return null;
+		}
+	}
+}
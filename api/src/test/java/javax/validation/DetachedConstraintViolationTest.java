@@ -0,0 +1,113 @@
+/*
+ * Bean Validation API
+ *
+ * License: Apache License, Version 2.0
+ * See the license.txt file in the root directory or <http://www.apache.org/licenses/LICENSE-2.0>.
+ */
+package javax.validation;
+
+import static javax.validation.TestConstraintViolation.descriptor;
+import static javax.validation.TestConstraintViolation.notNull;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertSame;
+import static org.testng.Assert.assertTrue;
+
+import java.util.Arrays;
+
+import javax.validation.TestConstraintViolation.Order;
+import javax.validation.constraints.NotNull;
+import javax.validation.metadata.ConstraintDescriptor;
+
+import org.testng.annotations.Test;
+
+/**
+ * Tests for {@link DetachedConstraintViolation}.
+ */
+public class DetachedConstraintViolationTest {
+
+	@Test
+	public void testDetach() {
+		Path path = Path.ofIndexed( Path.of( "lines" ), "quantity", 3 );
+		ConstraintDescriptor<?> descriptor = descriptor( Order.CUSTOMER_NOT_NULL );
+
+		DetachedConstraintViolation<Order> detached = notNull( path, new int[] { 1, 2 }, descriptor ).detach();
+
+		assertNull( detached.getRootBean() );
+		assertNull( detached.getLeafBean() );
+		assertNull( detached.getExecutableParameters() );
+		assertEquals( detached.getRootBeanClass(), Order.class );
+		assertEquals( detached.getPropertyPath().toString(), "lines[3].quantity" );
+		assertEquals( detached.getMessage(), "must not be null" );
+		assertEquals( detached.getMessageTemplate(), "{javax.validation.constraints.NotNull.message}" );
+		assertEquals( detached.getInvalidValue(), "[1, 2]" );
+		assertSame( detached.getConstraintDescriptor(), descriptor );
+		assertEquals( detached.getConstraintAnnotationType(), NotNull.class );
+		assertSame( detached.unwrap( DetachedConstraintViolation.class ), detached );
+	}
+
+	@Test
+	public void testDetachingDetachedViolationReturnsSameInstance() {
+		DetachedConstraintViolation<Order> detached = notNull( Path.of( "customer" ), null, null ).detach();
+
+		assertSame( detached.detach(), detached );
+		assertSame( DetachedConstraintViolation.of( detached ), detached );
+		assertNull( detached.getInvalidValue() );
+		assertNull( detached.getConstraintAnnotationType() );
+	}
+
+	@Test
+	public void testEquality() {
+		DetachedConstraintViolation<Order> first = notNull( Path.of( "customer" ), "foo", null ).detach();
+		DetachedConstraintViolation<Order> second = notNull( Path.of( "customer" ), "foo", null ).detach();
+
+		assertEquals( first, second );
+		assertEquals( first.hashCode(), second.hashCode() );
+	}
+
+	@Test
+	public void testLongInvalidValueIsTruncated() {
+		char[] value = new char[5000];
+		Arrays.fill( value, 'x' );
+
+		Object invalidValue = notNull( Path.of( "customer" ), new String( value ), null ).detach().getInvalidValue();
+
+		assertEquals( ( (String) invalidValue ).length(), DetachedConstraintViolation.MAX_INVALID_VALUE_LENGTH + "...".length() );
+		assertTrue( ( (String) invalidValue ).endsWith( "x..." ) );
+	}
+
+	@Test
+	public void testTruncationDoesNotSplitSurrogatePairs() {
+		assertEquals( DetachedConstraintViolation.truncate( "ab\uD83D\uDE00c", 3 ), "ab..." );
+		assertEquals( DetachedConstraintViolation.truncate( "abc", 3 ), "abc" );
+	}
+
+	@Test
+	public void testFailingToStringIsReplacedByPlaceholder() {
+		DetachedConstraintViolation<Order> detached = notNull( Path.of( "customer" ), new FailingToString(), null ).detach();
+
+		assertEquals( detached.getInvalidValue(), "<toString() of " + FailingToString.class.getName() + " failed>" );
+	}
+
+	@Test
+	public void testFailingToStringOfArrayElementIsReplacedByPlaceholder() {
+		Object[] value = new Object[] { new FailingToString() };
+
+		Object invalidValue = notNull( Path.of( "customer" ), value, null ).detach().getInvalidValue();
+
+		assertEquals( invalidValue, "<toString() of " + Object[].class.getName() + " failed>" );
+	}
+
+	@Test(expectedExceptions = ValidationException.class)
+	public void testUnwrappingToUnsupportedTypeFails() {
+		notNull( Path.of( "customer" ), null, null ).detach().unwrap( String.class );
+	}
+
+	private static class FailingToString {
+
+		@Override
+		public String toString() {
+			throw new IllegalStateException( "Not initialized" );
+		}
+	}
+}
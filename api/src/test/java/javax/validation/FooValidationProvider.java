@@ -8,8 +8,10 @@ package javax.validation;
 
 import java.io.InputStream;
 import java.lang.ref.SoftReference;
+import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.ForkJoinPool;
 
 import javax.validation.FooValidationProvider.DummyConfiguration;
 import javax.validation.spi.BootstrapState;
@@ -75,16 +77,46 @@ public class FooValidationProvider implements ValidationProvider<DummyConfigurat
 			return null;
 		}
 
+		@Override
+		public DummyConfiguration patternCache(PatternCache patternCache) {
+			return null;
+		}
+
 		@Override
 		public DummyConfiguration addValueExtractor(ValueExtractor<?> extractor) {
 			return null;
 		}
 
+		@Override
+		public DummyConfiguration failFast(boolean failFast) {
+			return null;
+		}
+
+		@Override
+		public DummyConfiguration maxViolations(int maxViolations) {
+			return null;
+		}
+
+		@Override
+		public DummyConfiguration lazyMessageInterpolation(boolean lazyMessageInterpolation) {
+			return null;
+		}
+
+		@Override
+		public DummyConfiguration parallelCascade(ForkJoinPool forkJoinPool, int threshold) {
+			return null;
+		}
+
 		@Override
 		public DummyConfiguration addMapping(InputStream stream) {
 			return null;
 		}
 
+		@Override
+		public DummyConfiguration addMetadataSnapshot(ByteBuffer snapshot) {
+			return null;
+		}
+
 		@Override
 		public DummyConfiguration addProperty(String name, String value) {
 			return null;
@@ -115,6 +147,11 @@ public class FooValidationProvider implements ValidationProvider<DummyConfigurat
 			return null;
 		}
 
+		@Override
+		public PatternCache getDefaultPatternCache() {
+			return null;
+		}
+
 		@Override
 		public BootstrapConfiguration getBootstrapConfiguration() {
 			return null;
@@ -162,6 +199,11 @@ public class FooValidationProvider implements ValidationProvider<DummyConfigurat
 			return null;
 		}
 
+		@Override
+		public PatternCache getPatternCache() {
+			return null;
+		}
+
 		@Override
 		public <T> T unwrap(Class<T> type) {
 			return null;
@@ -0,0 +1,49 @@
+/*
+ * Bean Validation API
+ *
+ * License: Apache License, Version 2.0
+ * See the license.txt file in the root directory or <http://www.apache.org/licenses/LICENSE-2.0>.
+ */
+package javax.validation;
+
+import static org.testng.Assert.assertEquals;
+
+import java.util.Locale;
+
+import javax.validation.MessageInterpolator.CompiledMessageTemplate;
+
+import org.testng.annotations.Test;
+
+/**
+ * Tests for the default methods of {@link MessageInterpolator}.
+ */
+public class MessageInterpolatorTest {
+
+	@Test
+	public void testCompiledTemplateIsInterpolatedLikeOriginalTemplate() {
+		MessageInterpolator interpolator = new UpperCaseMessageInterpolator();
+
+		CompiledMessageTemplate compiled = interpolator.compile( "{foo.bar}" );
+
+		assertEquals( compiled.getMessageTemplate(), "{foo.bar}" );
+		assertEquals( interpolator.interpolate( compiled, null, Locale.ENGLISH ), "{FOO.BAR}" );
+	}
+
+	@Test(expectedExceptions = IllegalArgumentException.class)
+	public void testCompileRejectsNullTemplate() {
+		new UpperCaseMessageInterpolator().compile( null );
+	}
+
+	private static class UpperCaseMessageInterpolator implements MessageInterpolator {
+
+		@Override
+		public String interpolate(String messageTemplate, Context context) {
+			return interpolate( messageTemplate, context, Locale.ROOT );
+		}
+
+		@Override
+		public String interpolate(String messageTemplate, Context context, Locale locale) {
+			return messageTemplate.toUpperCase( locale );
+		}
+	}
+}
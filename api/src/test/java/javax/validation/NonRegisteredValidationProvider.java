@@ -7,6 +7,8 @@
 package javax.validation;
 
 import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.util.concurrent.ForkJoinPool;
 
 import javax.validation.NonRegisteredValidationProvider.NonRegisteredConfiguration;
 import javax.validation.spi.BootstrapState;
@@ -39,6 +41,11 @@ public class NonRegisteredValidationProvider implements ValidationProvider<NonRe
 
 	public static class NonRegisteredConfiguration implements Configuration<NonRegisteredConfiguration> {
 
+		private Integer maxViolations;
+		private boolean lazyMessageInterpolation;
+		private ForkJoinPool parallelCascadePool;
+		private int parallelCascadeThreshold;
+
 		@Override
 		public NonRegisteredConfiguration ignoreXmlConfiguration() {
 			throw new UnsupportedOperationException( "Not implemented" );
@@ -69,16 +76,57 @@ public class NonRegisteredValidationProvider implements ValidationProvider<NonRe
 			throw new UnsupportedOperationException( "Not implemented" );
 		}
 
+		@Override
+		public NonRegisteredConfiguration patternCache(PatternCache patternCache) {
+			throw new UnsupportedOperationException( "Not implemented" );
+		}
+
 		@Override
 		public NonRegisteredConfiguration addValueExtractor(ValueExtractor<?> extractor) {
 			throw new UnsupportedOperationException( "Not implemented" );
 		}
 
+		@Override
+		public NonRegisteredConfiguration failFast(boolean failFast) {
+			this.maxViolations = failFast ? 1 : null;
+			return this;
+		}
+
+		@Override
+		public NonRegisteredConfiguration maxViolations(int maxViolations) {
+			if ( maxViolations < 1 ) {
+				throw new IllegalArgumentException( "The maximum number of violations must be at least 1." );
+			}
+			this.maxViolations = maxViolations;
+			return this;
+		}
+
+		@Override
+		public NonRegisteredConfiguration lazyMessageInterpolation(boolean lazyMessageInterpolation) {
+			this.lazyMessageInterpolation = lazyMessageInterpolation;
+			return this;
+		}
+
+		@Override
+		public NonRegisteredConfiguration parallelCascade(ForkJoinPool forkJoinPool, int threshold) {
+			if ( threshold < 2 ) {
+				throw new IllegalArgumentException( "The parallel cascade threshold must be at least 2." );
+			}
+			this.parallelCascadePool = forkJoinPool;
+			this.parallelCascadeThreshold = threshold;
+			return this;
+		}
+
 		@Override
 		public NonRegisteredConfiguration addMapping(InputStream stream) {
 			throw new UnsupportedOperationException( "Not implemented" );
 		}
 
+		@Override
+		public NonRegisteredConfiguration addMetadataSnapshot(ByteBuffer snapshot) {
+			throw new UnsupportedOperationException( "Not implemented" );
+		}
+
 		@Override
 		public NonRegisteredConfiguration addProperty(String name, String value) {
 			throw new UnsupportedOperationException( "Not implemented" );
@@ -109,6 +157,11 @@ public class NonRegisteredValidationProvider implements ValidationProvider<NonRe
 			throw new UnsupportedOperationException( "Not implemented" );
 		}
 
+		@Override
+		public PatternCache getDefaultPatternCache() {
+			throw new UnsupportedOperationException( "Not implemented" );
+		}
+
 		@Override
 		public BootstrapConfiguration getBootstrapConfiguration() {
 			throw new UnsupportedOperationException( "Not implemented" );
@@ -118,5 +171,21 @@ public class NonRegisteredValidationProvider implements ValidationProvider<NonRe
 		public ValidatorFactory buildValidatorFactory() {
 			throw new UnsupportedOperationException( "Not implemented" );
 		}
+
+		public Integer getMaxViolations() {
+			return maxViolations;
+		}
+
+		public boolean isLazyMessageInterpolation() {
+			return lazyMessageInterpolation;
+		}
+
+		public ForkJoinPool getParallelCascadePool() {
+			return parallelCascadePool;
+		}
+
+		public int getParallelCascadeThreshold() {
+			return parallelCascadeThreshold;
+		}
 	}
 }
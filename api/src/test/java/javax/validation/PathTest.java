@@ -0,0 +1,142 @@
+/*
+ * Bean Validation API
+ *
+ * License: Apache License, Version 2.0
+ * See the license.txt file in the root directory or <http://www.apache.org/licenses/LICENSE-2.0>.
+ */
+package javax.validation;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNotEquals;
+import static org.testng.Assert.assertSame;
+import static org.testng.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+import javax.validation.Path.BeanNode;
+import javax.validation.Path.MethodNode;
+import javax.validation.Path.Node;
+import javax.validation.Path.PropertyNode;
+
+import org.testng.annotations.Test;
+
+/**
+ * Tests for the immutable paths created by the factory methods of {@link Path}.
+ */
+public class PathTest {
+
+	@Test
+	public void testOf() {
+		Path path = Path.of( "order", "customer", "name" );
+
+		assertEquals( path.toString(), "order.customer.name" );
+
+		Iterator<Node> nodes = path.iterator();
+		assertEquals( nodes.next().getName(), "order" );
+		assertEquals( nodes.next().getName(), "customer" );
+		Node leaf = nodes.next();
+		assertEquals( leaf.getName(), "name" );
+		assertEquals( leaf.getKind(), ElementKind.PROPERTY );
+		assertFalse( leaf.isInIterable() );
+		assertFalse( nodes.hasNext() );
+	}
+
+	@Test
+	public void testOfIndexedAndKeyed() {
+		Path lines = Path.of( "order", "lines" );
+
+		assertEquals( Path.of( Path.ofIndexed( lines, "product", 17 ), "sku" ).toString(), "order.lines[17].product.sku" );
+		assertEquals( Path.ofKeyed( Path.of( "addresses" ), "city", "home" ).toString(), "addresses[home].city" );
+
+		Node product = last( Path.ofIndexed( lines, "product", 17 ) );
+		assertTrue( product.isInIterable() );
+		assertEquals( product.getIndex(), Integer.valueOf( 17 ) );
+		assertEquals( product.as( PropertyNode.class ).getName(), "product" );
+	}
+
+	@Test
+	public void testPrefixIsSharedAndNamesInterned() {
+		Path product = Path.ofIndexed( Path.of( "order", "lines" ), "product", 17 );
+		Path sku = Path.of( product, "sku" );
+		Path price = Path.of( product, "price" );
+
+		List<Node> skuNodes = nodes( sku );
+		List<Node> priceNodes = nodes( price );
+		for ( int i = 0; i < 3; i++ ) {
+			assertSame( skuNodes.get( i ), priceNodes.get( i ) );
+		}
+
+		assertSame( last( Path.of( new String( "sku" ) ) ).getName(), last( sku ).getName() );
+	}
+
+	@Test
+	public void testEqualsAndHashCode() {
+		Path path = Path.ofIndexed( Path.of( "order", "lines" ), "product", 17 );
+		Path equalPath = Path.ofIndexed( Path.of( "order", "lines" ), "product", 17 );
+
+		assertEquals( path, equalPath );
+		assertEquals( path.hashCode(), equalPath.hashCode() );
+		assertNotEquals( path, Path.ofIndexed( Path.of( "order", "lines" ), "product", 18 ) );
+		assertNotEquals( path, Path.of( "order", "lines", "product" ) );
+	}
+
+	@Test
+	public void testCopyOf() {
+		Path path = Path.of( "order", "lines" );
+		assertSame( Path.copyOf( path ), path );
+
+		Path foreignPath = () -> nodes( path ).iterator();
+		Path copy = Path.copyOf( foreignPath );
+		assertEquals( copy, path );
+		assertEquals( copy.toString(), "order.lines" );
+	}
+
+	@Test(expectedExceptions = ClassCastException.class)
+	public void testNarrowingToWrongNodeTypeFails() {
+		last( Path.of( "order" ) ).as( Path.BeanNode.class );
+	}
+
+	@Test(expectedExceptions = IllegalArgumentException.class)
+	public void testEmptyPropertyNameIsRejected() {
+		Path.of( "order", "" );
+	}
+
+	@Test
+	public void testNodesOnlyImplementTypeOfTheirKind() {
+		Node property = last( Path.of( "order" ) );
+
+		assertTrue( property instanceof PropertyNode );
+		assertFalse( property instanceof MethodNode );
+		assertFalse( property instanceof BeanNode );
+	}
+
+	@Test
+	public void testParameterTypesAreCopied() {
+		List<Class<?>> parameterTypes = new ArrayList<>();
+		parameterTypes.add( String.class );
+		ImmutableNode node = ImmutableNode.of( ElementKind.METHOD, "placeOrder", false, null, null, null, null, -1,
+				parameterTypes );
+		int hashCode = node.hashCode();
+
+		parameterTypes.add( int.class );
+
+		assertEquals( node.as( MethodNode.class ).getParameterTypes().size(), 1 );
+		assertEquals( node.hashCode(), hashCode );
+	}
+
+	private static List<Node> nodes(Path path) {
+		List<Node> nodes = new ArrayList<>();
+		for ( Node node : path ) {
+			nodes.add( node );
+		}
+		return nodes;
+	}
+
+	private static Node last(Path path) {
+		List<Node> nodes = nodes( path );
+		return nodes.get( nodes.size() - 1 );
+	}
+}
@@ -0,0 +1,44 @@
+/*
+ * Bean Validation API
+ *
+ * License: Apache License, Version 2.0
+ * See the license.txt file in the root directory or <http://www.apache.org/licenses/LICENSE-2.0>.
+ */
+package javax.validation;
+
+import static org.testng.Assert.assertEquals;
+
+import java.util.regex.Pattern;
+
+import javax.validation.constraints.Pattern.Flag;
+
+import org.testng.annotations.Test;
+
+public class PatternCacheTest {
+
+	@Test
+	public void testFlagsAreCombined() {
+		PatternCache cache = Pattern::compile;
+
+		Pattern pattern = cache.getPattern( "[a-z]+", Flag.CASE_INSENSITIVE, Flag.MULTILINE, Flag.DOTALL );
+
+		assertEquals( pattern.pattern(), "[a-z]+" );
+		assertEquals( pattern.flags(), Pattern.CASE_INSENSITIVE | Pattern.MULTILINE | Pattern.DOTALL );
+	}
+
+	@Test
+	public void testRepeatedFlagIsCombinedOnce() {
+		PatternCache cache = Pattern::compile;
+
+		Pattern pattern = cache.getPattern( "[a-z]+", Flag.COMMENTS, Flag.COMMENTS );
+
+		assertEquals( pattern.flags(), Pattern.COMMENTS );
+	}
+
+	@Test
+	public void testNoFlags() {
+		PatternCache cache = Pattern::compile;
+
+		assertEquals( cache.getPattern( "[a-z]+", new Flag[0] ).flags(), 0 );
+	}
+}
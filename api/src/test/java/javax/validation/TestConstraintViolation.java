@@ -0,0 +1,152 @@
+/*
+ * Bean Validation API
+ *
+ * License: Apache License, Version 2.0
+ * See the license.txt file in the root directory or <http://www.apache.org/licenses/LICENSE-2.0>.
+ */
+package javax.validation;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Proxy;
+
+import javax.validation.constraints.NotNull;
+import javax.validation.metadata.ConstraintDescriptor;
+
+/**
+ * A {@link ConstraintViolation} returning the values it has been created with, shared by
+ * the tests of this package.
+ */
+class TestConstraintViolation<T> implements ConstraintViolation<T> {
+
+	private final T rootBean;
+	private final Class<T> rootBeanClass;
+	private final Path propertyPath;
+	private final String message;
+	private final String messageTemplate;
+	private final Object invalidValue;
+	private final ConstraintDescriptor<?> constraintDescriptor;
+
+	/**
+	 * Creates a violation returning {@code null} for all its properties.
+	 */
+	TestConstraintViolation() {
+		this( null, null, null, null, null, null, null );
+	}
+
+	TestConstraintViolation(T rootBean, Class<T> rootBeanClass, Path propertyPath, String message,
+			String messageTemplate, Object invalidValue, ConstraintDescriptor<?> constraintDescriptor) {
+		this.rootBean = rootBean;
+		this.rootBeanClass = rootBeanClass;
+		this.propertyPath = propertyPath;
+		this.message = message;
+		this.messageTemplate = messageTemplate;
+		this.invalidValue = invalidValue;
+		this.constraintDescriptor = constraintDescriptor;
+	}
+
+	/**
+	 * Creates a violation of the {@link NotNull} constraint of {@link Order#customer},
+	 * reported for the given path and invalid value.
+	 */
+	static TestConstraintViolation<Order> notNull(Path propertyPath, Object invalidValue) {
+		return notNull( propertyPath, invalidValue, descriptor( Order.CUSTOMER_NOT_NULL ) );
+	}
+
+	/**
+	 * Creates a violation with the message of the {@link NotNull} constraint, reported
+	 * for the given path, invalid value and descriptor.
+	 */
+	static TestConstraintViolation<Order> notNull(Path propertyPath, Object invalidValue,
+			ConstraintDescriptor<?> constraintDescriptor) {
+		return new TestConstraintViolation<>( new Order(), Order.class, propertyPath, "must not be null",
+				"{javax.validation.constraints.NotNull.message}", invalidValue, constraintDescriptor );
+	}
+
+	/**
+	 * Returns a constraint descriptor which only supports {@link ConstraintDescriptor#getAnnotation()}.
+	 */
+	static ConstraintDescriptor<?> descriptor(Annotation annotation) {
+		return (ConstraintDescriptor<?>) Proxy.newProxyInstance(
+				ConstraintDescriptor.class.getClassLoader(),
+				new Class<?>[] { ConstraintDescriptor.class },
+				(proxy, method, args) -> {
+					if ( method.getName().equals( "getAnnotation" ) ) {
+						return annotation;
+					}
+					throw new UnsupportedOperationException( method.getName() );
+				}
+		);
+	}
+
+	@Override
+	public String getMessage() {
+		return message;
+	}
+
+	@Override
+	public String getMessageTemplate() {
+		return messageTemplate;
+	}
+
+	@Override
+	public T getRootBean() {
+		return rootBean;
+	}
+
+	@Override
+	public Class<T> getRootBeanClass() {
+		return rootBeanClass;
+	}
+
+	@Override
+	public Object getLeafBean() {
+		return rootBean;
+	}
+
+	@Override
+	public Object[] getExecutableParameters() {
+		return null;
+	}
+
+	@Override
+	public Object getExecutableReturnValue() {
+		return null;
+	}
+
+	@Override
+	public Path getPropertyPath() {
+		return propertyPath;
+	}
+
+	@Override
+	public Object getInvalidValue() {
+		return invalidValue;
+	}
+
+	@Override
+	public ConstraintDescriptor<?> getConstraintDescriptor() {
+		return constraintDescriptor;
+	}
+
+	@Override
+	public <U> U unwrap(Class<U> type) {
+		throw new ValidationException( "Type " + type.getName() + " not supported for unwrapping." );
+	}
+
+	static class Order {
+
+		static final NotNull CUSTOMER_NOT_NULL;
+
+		static {
+			try {
+				CUSTOMER_NOT_NULL = Order.class.getDeclaredField( "customer" ).getAnnotation( NotNull.class );
+			}
+			catch ( NoSuchFieldException e ) {
+				throw new IllegalStateException( e );
+			}
+		}
+
+		@NotNull
+		private Object customer;
+	}
+}
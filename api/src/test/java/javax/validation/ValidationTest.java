@@ -8,6 +8,7 @@ package javax.validation;
 
 
 import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
 import static org.testng.Assert.assertNotNull;
 import static org.testng.Assert.assertTrue;
 import static org.testng.Assert.fail;
@@ -144,6 +145,45 @@ public class ValidationTest {
 				.buildValidatorFactory();
 	}
 
+	@Test
+	public void testProviderIndexesAreUsedInsteadOfServiceLoader() {
+		// the service loader would return Bar first, the merged indexes list Foo first
+		assertDefaultProvider(
+				new CustomProviderIndexClassLoader( new String[] { "-3", "-1" }, "-1", "" ),
+				FooValidationProvider.DummyValidatorFactory.class
+		);
+	}
+
+	@Test
+	public void testServiceFilesAreNotReadInCaseOfProviderIndex() {
+		// the index is trusted, even though it doesn't list the registered provider Bar
+		CustomProviderIndexClassLoader classLoader = new CustomProviderIndexClassLoader( new String[] { "-3" }, "-1", "" );
+
+		assertDefaultProvider( classLoader, FooValidationProvider.DummyValidatorFactory.class );
+		assertFalse( classLoader.serviceFilesRequested );
+	}
+
+	@Test
+	public void testServiceLoaderIsUsedInCaseProviderIndexIsStale() {
+		assertDefaultProvider(
+				new CustomProviderIndexClassLoader( new String[] { "-2", "-3", "-1" }, "-1", "" ),
+				BarValidationProvider.DummyValidatorFactory.class
+		);
+	}
+
+	private void assertDefaultProvider(ClassLoader classLoader, Class<? extends ValidatorFactory> expectedFactoryType) {
+		ClassLoader contextClassLoader = Thread.currentThread().getContextClassLoader();
+		Thread.currentThread().setContextClassLoader( classLoader );
+
+		try {
+			ValidatorFactory factory = Validation.buildDefaultValidatorFactory();
+			assertTrue( expectedFactoryType.isInstance( factory ), String.valueOf( factory ) );
+		}
+		finally {
+			Thread.currentThread().setContextClassLoader( contextClassLoader );
+		}
+	}
+
 	private int countInMemoryProviders() {
 		int count = 0;
 		// we cannot access Validation.DefaultValidationProviderResolver#providersPerClassloader, so we have to
@@ -181,6 +221,33 @@ public class ValidationTest {
 		}
 	}
 
+	private static class CustomProviderIndexClassLoader extends CustomValidationProviderClassLoader {
+		private static final String PROVIDER_INDEX = "META-INF/validation-provider.idx";
+		private static final String SERVICES_FILE = "META-INF/services/" + ValidationProvider.class.getName();
+		private final String[] indexFileSuffixes;
+		private volatile boolean serviceFilesRequested;
+
+		public CustomProviderIndexClassLoader(String[] indexFileSuffixes, String... serviceFileSuffixes) {
+			super( serviceFileSuffixes );
+			this.indexFileSuffixes = indexFileSuffixes;
+		}
+
+		@Override
+		public Enumeration<URL> getResources(String name) throws IOException {
+			if ( PROVIDER_INDEX.equals( name ) ) {
+				CustomEnumeration<URL> customEnumeration = new CustomEnumeration<>();
+				for ( String suffix : indexFileSuffixes ) {
+					customEnumeration.addElements( super.getResources( name + suffix ) );
+				}
+				return customEnumeration;
+			}
+			if ( SERVICES_FILE.equals( name ) ) {
+				serviceFilesRequested = true;
+			}
+			return super.getResources( name );
+		}
+	}
+
 	private static class CustomEnumeration<E> implements Enumeration<E> {
 		private final List<E> enumList = new ArrayList<>();
 		int currentIndex = 0;
@@ -0,0 +1,225 @@
+/*
+ * Bean Validation API
+ *
+ * License: Apache License, Version 2.0
+ * See the license.txt file in the root directory or <http://www.apache.org/licenses/LICENSE-2.0>.
+ */
+package javax.validation;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import javax.validation.executable.ExecutableValidator;
+import javax.validation.groups.Default;
+import javax.validation.metadata.BeanDescriptor;
+
+import org.testng.annotations.Test;
+
+/**
+ * Tests for the default methods of {@link Validator}.
+ */
+public class ValidatorTest {
+
+	private final Validator validator = new DummyValidator();
+
+	@Test
+	public void testIsValid() {
+		assertTrue( validator.isValid( "valid" ) );
+		assertFalse( validator.isValid( "invalid" ) );
+	}
+
+	@Test
+	public void testValidateAsync() throws Exception {
+		Set<ConstraintViolation<String>> violations = validator.validateAsync( "invalid", Runnable::run )
+				.toCompletableFuture()
+				.get();
+
+		assertEquals( violations.size(), 1 );
+		assertTrue( validator.validateAsync( "valid", Runnable::run ).toCompletableFuture().get().isEmpty() );
+	}
+
+	@Test(expectedExceptions = IllegalArgumentException.class)
+	public void testValidateAsyncRejectsNullExecutor() {
+		validator.validateAsync( "valid", null );
+	}
+
+	@Test(expectedExceptions = IllegalArgumentException.class)
+	public void testValidateAsyncRejectsNullGroupBeforeSubmittingTask() {
+		validator.validateAsync( "valid", task -> {
+			throw new AssertionError( "No task expected" );
+		}, Default.class, null );
+	}
+
+	@Test
+	public void testValidateAllReturnsViolationsKeyedByIndex() {
+		Map<Integer, Set<ConstraintViolation<String>>> violations = validator.validateAll(
+				Arrays.asList( "valid", "invalid", "valid", "invalid" )
+		);
+
+		assertEquals( violations.keySet(), new LinkedHashSet<>( Arrays.asList( 1, 3 ) ) );
+		assertEquals( violations.get( 1 ).iterator().next().getInvalidValue(), "invalid" );
+	}
+
+	@Test
+	public void testValidateAllReturnsEmptyMapForValidObjects() {
+		assertTrue( validator.validateAll( Arrays.asList( "valid", "valid" ) ).isEmpty() );
+	}
+
+	@Test(expectedExceptions = IllegalArgumentException.class)
+	public void testValidateAllRejectsNullIterable() {
+		validator.validateAll( null );
+	}
+
+	@Test
+	public void testValidatePropertyWithCompiledPath() {
+		PropertyPathHandle propertyPath = validator.compilePropertyPath( String.class, "lines[17].product.sku" );
+
+		assertEquals( propertyPath.getPropertyName(), "lines[17].product.sku" );
+		assertEquals( propertyPath.getPath(), Path.of( Path.ofIndexed( Path.of( "lines" ), "product", 17 ), "sku" ) );
+		assertEquals( propertyPath.getPath().toString(), "lines[17].product.sku" );
+
+		assertEquals( validator.validateCompiledProperty( "invalid", propertyPath ).size(), 1 );
+		assertTrue( validator.validateCompiledProperty( "valid", propertyPath ).isEmpty() );
+	}
+
+	@Test(expectedExceptions = IllegalArgumentException.class)
+	public void testValidatePropertyWithPathCompiledForOtherTypeFails() {
+		validator.validateCompiledProperty( "invalid", validator.compilePropertyPath( Integer.class, "value" ) );
+	}
+
+	@Test(expectedExceptions = IllegalArgumentException.class)
+	public void testCompilingMalformedPropertyPathFails() {
+		validator.compilePropertyPath( String.class, "lines[17" );
+	}
+
+	@Test(expectedExceptions = IllegalArgumentException.class)
+	public void testCompilingPropertyPathWithClosingBracketInNameFails() {
+		validator.compilePropertyPath( String.class, "a]b" );
+	}
+
+	@Test(expectedExceptions = IllegalArgumentException.class)
+	public void testCompilingPropertyPathWithIndexOutOfRangeFails() {
+		validator.compilePropertyPath( String.class, "lines[12345678901].product" );
+	}
+
+	@Test
+	public void testCompilingPropertyPathWithLargeIndex() {
+		assertEquals(
+				validator.compilePropertyPath( String.class, "lines[2147483647].product" ).getPath(),
+				Path.ofIndexed( Path.of( "lines" ), "product", Integer.MAX_VALUE )
+		);
+	}
+
+	@Test
+	public void testValidationPlan() {
+		ValidationPlan<String> plan = validator.compileValidationPlan( String.class );
+
+		assertEquals( plan.getBeanType(), String.class );
+		assertEquals( plan.getGroups(), Collections.singletonList( Default.class ) );
+		assertEquals( plan.validate( "invalid" ).size(), 1 );
+		assertTrue( plan.isValid( "valid" ) );
+		assertFalse( plan.isValid( "invalid" ) );
+	}
+
+	@Test(expectedExceptions = IllegalArgumentException.class)
+	public void testValidationPlanRejectsNullGroup() {
+		validator.compileValidationPlan( String.class, (Class<?>) null );
+	}
+
+	@Test
+	public void testValidateWithSink() {
+		List<ConstraintViolation<String>> violations = new ArrayList<>();
+		validator.validate( "invalid twice", ConstraintViolationSink.of( violations::add ) );
+
+		assertEquals( violations.size(), 2 );
+		assertEquals( violations.get( 0 ).getInvalidValue(), "invalid twice" );
+	}
+
+	@Test
+	public void testValidateWithSinkStopsWhenSinkReturnsFalse() {
+		List<ConstraintViolation<String>> violations = new ArrayList<>();
+		validator.validate( "invalid twice", violation -> {
+			violations.add( violation );
+			return false;
+		} );
+
+		assertEquals( violations.size(), 1 );
+	}
+
+	@Test
+	public void testValidatePropertyWithSink() {
+		List<ConstraintViolation<String>> violations = new ArrayList<>();
+		validator.validateProperty( "invalid", "value", ConstraintViolationSink.of( violations::add ) );
+
+		assertEquals( violations.size(), 1 );
+	}
+
+	@Test(expectedExceptions = IllegalArgumentException.class)
+	public void testValidateWithNullSinkFails() {
+		validator.validate( "invalid", (ConstraintViolationSink<String>) null );
+	}
+
+	/**
+	 * Considers the string {@code "invalid"} as invalid, with one violation, and the string
+	 * {@code "invalid twice"} as invalid, with two violations; any other value as valid.
+	 */
+	private static class DummyValidator implements Validator {
+
+		@Override
+		public <T> Set<ConstraintViolation<T>> validate(T object, Class<?>... groups) {
+			if ( object == null ) {
+				throw new IllegalArgumentException();
+			}
+			if ( "invalid".equals( object ) ) {
+				return Collections.<ConstraintViolation<T>>singleton( invalid( object ) );
+			}
+			if ( "invalid twice".equals( object ) ) {
+				return new LinkedHashSet<>( Arrays.<ConstraintViolation<T>>asList(
+						invalid( object ),
+						invalid( object )
+				) );
+			}
+			return Collections.emptySet();
+		}
+
+		@Override
+		public <T> Set<ConstraintViolation<T>> validateProperty(T object, String propertyName, Class<?>... groups) {
+			return validate( object, groups );
+		}
+
+		@Override
+		public <T> Set<ConstraintViolation<T>> validateValue(Class<T> beanType, String propertyName, Object value,
+				Class<?>... groups) {
+			return Collections.emptySet();
+		}
+
+		@Override
+		public BeanDescriptor getConstraintsForClass(Class<?> clazz) {
+			return null;
+		}
+
+		@Override
+		public <T> T unwrap(Class<T> type) {
+			return null;
+		}
+
+		@Override
+		public ExecutableValidator forExecutables() {
+			return null;
+		}
+
+		private static <T> ConstraintViolation<T> invalid(T object) {
+			return new TestConstraintViolation<>( object, null, null, "must not be invalid", "{must.not.be.invalid}",
+					object, null );
+		}
+	}
+}
@@ -0,0 +1,109 @@
+/*
+ * Bean Validation API
+ *
+ * License: Apache License, Version 2.0
+ * See the license.txt file in the root directory or <http://www.apache.org/licenses/LICENSE-2.0>.
+ */
+package javax.validation.benchmark;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import javax.validation.FooValidationProvider.DummyConfiguration;
+import javax.validation.Validation;
+import javax.validation.ValidationProviderResolver;
+import javax.validation.ValidatorFactory;
+import javax.validation.spi.BootstrapState;
+import javax.validation.spi.ConfigurationState;
+import javax.validation.spi.ValidationProvider;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Measures the throughput of provider cache hits of the default validation provider resolver used by
+ * {@link Validation#byDefaultProvider()}.
+ * <p>
+ * Run the {@link #main(String[])} method with the test class path to measure how cache hits scale from 1 to 64
+ * concurrent threads resolving the providers at the same time, e.g. from the {@code api} directory:
+ * <pre>
+ * mvn test-compile dependency:build-classpath -Dmdep.includeScope=test -Dmdep.outputFile=target/test.classpath
+ * java -cp target/test-classes:target/classes:$(cat target/test.classpath) \
+ *     javax.validation.benchmark.DefaultProviderResolverBenchmark
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DefaultProviderResolverBenchmark {
+
+	private static final int[] THREAD_COUNTS = { 1, 2, 4, 8, 16, 32, 64 };
+
+	private ValidationProviderResolver resolver;
+
+	@Setup
+	public void warmUpCache() {
+		// providers obtain the default resolver from the bootstrap state passed to them
+		DefaultResolverCapturingProvider provider = new DefaultResolverCapturingProvider();
+		Validation.byDefaultProvider()
+				.providerResolver( () -> Collections.<ValidationProvider<?>>singletonList( provider ) )
+				.configure();
+		resolver = provider.defaultResolver;
+
+		// populate the provider cache, so only cache hits are measured
+		resolver.getValidationProviders();
+	}
+
+	@Benchmark
+	public List<ValidationProvider<?>> resolveCachedProviders() {
+		return resolver.getValidationProviders();
+	}
+
+	public static void main(String[] args) throws RunnerException {
+		for ( int threads : THREAD_COUNTS ) {
+			Options options = new OptionsBuilder()
+					.include( DefaultProviderResolverBenchmark.class.getName() )
+					.threads( threads )
+					.build();
+
+			new Runner( options ).run();
+		}
+	}
+
+	private static class DefaultResolverCapturingProvider implements ValidationProvider<DummyConfiguration> {
+
+		private ValidationProviderResolver defaultResolver;
+
+		@Override
+		public DummyConfiguration createSpecializedConfiguration(BootstrapState state) {
+			throw new UnsupportedOperationException( "Not implemented" );
+		}
+
+		@Override
+		public DummyConfiguration createGenericConfiguration(BootstrapState state) {
+			defaultResolver = state.getDefaultValidationProviderResolver();
+			return null;
+		}
+
+		@Override
+		public ValidatorFactory buildValidatorFactory(ConfigurationState configurationState) {
+			throw new UnsupportedOperationException( "Not implemented" );
+		}
+	}
+}
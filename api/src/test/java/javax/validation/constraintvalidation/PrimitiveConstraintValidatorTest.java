@@ -0,0 +1,80 @@
+/*
+ * Bean Validation API
+ *
+ * License: Apache License, Version 2.0
+ * See the license.txt file in the root directory or <http://www.apache.org/licenses/LICENSE-2.0>.
+ */
+package javax.validation.constraintvalidation;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import javax.validation.constraints.Positive;
+
+import org.testng.annotations.Test;
+
+public class PrimitiveConstraintValidatorTest {
+
+	@Test
+	public void testBoxedIntIsUnboxed() {
+		List<Integer> validated = new ArrayList<>();
+		IntConstraintValidator<Positive> validator = (value, context) -> validated.add( value ) && value > 0;
+
+		assertTrue( validator.isValid( Integer.valueOf( 1 ), null ) );
+		assertFalse( validator.isValid( Integer.valueOf( -1 ), null ) );
+		assertEquals( validated, Arrays.asList( 1, -1 ) );
+	}
+
+	@Test
+	public void testNullIntIsValid() {
+		List<Integer> validated = new ArrayList<>();
+		IntConstraintValidator<Positive> validator = (value, context) -> validated.add( value ) && value > 0;
+
+		assertTrue( validator.isValid( (Integer) null, null ) );
+		assertEquals( validated, Collections.emptyList() );
+	}
+
+	@Test
+	public void testBoxedLongIsUnboxed() {
+		List<Long> validated = new ArrayList<>();
+		LongConstraintValidator<Positive> validator = (value, context) -> validated.add( value ) && value > 0;
+
+		assertTrue( validator.isValid( Long.valueOf( 1L ), null ) );
+		assertFalse( validator.isValid( Long.valueOf( Long.MIN_VALUE ), null ) );
+		assertEquals( validated, Arrays.asList( 1L, Long.MIN_VALUE ) );
+	}
+
+	@Test
+	public void testNullLongIsValid() {
+		List<Long> validated = new ArrayList<>();
+		LongConstraintValidator<Positive> validator = (value, context) -> validated.add( value ) && value > 0;
+
+		assertTrue( validator.isValid( (Long) null, null ) );
+		assertEquals( validated, Collections.emptyList() );
+	}
+
+	@Test
+	public void testBoxedDoubleIsUnboxed() {
+		List<Double> validated = new ArrayList<>();
+		DoubleConstraintValidator<Positive> validator = (value, context) -> validated.add( value ) && value > 0;
+
+		assertTrue( validator.isValid( Double.valueOf( 0.5 ), null ) );
+		assertFalse( validator.isValid( Double.valueOf( Double.NaN ), null ) );
+		assertEquals( validated, Arrays.asList( 0.5, Double.NaN ) );
+	}
+
+	@Test
+	public void testNullDoubleIsValid() {
+		List<Double> validated = new ArrayList<>();
+		DoubleConstraintValidator<Positive> validator = (value, context) -> validated.add( value ) && value > 0;
+
+		assertTrue( validator.isValid( (Double) null, null ) );
+		assertEquals( validated, Collections.emptyList() );
+	}
+}
@@ -0,0 +1,90 @@
+/*
+ * Bean Validation API
+ *
+ * License: Apache License, Version 2.0
+ * See the license.txt file in the root directory or <http://www.apache.org/licenses/LICENSE-2.0>.
+ */
+package javax.validation.spi;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNotEquals;
+
+import java.util.Arrays;
+import java.util.List;
+
+import javax.validation.constraints.NotNull;
+import javax.validation.constraints.Size;
+
+import org.testng.annotations.Test;
+
+/**
+ * Tests for {@link BeanClassFingerprint}.
+ */
+public class BeanClassFingerprintTest {
+
+	@Test
+	public void testFingerprintIsComputedFromDescriptors() {
+		String size = "@javax.validation.constraints.Size(groups={},max=5,"
+				+ "message=\"{javax.validation.constraints.Size.message}\",min=0,payload={})";
+		String notNull = "@javax.validation.constraints.NotNull(groups={},"
+				+ "message=\"{javax.validation.constraints.NotNull.message}\",payload={})";
+
+		assertEquals(
+				BeanClassFingerprint.of( Customer.class ),
+				BeanClassFingerprint.of( Arrays.asList(
+						"method getName java.lang.String " + notNull,
+						"field names java.util.List<" + size + ">",
+						"field name java.lang.String " + size,
+						"class"
+				) )
+		);
+	}
+
+	@Test
+	public void testFingerprintReflectsAttributeValues() {
+		assertNotEquals( BeanClassFingerprint.of( Customer.class ), BeanClassFingerprint.of( ChangedCustomer.class ) );
+	}
+
+	@Test(expectedExceptions = IllegalArgumentException.class)
+	public void testNullBeanClassIsRejected() {
+		BeanClassFingerprint.of( (Class<?>) null );
+	}
+
+	@SuppressWarnings("unused")
+	private class Customer {
+
+		private static final int MAX = 5;
+
+		@Size(max = MAX)
+		private String name;
+
+		private List<@Size(max = MAX) String> names;
+
+		@NotNull
+		public String getName() {
+			return name;
+		}
+
+		public void setName(String name) {
+			this.name = name;
+		}
+	}
+
+	@SuppressWarnings("unused")
+	private class ChangedCustomer {
+
+		@Size(max = 6)
+		private String name;
+
+		private List<@Size(max = 5) String> names;
+
+		@NotNull
+		public String getName() {
+			return name;
+		}
+
+		public void setName(String name) {
+			this.name = name;
+		}
+	}
+}
@@ -0,0 +1,257 @@
+/*
+ * Bean Validation API
+ *
+ * License: Apache License, Version 2.0
+ * See the license.txt file in the root directory or <http://www.apache.org/licenses/LICENSE-2.0>.
+ */
+package javax.validation.spi;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+import java.io.IOException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.stream.Stream;
+
+import javax.validation.ValidationException;
+
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+/**
+ * Tests for {@link ConstraintMappingIndex}.
+ */
+public class ConstraintMappingIndexTest {
+
+	private Path root;
+	private URLClassLoader classLoader;
+
+	@BeforeMethod
+	public void createResources() throws IOException {
+		root = Files.createTempDirectory( "mappings" );
+		classLoader = new URLClassLoader( new URL[] { root.toUri().toURL() }, null );
+
+		write(
+				"orders.xml",
+				"<constraint-mappings>" +
+				"<default-package>com.acme.order</default-package>" +
+				"<bean class=\"Order\"><field name=\"lines\"><valid/></field></bean>" +
+				"<bean class=\"com.acme.order.OrderLine\"><getter name=\"quantity\"/></bean>" +
+				"<constraint-definition annotation=\"ZipCode\"><validated-by><value>ZipCodeValidator</value></validated-by></constraint-definition>" +
+				"</constraint-mappings>"
+		);
+		write(
+				"customers.xml",
+				"<constraint-mappings><bean class=\"com.acme.customer.Customer\"/></constraint-mappings>"
+		);
+		write(
+				"duplicate.xml",
+				"<constraint-mappings><bean class=\"com.acme.order.Order\"/></constraint-mappings>"
+		);
+	}
+
+	@AfterMethod
+	public void deleteResources() throws IOException {
+		classLoader.close();
+		try ( Stream<Path> files = Files.walk( root ) ) {
+			files.sorted( Comparator.reverseOrder() ).forEach( file -> file.toFile().delete() );
+		}
+	}
+
+	@Test
+	public void testIndex() {
+		ConstraintMappingIndex index = ConstraintMappingIndex.build(
+				new LinkedHashSet<>( Arrays.asList( "/orders.xml", "customers.xml" ) ),
+				classLoader
+		);
+
+		assertEquals(
+				index.getBeanClassNames(),
+				new HashSet<>( Arrays.asList( "com.acme.order.Order", "com.acme.order.OrderLine", "com.acme.customer.Customer" ) )
+		);
+		assertTrue( index.isMapped( "com.acme.order.Order" ) );
+		assertFalse( index.isMapped( "Order" ) );
+	}
+
+	@Test
+	public void testReadBean() {
+		ConstraintMappingIndex index = ConstraintMappingIndex.build(
+				new LinkedHashSet<>( Arrays.asList( "orders.xml", "customers.xml" ) ),
+				classLoader
+		);
+
+		List<String> events = new ArrayList<>();
+		assertTrue( index.readBean( "com.acme.order.Order", new RecordingHandler( events ) ) );
+		assertEquals(
+				events,
+				Arrays.asList( "defaultPackage com.acme.order", "beginBean Order", "beginField lines", "end", "endBean" )
+		);
+
+		events.clear();
+		assertFalse( index.readBean( "com.acme.order.Unknown", new RecordingHandler( events ) ) );
+		assertTrue( events.isEmpty() );
+	}
+
+	@Test
+	public void testReadBeanSkipsPrecedingBeans() throws IOException {
+		write(
+				"escaped.xml",
+				"<?xml version=\"1.0\" encoding=\"UTF-8\"?>" +
+				"<!-- mappings with markup in texts and attributes -->" +
+				"<constraint-mappings xmlns=\"http://xmlns.jcp.org/xml/ns/validation/mapping\" version=\"2.0\">" +
+				"<bean class=\"com.acme.Other\"><field name=\"a\"><constraint annotation=\"NotNull\"/></field></bean>" +
+				"<bean class=\"com.acme.Escaped\"><field name=\"a&quot;b\">" +
+				"<constraint annotation=\"Size\"><message>&lt;&amp;&gt;<![CDATA[<x>]]></message></constraint>" +
+				"</field></bean>" +
+				"<bean class=\"com.acme.Malformed\"><unknown/></bean>" +
+				"</constraint-mappings>"
+		);
+		ConstraintMappingIndex index = ConstraintMappingIndex.build(
+				new LinkedHashSet<>( Arrays.asList( "orders.xml", "escaped.xml" ) ),
+				classLoader
+		);
+
+		List<String> events = new ArrayList<>();
+		assertTrue( index.readBean( "com.acme.order.OrderLine", new RecordingHandler( events ) ) );
+		assertTrue( index.readBean( "com.acme.Escaped", new RecordingHandler( events ) ) );
+		assertEquals(
+				events,
+				Arrays.asList(
+						"defaultPackage com.acme.order", "beginBean com.acme.order.OrderLine",
+						"beginGetter quantity", "end", "endBean",
+						"beginBean com.acme.Escaped", "beginField a\"b", "constraint Size <&><x>",
+						"end", "endBean"
+				)
+		);
+	}
+
+	@Test
+	public void testReadBeanReadsResourceAgain() throws IOException {
+		ConstraintMappingIndex index = ConstraintMappingIndex.build(
+				new HashSet<>( Arrays.asList( "customers.xml" ) ),
+				classLoader
+		);
+		write(
+				"customers.xml",
+				"<constraint-mappings><bean class=\"com.acme.customer.Customer\"><getter name=\"name\"/></bean></constraint-mappings>"
+		);
+
+		List<String> events = new ArrayList<>();
+		assertTrue( index.readBean( "com.acme.customer.Customer", new RecordingHandler( events ) ) );
+		assertEquals(
+				events,
+				Arrays.asList( "beginBean com.acme.customer.Customer", "beginGetter name", "end", "endBean" )
+		);
+	}
+
+	@Test(expectedExceptions = ValidationException.class)
+	public void testReadBeanOfChangedResourceFails() throws IOException {
+		ConstraintMappingIndex index = ConstraintMappingIndex.build(
+				new HashSet<>( Arrays.asList( "orders.xml" ) ),
+				classLoader
+		);
+		write(
+				"orders.xml",
+				"<constraint-mappings><bean class=\"com.acme.order.OrderLine\"/><bean class=\"com.acme.order.Order\"/></constraint-mappings>"
+		);
+
+		index.readBean( "com.acme.order.OrderLine", new RecordingHandler( new ArrayList<>() ) );
+	}
+
+	@Test(expectedExceptions = ValidationException.class)
+	public void testBeanMappedMoreThanOnceInSameResourceFails() throws IOException {
+		write(
+				"twice.xml",
+				"<constraint-mappings><bean class=\"com.acme.Twice\"/><bean class=\"com.acme.Twice\"/></constraint-mappings>"
+		);
+		ConstraintMappingIndex.build( new HashSet<>( Arrays.asList( "twice.xml" ) ), classLoader );
+	}
+
+	@Test
+	public void testReadConstraintDefinitions() {
+		ConstraintMappingIndex index = ConstraintMappingIndex.build(
+				new LinkedHashSet<>( Arrays.asList( "orders.xml", "customers.xml" ) ),
+				classLoader
+		);
+
+		List<String> events = new ArrayList<>();
+		index.readConstraintDefinitions( new RecordingHandler( events ) );
+
+		assertEquals( events, Arrays.asList( "defaultPackage com.acme.order", "constraintDefinition ZipCode" ) );
+	}
+
+	@Test(expectedExceptions = ValidationException.class)
+	public void testBeanMappedMoreThanOnceFails() {
+		ConstraintMappingIndex.build( new LinkedHashSet<>( Arrays.asList( "orders.xml", "duplicate.xml" ) ), classLoader );
+	}
+
+	@Test(expectedExceptions = ValidationException.class)
+	public void testMissingResourceFails() {
+		ConstraintMappingIndex.build( new HashSet<>( Arrays.asList( "missing.xml" ) ), classLoader );
+	}
+
+	private void write(String name, String content) throws IOException {
+		Files.write( root.resolve( name ), content.getBytes( StandardCharsets.UTF_8 ) );
+	}
+
+	private static class RecordingHandler implements ConstraintMappingHandler {
+
+		private final List<String> events;
+
+		private RecordingHandler(List<String> events) {
+			this.events = events;
+		}
+
+		@Override
+		public void defaultPackage(String defaultPackage) {
+			events.add( "defaultPackage " + defaultPackage );
+		}
+
+		@Override
+		public void beginBean(String className, boolean ignoreAnnotations) {
+			events.add( "beginBean " + className );
+		}
+
+		@Override
+		public void beginField(String name, Boolean ignoreAnnotations) {
+			events.add( "beginField " + name );
+		}
+
+		@Override
+		public void beginGetter(String name, Boolean ignoreAnnotations) {
+			events.add( "beginGetter " + name );
+		}
+
+		@Override
+		public void constraint(MappedConstraint constraint) {
+			events.add( "constraint " + constraint.getAnnotation() + " " + constraint.getMessage() );
+		}
+
+		@Override
+		public void end() {
+			events.add( "end" );
+		}
+
+		@Override
+		public void endBean() {
+			events.add( "endBean" );
+		}
+
+		@Override
+		public void constraintDefinition(String annotation, Boolean includeExistingValidators, List<String> validatedBy) {
+			events.add( "constraintDefinition " + annotation );
+		}
+	}
+}
@@ -0,0 +1,225 @@
+/*
+ * Bean Validation API
+ *
+ * License: Apache License, Version 2.0
+ * See the license.txt file in the root directory or <http://www.apache.org/licenses/LICENSE-2.0>.
+ */
+package javax.validation.spi;
+
+import static org.testng.Assert.assertEquals;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import javax.validation.ValidationException;
+
+import org.testng.annotations.Test;
+
+/**
+ * Tests for {@link ConstraintMappingReader}.
+ */
+public class ConstraintMappingReaderTest {
+
+	private static final String MAPPING =
+			"<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n" +
+			"<constraint-mappings xmlns=\"http://xmlns.jcp.org/xml/ns/validation/mapping\" version=\"2.0\">\n" +
+			"  <default-package>com.acme</default-package>\n" +
+			"  <bean class=\"Order\" ignore-annotations=\"false\">\n" +
+			"    <class>\n" +
+			"      <group-sequence><value>Basic</value><value>Order</value></group-sequence>\n" +
+			"    </class>\n" +
+			"    <field name=\"lines\">\n" +
+			"      <valid/>\n" +
+			"      <convert-group from=\"javax.validation.groups.Default\" to=\"Strict\"/>\n" +
+			"      <container-element-type type-argument-index=\"0\">\n" +
+			"        <constraint annotation=\"javax.validation.constraints.NotNull\"/>\n" +
+			"      </container-element-type>\n" +
+			"    </field>\n" +
+			"    <getter name=\"name\" ignore-annotations=\"true\">\n" +
+			"      <constraint annotation=\"javax.validation.constraints.Size\">\n" +
+			"        <message>too long</message>\n" +
+			"        <groups><value>Strict</value></groups>\n" +
+			"        <element name=\"max\">10</element>\n" +
+			"        <element name=\"flags\"><value>CASE_INSENSITIVE</value><value>MULTILINE</value></element>\n" +
+			"        <element name=\"nested\"><annotation><element name=\"value\">1</element></annotation></element>\n" +
+			"      </constraint>\n" +
+			"    </getter>\n" +
+			"    <method name=\"place\">\n" +
+			"      <parameter type=\"int\"/>\n" +
+			"      <return-value><valid/></return-value>\n" +
+			"    </method>\n" +
+			"  </bean>\n" +
+			"  <constraint-definition annotation=\"ZipCode\">\n" +
+			"    <validated-by include-existing-validators=\"false\"><value>ZipCodeValidator</value></validated-by>\n" +
+			"  </constraint-definition>\n" +
+			"</constraint-mappings>";
+
+	@Test
+	public void testRead() {
+		List<String> events = read( MAPPING );
+
+		assertEquals(
+				events,
+				Arrays.asList(
+						"beginMappings 2.0",
+						"defaultPackage com.acme",
+						"beginBean Order false",
+						"beginClass null",
+						"groupSequence [Basic, Order]",
+						"end",
+						"beginField lines null",
+						"valid",
+						"convertGroup javax.validation.groups.Default -> Strict",
+						"beginContainerElementType 0",
+						"constraint javax.validation.constraints.NotNull null [] [] {}",
+						"end",
+						"end",
+						"beginGetter name true",
+						"constraint javax.validation.constraints.Size too long [Strict] [] "
+								+ "{max=10, flags=[CASE_INSENSITIVE, MULTILINE], nested=[{value=1}]}",
+						"end",
+						"beginMethod place null",
+						"beginParameter int null",
+						"end",
+						"beginReturnValue null",
+						"valid",
+						"end",
+						"end",
+						"endBean",
+						"constraintDefinition ZipCode false [ZipCodeValidator]",
+						"endMappings"
+				)
+		);
+	}
+
+	@Test
+	public void testBeanIgnoresAnnotationsByDefault() {
+		List<String> events = read( "<constraint-mappings><bean class=\"Order\"/></constraint-mappings>" );
+
+		assertEquals(
+				events,
+				Arrays.asList( "beginMappings null", "beginBean Order true", "endBean", "endMappings" )
+		);
+	}
+
+	@Test(expectedExceptions = ValidationException.class)
+	public void testReadingUnexpectedElementFails() {
+		read( "<constraint-mappings><bean class=\"Order\"><property name=\"name\"/></bean></constraint-mappings>" );
+	}
+
+	@Test(expectedExceptions = ValidationException.class)
+	public void testReadingMalformedMappingFails() {
+		read( "<constraint-mappings><bean class=\"Order\"></constraint-mappings>" );
+	}
+
+	@Test(expectedExceptions = ValidationException.class)
+	public void testReadingMappingWithDoctypeFails() {
+		read( "<!DOCTYPE constraint-mappings [<!ENTITY x SYSTEM \"file:///etc/passwd\">]>"
+				+ "<constraint-mappings><default-package>&x;</default-package></constraint-mappings>" );
+	}
+
+	private static List<String> read(String mapping) {
+		List<String> events = new ArrayList<>();
+		InputStream in = new ByteArrayInputStream( mapping.getBytes( StandardCharsets.UTF_8 ) );
+
+		ConstraintMappingReader.read( in, new ConstraintMappingHandler() {
+
+			@Override
+			public void beginMappings(String version) {
+				events.add( "beginMappings " + version );
+			}
+
+			@Override
+			public void defaultPackage(String defaultPackage) {
+				events.add( "defaultPackage " + defaultPackage );
+			}
+
+			@Override
+			public void beginBean(String className, boolean ignoreAnnotations) {
+				events.add( "beginBean " + className + " " + ignoreAnnotations );
+			}
+
+			@Override
+			public void beginClass(Boolean ignoreAnnotations) {
+				events.add( "beginClass " + ignoreAnnotations );
+			}
+
+			@Override
+			public void groupSequence(List<String> groups) {
+				events.add( "groupSequence " + groups );
+			}
+
+			@Override
+			public void beginField(String name, Boolean ignoreAnnotations) {
+				events.add( "beginField " + name + " " + ignoreAnnotations );
+			}
+
+			@Override
+			public void beginGetter(String name, Boolean ignoreAnnotations) {
+				events.add( "beginGetter " + name + " " + ignoreAnnotations );
+			}
+
+			@Override
+			public void beginMethod(String name, Boolean ignoreAnnotations) {
+				events.add( "beginMethod " + name + " " + ignoreAnnotations );
+			}
+
+			@Override
+			public void beginParameter(String type, Boolean ignoreAnnotations) {
+				events.add( "beginParameter " + type + " " + ignoreAnnotations );
+			}
+
+			@Override
+			public void beginReturnValue(Boolean ignoreAnnotations) {
+				events.add( "beginReturnValue " + ignoreAnnotations );
+			}
+
+			@Override
+			public void beginContainerElementType(Integer typeArgumentIndex) {
+				events.add( "beginContainerElementType " + typeArgumentIndex );
+			}
+
+			@Override
+			public void valid() {
+				events.add( "valid" );
+			}
+
+			@Override
+			public void convertGroup(String from, String to) {
+				events.add( "convertGroup " + from + " -> " + to );
+			}
+
+			@Override
+			public void constraint(MappedConstraint constraint) {
+				events.add( "constraint " + constraint.getAnnotation() + " " + constraint.getMessage() + " "
+						+ constraint.getGroups() + " " + constraint.getPayload() + " " + constraint.getElements() );
+			}
+
+			@Override
+			public void end() {
+				events.add( "end" );
+			}
+
+			@Override
+			public void endBean() {
+				events.add( "endBean" );
+			}
+
+			@Override
+			public void constraintDefinition(String annotation, Boolean includeExistingValidators, List<String> validatedBy) {
+				events.add( "constraintDefinition " + annotation + " " + includeExistingValidators + " " + validatedBy );
+			}
+
+			@Override
+			public void endMappings() {
+				events.add( "endMappings" );
+			}
+		} );
+
+		return events;
+	}
+}
@@ -0,0 +1,404 @@
+/*
+ * Bean Validation API
+ *
+ * License: Apache License, Version 2.0
+ * See the license.txt file in the root directory or <http://www.apache.org/licenses/LICENSE-2.0>.
+ */
+package javax.validation.spi;
+
+import static org.testng.Assert.assertEquals;
+
+import java.io.ByteArrayOutputStream;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Proxy;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import javax.validation.ValidationException;
+import javax.validation.constraints.NotNull;
+import javax.validation.constraints.Pattern;
+import javax.validation.constraints.Size;
+import javax.validation.groups.Default;
+import javax.validation.metadata.BeanDescriptor;
+import javax.validation.metadata.ConstraintDescriptor;
+import javax.validation.metadata.ContainerElementTypeDescriptor;
+import javax.validation.metadata.GroupConversionDescriptor;
+import javax.validation.metadata.PropertyDescriptor;
+
+import org.testng.annotations.Test;
+
+/**
+ * Tests for {@link ConstraintMetadataSnapshot}.
+ */
+public class ConstraintMetadataSnapshotTest {
+
+	private static final int INT = 6;
+	private static final int ENUM = 11;
+	private static final int ARRAY = 12;
+
+	@Test
+	public void testRoundTrip() throws Exception {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		ConstraintMetadataSnapshot.write( Collections.singleton( orderDescriptor() ), out );
+
+		List<String> events = read( ByteBuffer.wrap( out.toByteArray() ) );
+
+		assertEquals(
+				events,
+				Arrays.asList(
+						"beginBean " + Order.class.getName(),
+						"beginProperty lines",
+						"cascaded",
+						"groupConversion " + Default.class.getName() + " -> " + Strict.class.getName(),
+						"beginContainerElement java.util.List 0",
+						"constraint NotNull {groups=[], message={javax.validation.constraints.NotNull.message}, payload=[]}",
+						"end",
+						"end",
+						"beginProperty name",
+						"constraint Size {groups=[], max=10, message={javax.validation.constraints.Size.message}, min=1, payload=[]}",
+						"constraint Pattern {flags=[CASE_INSENSITIVE], groups=[interface " + Strict.class.getName()
+								+ "], message=must match, payload=[], regexp=\\d+}",
+						"end",
+						"endBean"
+				)
+		);
+	}
+
+	@Test
+	public void testReadMappedSnapshot() throws Exception {
+		Path file = Files.createTempFile( "snapshot", ".bin" );
+		try {
+			ByteArrayOutputStream out = new ByteArrayOutputStream();
+			ConstraintMetadataSnapshot.write( Collections.singleton( orderDescriptor() ), out );
+			Files.write( file, out.toByteArray() );
+
+			ByteBuffer snapshot = ConstraintMetadataSnapshot.map( file );
+
+			// reading twice yields the same result as the buffer position is not altered
+			assertEquals( read( snapshot ), read( ByteBuffer.wrap( out.toByteArray() ) ) );
+			assertEquals( read( snapshot ).size(), 13 );
+		}
+		finally {
+			Files.delete( file );
+		}
+	}
+
+	@Test(expectedExceptions = ValidationException.class)
+	public void testReadingMalformedSnapshotFails() {
+		read( ByteBuffer.wrap( new byte[] { 1, 2, 3, 4, 5 } ) );
+	}
+
+	@Test(expectedExceptions = ValidationException.class)
+	public void testReadingTruncatedSnapshotFails() throws Exception {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		ConstraintMetadataSnapshot.write( Collections.singleton( orderDescriptor() ), out );
+
+		read( ByteBuffer.wrap( Arrays.copyOf( out.toByteArray(), out.size() - 10 ) ) );
+	}
+
+	@Test(expectedExceptions = ValidationException.class, expectedExceptionsMessageRegExp = "Invalid length.*")
+	public void testReadingHugeStringLengthFails() {
+		read( new SnapshotBuilder().header().varInt( 1 ).varInt( 0 ).varInt( Integer.MAX_VALUE ).build() );
+	}
+
+	@Test(expectedExceptions = ValidationException.class, expectedExceptionsMessageRegExp = "Invalid length.*")
+	public void testReadingNegativeStringLengthFails() {
+		read( new SnapshotBuilder().header().varInt( 1 ).varInt( 0 ).varInt( -1 ).build() );
+	}
+
+	@Test(expectedExceptions = ValidationException.class, expectedExceptionsMessageRegExp = "Invalid length.*")
+	public void testReadingHugeBeanCountFails() {
+		read( new SnapshotBuilder().header().varInt( Integer.MAX_VALUE ).build() );
+	}
+
+	@Test(expectedExceptions = ValidationException.class, expectedExceptionsMessageRegExp = "Invalid length.*")
+	public void testReadingHugeArrayLengthFails() {
+		read( new SnapshotBuilder().attribute( ARRAY ).string( String.class.getName() ).varInt( Integer.MAX_VALUE ).build() );
+	}
+
+	@Test(expectedExceptions = ValidationException.class, expectedExceptionsMessageRegExp = "Unknown constant.*")
+	public void testReadingUnknownEnumConstantFails() {
+		read( new SnapshotBuilder().attribute( ENUM ).string( Pattern.Flag.class.getName() ).string( "NO_SUCH_FLAG" ).build() );
+	}
+
+	@Test(expectedExceptions = ValidationException.class, expectedExceptionsMessageRegExp = ".* is not an enum type\\.")
+	public void testReadingEnumConstantOfNonEnumTypeFails() {
+		read( new SnapshotBuilder().attribute( ENUM ).string( String.class.getName() ).string( "CASE_INSENSITIVE" ).build() );
+	}
+
+	@Test(expectedExceptions = ValidationException.class, expectedExceptionsMessageRegExp = "Invalid element of array.*")
+	public void testReadingMismatchingArrayElementFails() {
+		read( new SnapshotBuilder().attribute( ARRAY ).string( String.class.getName() ).varInt( 1 )
+				.tag( INT ).int32( 1 )
+				.build() );
+	}
+
+	@Test(expectedExceptions = ValidationException.class, expectedExceptionsMessageRegExp = "Nested array.*")
+	public void testReadingNestedArrayFails() {
+		read( new SnapshotBuilder().attribute( ARRAY ).string( Object.class.getName() ).varInt( 1 )
+				.tag( ARRAY ).string( String.class.getName() ).varInt( 0 )
+				.build() );
+	}
+
+	@Test(expectedExceptions = ValidationException.class, expectedExceptionsMessageRegExp = ".*nested too deeply.*")
+	public void testReadingDeeplyNestedContainerElementsFails() {
+		// a bean with a property without constraints, cascades and group conversions
+		SnapshotBuilder snapshot = new SnapshotBuilder().header().varInt( 1 ).string( Order.class.getName() ).varInt( 0 )
+				.varInt( 1 ).string( "lines" ).varInt( 0 ).tag( 0 ).varInt( 0 );
+		// each container element has one nested container element
+		snapshot.varInt( 1 ).string( List.class.getName() ).varInt( 1 ).varInt( 0 ).tag( 0 ).varInt( 0 );
+		for ( int i = 0; i < 1000; i++ ) {
+			snapshot.varInt( 1 ).stringReference( 3 ).varInt( 1 ).varInt( 0 ).tag( 0 ).varInt( 0 );
+		}
+
+		read( snapshot.varInt( 0 ).build() );
+	}
+
+	private static List<String> read(ByteBuffer snapshot) {
+		List<String> events = new ArrayList<>();
+		ConstraintMetadataSnapshot.read( snapshot, ConstraintMetadataSnapshotTest.class.getClassLoader(), new ConstraintMetadataVisitor() {
+
+			@Override
+			public void beginBean(Class<?> beanClass) {
+				events.add( "beginBean " + beanClass.getName() );
+			}
+
+			@Override
+			public void beginProperty(String propertyName) {
+				events.add( "beginProperty " + propertyName );
+			}
+
+			@Override
+			public void beginContainerElement(Class<?> containerClass, int typeArgumentIndex) {
+				events.add( "beginContainerElement " + containerClass.getName() + " " + typeArgumentIndex );
+			}
+
+			@Override
+			public void constraint(Class<? extends Annotation> annotationType, Map<String, Object> attributes) {
+				Map<String, String> sortedAttributes = new TreeMap<>();
+				for ( Map.Entry<String, Object> attribute : attributes.entrySet() ) {
+					Object value = attribute.getValue();
+					sortedAttributes.put(
+							attribute.getKey(),
+							value instanceof Object[] ? Arrays.toString( (Object[]) value ) : String.valueOf( value )
+					);
+				}
+				events.add( "constraint " + annotationType.getSimpleName() + " " + sortedAttributes );
+			}
+
+			@Override
+			public void cascaded() {
+				events.add( "cascaded" );
+			}
+
+			@Override
+			public void groupConversion(Class<?> from, Class<?> to) {
+				events.add( "groupConversion " + from.getName() + " -> " + to.getName() );
+			}
+
+			@Override
+			public void end() {
+				events.add( "end" );
+			}
+
+			@Override
+			public void endBean() {
+				events.add( "endBean" );
+			}
+		} );
+		return events;
+	}
+
+	private static BeanDescriptor orderDescriptor() throws Exception {
+		Map<String, Object> sizeAttributes = new LinkedHashMap<>();
+		sizeAttributes.put( "message", "{javax.validation.constraints.Size.message}" );
+		sizeAttributes.put( "groups", new Class<?>[0] );
+		sizeAttributes.put( "payload", new Class<?>[0] );
+		sizeAttributes.put( "min", 1 );
+		sizeAttributes.put( "max", 10 );
+
+		Map<String, Object> patternAttributes = new LinkedHashMap<>();
+		patternAttributes.put( "message", "must match" );
+		patternAttributes.put( "groups", new Class<?>[] { Strict.class } );
+		patternAttributes.put( "payload", new Class<?>[0] );
+		patternAttributes.put( "regexp", "\\d+" );
+		patternAttributes.put( "flags", new Pattern.Flag[] { Pattern.Flag.CASE_INSENSITIVE } );
+
+		Map<String, Object> notNullAttributes = new LinkedHashMap<>();
+		notNullAttributes.put( "message", "{javax.validation.constraints.NotNull.message}" );
+		notNullAttributes.put( "groups", new Class<?>[0] );
+		notNullAttributes.put( "payload", new Class<?>[0] );
+
+		PropertyDescriptor name = descriptor(
+				PropertyDescriptor.class,
+				"getPropertyName", "name",
+				"getConstraintDescriptors", new LinkedHashSet<>( Arrays.asList(
+						constraint( Order.class.getDeclaredField( "name" ).getAnnotation( Size.class ), sizeAttributes ),
+						constraint( Order.class.getDeclaredField( "name" ).getAnnotation( Pattern.class ), patternAttributes )
+				) ),
+				"isCascaded", false,
+				"getGroupConversions", Collections.emptySet(),
+				"getConstrainedContainerElementTypes", Collections.emptySet()
+		);
+
+		ContainerElementTypeDescriptor lineElement = descriptor(
+				ContainerElementTypeDescriptor.class,
+				"getContainerClass", List.class,
+				"getTypeArgumentIndex", 0,
+				"getConstraintDescriptors", Collections.singleton(
+						constraint( Order.class.getDeclaredField( "lines" ).getAnnotation( NotNull.class ), notNullAttributes )
+				),
+				"isCascaded", false,
+				"getGroupConversions", Collections.emptySet(),
+				"getConstrainedContainerElementTypes", Collections.emptySet()
+		);
+
+		PropertyDescriptor lines = descriptor(
+				PropertyDescriptor.class,
+				"getPropertyName", "lines",
+				"getConstraintDescriptors", Collections.emptySet(),
+				"isCascaded", true,
+				"getGroupConversions", Collections.singleton( descriptor(
+						GroupConversionDescriptor.class,
+						"getFrom", Default.class,
+						"getTo", Strict.class
+				) ),
+				"getConstrainedContainerElementTypes", Collections.singleton( lineElement )
+		);
+
+		return descriptor(
+				BeanDescriptor.class,
+				"getElementClass", Order.class,
+				"getConstraintDescriptors", Collections.emptySet(),
+				"getConstrainedProperties", new LinkedHashSet<>( Arrays.asList( name, lines ) )
+		);
+	}
+
+	private static ConstraintDescriptor<?> constraint(Annotation annotation, Map<String, Object> attributes) {
+		return descriptor(
+				ConstraintDescriptor.class,
+				"getAnnotation", annotation,
+				"getAttributes", attributes
+		);
+	}
+
+	/**
+	 * Returns a proxy of the given descriptor type returning the given values from the
+	 * methods with the given names.
+	 */
+	private static <T> T descriptor(Class<T> type, Object... methodNamesAndResults) {
+		Map<String, Object> results = new HashMap<>();
+		for ( int i = 0; i < methodNamesAndResults.length; i += 2 ) {
+			results.put( (String) methodNamesAndResults[i], methodNamesAndResults[i + 1] );
+		}
+
+		return type.cast( Proxy.newProxyInstance(
+				type.getClassLoader(),
+				new Class<?>[] { type },
+				(proxy, method, args) -> {
+					if ( method.getName().equals( "hashCode" ) ) {
+						return System.identityHashCode( proxy );
+					}
+					if ( method.getName().equals( "equals" ) ) {
+						return proxy == args[0];
+					}
+					if ( !results.containsKey( method.getName() ) ) {
+						throw new UnsupportedOperationException( method.getName() );
+					}
+					return results.get( method.getName() );
+				}
+		) );
+	}
+
+	private interface Strict {
+	}
+
+	private static class Order {
+
+		@Size(min = 1, max = 10)
+		@Pattern(regexp = "\\d+", message = "must match", groups = Strict.class)
+		private String name;
+
+		@NotNull
+		private List<String> lines;
+	}
+
+	/**
+	 * Writes snapshots byte by byte, e.g. malformed ones.
+	 */
+	private static class SnapshotBuilder {
+
+		private final ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+		private SnapshotBuilder header() {
+			out.write( 0x42 );
+			out.write( 0x56 );
+			out.write( 0x4D );
+			out.write( 0x53 );
+			out.write( 1 );
+			return this;
+		}
+
+		/**
+		 * Writes the beginning of a snapshot up to the tag of the value of the
+		 * {@code flags} attribute of a {@code @Pattern} constraint of {@link Order}.
+		 */
+		private SnapshotBuilder attribute(int tag) {
+			return header().varInt( 1 ).string( Order.class.getName() )
+					.varInt( 1 ).string( Pattern.class.getName() )
+					.varInt( 1 ).string( "flags" )
+					.tag( tag );
+		}
+
+		private SnapshotBuilder tag(int tag) {
+			out.write( tag );
+			return this;
+		}
+
+		private SnapshotBuilder int32(int value) {
+			out.write( value >>> 24 );
+			out.write( value >>> 16 );
+			out.write( value >>> 8 );
+			out.write( value );
+			return this;
+		}
+
+		private SnapshotBuilder varInt(int value) {
+			while ( ( value & ~0x7F ) != 0 ) {
+				out.write( ( value & 0x7F ) | 0x80 );
+				value >>>= 7;
+			}
+			out.write( value );
+			return this;
+		}
+
+		private SnapshotBuilder string(String value) {
+			byte[] bytes = value.getBytes( StandardCharsets.UTF_8 );
+			varInt( 0 ).varInt( bytes.length );
+			out.write( bytes, 0, bytes.length );
+			return this;
+		}
+
+		/**
+		 * Refers to the string written at the given position, starting at 1.
+		 */
+		private SnapshotBuilder stringReference(int position) {
+			return varInt( position );
+		}
+
+		private ByteBuffer build() {
+			return ByteBuffer.wrap( out.toByteArray() );
+		}
+	}
+}
@@ -0,0 +1,67 @@
+/*
+ * Bean Validation API
+ *
+ * License: Apache License, Version 2.0
+ * See the license.txt file in the root directory or <http://www.apache.org/licenses/LICENSE-2.0>.
+ */
+package javax.validation.valueextraction;
+
+import static org.testng.Assert.assertEquals;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import javax.validation.valueextraction.ValueExtractor.ValueReceiver;
+
+import org.testng.annotations.Test;
+
+public class ValueExtractorTest {
+
+	@Test
+	public void testIndexedValuesPassesEachValueWithItsIndex() {
+		RecordingValueReceiver receiver = new RecordingValueReceiver();
+
+		receiver.indexedValues( "<list element>", Arrays.asList( "a", null, "c" ) );
+
+		assertEquals(
+				receiver.received,
+				Arrays.asList( "<list element>[0]=a", "<list element>[1]=null", "<list element>[2]=c" )
+		);
+	}
+
+	@Test
+	public void testIndexedValuesWithoutValues() {
+		RecordingValueReceiver receiver = new RecordingValueReceiver();
+
+		receiver.indexedValues( "<list element>", Collections.emptyList() );
+
+		assertEquals( receiver.received, Collections.emptyList() );
+	}
+
+	private static class RecordingValueReceiver implements ValueReceiver {
+
+		private final List<String> received = new ArrayList<>();
+
+		@Override
+		public void value(String nodeName, Object object) {
+			throw new UnsupportedOperationException( "Not implemented" );
+		}
+
+		@Override
+		public void iterableValue(String nodeName, Object object) {
+			throw new UnsupportedOperationException( "Not implemented" );
+		}
+
+		@Override
+		public void indexedValue(String nodeName, int i, Object object) {
+			received.add( nodeName + "[" + i + "]=" + object );
+		}
+
+		@Override
+		public void keyedValue(String nodeName, Object key, Object object) {
+			throw new UnsupportedOperationException( "Not implemented" );
+		}
+	}
+}
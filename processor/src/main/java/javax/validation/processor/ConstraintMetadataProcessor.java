@@ -0,0 +1,313 @@
+/*
+ * Bean Validation API
+ *
+ * License: Apache License, Version 2.0
+ * See the license.txt file in the root directory or <http://www.apache.org/licenses/LICENSE-2.0>.
+ */
+package javax.validation.processor;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.AnnotationValue;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.NestingKind;
+import javax.lang.model.element.PackageElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.tools.Diagnostic.Kind;
+import javax.validation.spi.ConstraintMetadataVisitor;
+import javax.validation.spi.PrecompiledBeanMetadata;
+
+/**
+ * Annotation processor generating the {@link PrecompiledBeanMetadata} of the bean types
+ * being compiled.
+ * <p>
+ * For each non-private type, a class named after the type as described in
+ * {@link PrecompiledBeanMetadata} is generated. It reports the class-level constraints of
+ * the type as well as the constraints, cascades ({@code @Valid}) and group conversions
+ * ({@code @ConvertGroup}) of its fields and getters, including those declared on type
+ * arguments, to a {@link ConstraintMetadataVisitor} without any reflection. For types without
+ * such metadata, an empty metadata class is generated, so that providers don't need to
+ * reflect on them either. The generated class also records the fingerprint of the type (see
+ * {@link javax.validation.spi.BeanClassFingerprint}), so that it can be detected if the type
+ * is recompiled later on without running the processor.
+ * <p>
+ * Bean types whose metadata cannot be expressed by generated code, e.g. as they reference
+ * inaccessible types, are reported with a warning and skipped; providers fall back to
+ * reflection for those.
+ * <p>
+ * The processor is enabled by adding its artifact to the annotation processor path of the
+ * compiler.
+ *
+ * @since 2.0
+ */
+@SupportedAnnotationTypes("*")
+public class ConstraintMetadataProcessor extends AbstractProcessor {
+
+	private static final String CONSTRAINT = "javax.validation.Constraint";
+	private static final String VALID = "javax.validation.Valid";
+	private static final String CONVERT_GROUP = "javax.validation.groups.ConvertGroup";
+	private static final String CONVERT_GROUP_LIST = "javax.validation.groups.ConvertGroup.List";
+
+	@Override
+	public SourceVersion getSupportedSourceVersion() {
+		return SourceVersion.latestSupported();
+	}
+
+	@Override
+	public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+		for ( TypeElement type : ElementFilter.typesIn( roundEnv.getRootElements() ) ) {
+			processType( type );
+		}
+
+		// other processors may process the same annotations
+		return false;
+	}
+
+	private void processType(TypeElement type) {
+		for ( TypeElement nestedType : ElementFilter.typesIn( type.getEnclosedElements() ) ) {
+			processType( nestedType );
+		}
+
+		if ( type.getKind() == ElementKind.ANNOTATION_TYPE || type.getNestingKind() == NestingKind.LOCAL
+				|| type.getNestingKind() == NestingKind.ANONYMOUS ) {
+			return;
+		}
+
+		// metadata classes generated in a previous round
+		if ( type.getSimpleName().toString().endsWith( PrecompiledBeanMetadata.CLASS_NAME_SUFFIX ) ) {
+			return;
+		}
+
+		PackageElement pkg = processingEnv.getElementUtils().getPackageOf( type );
+		if ( !isAccessible( type, pkg ) ) {
+			return;
+		}
+
+		String source;
+		try {
+			source = generateSource( type, pkg );
+		}
+		catch ( UnsupportedMetadataException e ) {
+			processingEnv.getMessager().printMessage(
+					Kind.WARNING,
+					"No constraint metadata generated for " + type.getQualifiedName() + ": " + e.getMessage(),
+					type
+			);
+			return;
+		}
+
+		String binaryName = processingEnv.getElementUtils().getBinaryName( type ).toString();
+		try ( Writer writer = processingEnv.getFiler()
+				.createSourceFile( binaryName + PrecompiledBeanMetadata.CLASS_NAME_SUFFIX, type )
+				.openWriter() ) {
+			writer.write( source );
+		}
+		catch ( IOException e ) {
+			processingEnv.getMessager().printMessage(
+					Kind.ERROR,
+					"Unable to write the constraint metadata of " + type.getQualifiedName() + ": " + e.getMessage(),
+					type
+			);
+		}
+	}
+
+	/**
+	 * Returns the source of the metadata class of the given type, which is empty if the type
+	 * has no constraint metadata.
+	 */
+	private String generateSource(TypeElement type, PackageElement pkg) {
+		MetadataClassWriter writer = new MetadataClassWriter( processingEnv, pkg );
+
+		for ( AnnotationMirror annotation : type.getAnnotationMirrors() ) {
+			for ( AnnotationMirror constraint : getConstraints( annotation ) ) {
+				writer.constraint( constraint );
+			}
+		}
+
+		for ( Element member : type.getEnclosedElements() ) {
+			if ( member.getModifiers().contains( Modifier.STATIC ) ) {
+				continue;
+			}
+
+			if ( member.getKind() == ElementKind.FIELD ) {
+				writer.beginField( member.getSimpleName().toString() );
+				writeElement( writer, member.getAnnotationMirrors(), member.asType() );
+				writer.end();
+			}
+			else if ( member.getKind() == ElementKind.METHOD ) {
+				String propertyName = getPropertyName( (ExecutableElement) member );
+				if ( propertyName != null ) {
+					writer.beginGetter( propertyName );
+					writeElement( writer, member.getAnnotationMirrors(), ( (ExecutableElement) member ).getReturnType() );
+					writer.end();
+				}
+			}
+		}
+
+		return writer.toSource( type );
+	}
+
+	private void writeElement(MetadataClassWriter writer, List<? extends AnnotationMirror> annotations, TypeMirror type) {
+		for ( AnnotationMirror annotation : annotations ) {
+			String annotationName = getQualifiedName( annotation );
+			if ( VALID.equals( annotationName ) ) {
+				writer.cascaded();
+			}
+			else if ( CONVERT_GROUP.equals( annotationName ) ) {
+				writer.groupConversion( annotation );
+			}
+			else if ( CONVERT_GROUP_LIST.equals( annotationName ) ) {
+				for ( AnnotationMirror groupConversion : getListedAnnotations( annotation ) ) {
+					writer.groupConversion( groupConversion );
+				}
+			}
+			else {
+				for ( AnnotationMirror constraint : getConstraints( annotation ) ) {
+					writer.constraint( constraint );
+				}
+			}
+		}
+
+		if ( type.getKind() == TypeKind.DECLARED ) {
+			List<? extends TypeMirror> typeArguments = ( (DeclaredType) type ).getTypeArguments();
+			for ( int i = 0; i < typeArguments.size(); i++ ) {
+				TypeMirror typeArgument = typeArguments.get( i );
+				writer.beginContainerElement( type, i );
+				writeElement( writer, typeArgument.getAnnotationMirrors(), typeArgument );
+				writer.end();
+			}
+		}
+	}
+
+	/**
+	 * Returns the given annotation if it is a constraint, the constraints it lists if it is a
+	 * multi-valued constraint container such as {@code @Size.List}, or an empty list
+	 * otherwise.
+	 */
+	private List<? extends AnnotationMirror> getConstraints(AnnotationMirror annotation) {
+		if ( isConstraint( annotation ) ) {
+			return Collections.singletonList( annotation );
+		}
+
+		List<? extends AnnotationMirror> listedAnnotations = getListedAnnotations( annotation );
+		for ( AnnotationMirror listedAnnotation : listedAnnotations ) {
+			if ( !isConstraint( listedAnnotation ) ) {
+				return Collections.emptyList();
+			}
+		}
+		return listedAnnotations;
+	}
+
+	private List<AnnotationMirror> getListedAnnotations(AnnotationMirror annotation) {
+		List<AnnotationMirror> listedAnnotations = new ArrayList<>();
+		for ( Map.Entry<? extends ExecutableElement, ? extends AnnotationValue> attribute
+				: annotation.getElementValues().entrySet() ) {
+			if ( !attribute.getKey().getSimpleName().contentEquals( "value" )
+					|| !( attribute.getValue().getValue() instanceof List ) ) {
+				continue;
+			}
+			for ( Object value : (List<?>) attribute.getValue().getValue() ) {
+				Object listedValue = ( (AnnotationValue) value ).getValue();
+				if ( listedValue instanceof AnnotationMirror ) {
+					listedAnnotations.add( (AnnotationMirror) listedValue );
+				}
+			}
+		}
+		return listedAnnotations;
+	}
+
+	private boolean isConstraint(AnnotationMirror annotation) {
+		for ( AnnotationMirror metaAnnotation : annotation.getAnnotationType().asElement().getAnnotationMirrors() ) {
+			if ( CONSTRAINT.equals( getQualifiedName( metaAnnotation ) ) ) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Returns the property name represented by the given method if it is a getter as defined
+	 * by the JavaBeans specification, {@code null} otherwise.
+	 */
+	private static String getPropertyName(ExecutableElement method) {
+		if ( !method.getParameters().isEmpty() || method.getReturnType().getKind() == TypeKind.VOID ) {
+			return null;
+		}
+
+		String name = method.getSimpleName().toString();
+		if ( name.startsWith( "get" ) && name.length() > 3 ) {
+			return decapitalize( name.substring( 3 ) );
+		}
+		if ( name.startsWith( "is" ) && name.length() > 2 && method.getReturnType().getKind() == TypeKind.BOOLEAN ) {
+			return decapitalize( name.substring( 2 ) );
+		}
+		return null;
+	}
+
+	private static String decapitalize(String name) {
+		if ( name.length() > 1 && Character.isUpperCase( name.charAt( 1 ) ) && Character.isUpperCase( name.charAt( 0 ) ) ) {
+			return name;
+		}
+		return Character.toLowerCase( name.charAt( 0 ) ) + name.substring( 1 );
+	}
+
+	private static String getQualifiedName(AnnotationMirror annotation) {
+		return ( (TypeElement) annotation.getAnnotationType().asElement() ).getQualifiedName().toString();
+	}
+
+	/**
+	 * Whether the given type can be referenced from code in the given package.
+	 */
+	static boolean isAccessible(TypeElement type, PackageElement pkg) {
+		Element element = type;
+		while ( element instanceof TypeElement ) {
+			Set<Modifier> modifiers = element.getModifiers();
+			if ( modifiers.contains( Modifier.PRIVATE ) ) {
+				return false;
+			}
+			if ( !modifiers.contains( Modifier.PUBLIC ) && !isInPackage( element, pkg ) ) {
+				return false;
+			}
+			element = element.getEnclosingElement();
+		}
+		return true;
+	}
+
+	private static boolean isInPackage(Element element, PackageElement pkg) {
+		Element enclosing = element.getEnclosingElement();
+		while ( !( enclosing instanceof PackageElement ) ) {
+			enclosing = enclosing.getEnclosingElement();
+		}
+		return ( (PackageElement) enclosing ).getQualifiedName().contentEquals( pkg.getQualifiedName() );
+	}
+
+	/**
+	 * Raised if the metadata of a bean type cannot be expressed by generated code.
+	 */
+	static class UnsupportedMetadataException extends RuntimeException {
+
+		private static final long serialVersionUID = 1L;
+
+		UnsupportedMetadataException(String message) {
+			super( message );
+		}
+	}
+}
@@ -0,0 +1,173 @@
+/*
+ * Bean Validation API
+ *
+ * License: Apache License, Version 2.0
+ * See the license.txt file in the root directory or <http://www.apache.org/licenses/LICENSE-2.0>.
+ */
+package javax.validation.processor;
+
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import javax.annotation.processing.ProcessingEnvironment;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.AnnotationValue;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.ArrayType;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.validation.spi.BeanClassFingerprint;
+
+/**
+ * Computes the fingerprint of a bean type being compiled, matching the one computed by
+ * {@link BeanClassFingerprint#of(Class)} for the compiled bean type.
+ */
+class ElementFingerprint {
+
+	private final ProcessingEnvironment processingEnv;
+
+	ElementFingerprint(ProcessingEnvironment processingEnv) {
+		this.processingEnv = processingEnv;
+	}
+
+	String of(TypeElement type) {
+		List<String> descriptors = new ArrayList<>();
+		descriptors.add( "class" + annotations( type.getAnnotationMirrors() ) );
+
+		for ( Element member : type.getEnclosedElements() ) {
+			if ( member.getModifiers().contains( Modifier.STATIC ) ) {
+				continue;
+			}
+
+			if ( member.getKind() == ElementKind.FIELD ) {
+				descriptors.add( "field " + member.getSimpleName() + " " + type( member.asType() )
+						+ annotations( member.getAnnotationMirrors() ) );
+			}
+			else if ( member.getKind() == ElementKind.METHOD ) {
+				ExecutableElement method = (ExecutableElement) member;
+				if ( method.getParameters().isEmpty() ) {
+					descriptors.add( "method " + method.getSimpleName() + " " + type( method.getReturnType() )
+							+ annotations( method.getAnnotationMirrors() ) );
+				}
+			}
+		}
+
+		return BeanClassFingerprint.of( descriptors );
+	}
+
+	private String type(TypeMirror type) {
+		return typeName( processingEnv.getTypeUtils().erasure( type ) ) + typeArguments( type );
+	}
+
+	private String typeArguments(TypeMirror type) {
+		if ( type.getKind() != TypeKind.DECLARED ) {
+			return "";
+		}
+
+		List<? extends TypeMirror> typeArguments = ( (DeclaredType) type ).getTypeArguments();
+		if ( typeArguments.isEmpty() ) {
+			return "";
+		}
+
+		StringBuilder sb = new StringBuilder( "<" );
+		for ( int i = 0; i < typeArguments.size(); i++ ) {
+			if ( i > 0 ) {
+				sb.append( ',' );
+			}
+			sb.append( annotations( typeArguments.get( i ).getAnnotationMirrors() ).trim() )
+					.append( typeArguments( typeArguments.get( i ) ) );
+		}
+		return sb.append( '>' ).toString();
+	}
+
+	/**
+	 * Returns the name of the given type as returned by {@link Class#getTypeName()}.
+	 */
+	private String typeName(TypeMirror type) {
+		if ( type.getKind() == TypeKind.ARRAY ) {
+			return typeName( ( (ArrayType) type ).getComponentType() ) + "[]";
+		}
+		if ( type.getKind() == TypeKind.DECLARED ) {
+			return processingEnv.getElementUtils().getBinaryName( (TypeElement) ( (DeclaredType) type ).asElement() ).toString();
+		}
+		return type.toString();
+	}
+
+	/**
+	 * Returns the representations of the given annotations with runtime retention, each
+	 * preceded by a space.
+	 */
+	private String annotations(List<? extends AnnotationMirror> annotations) {
+		List<String> representations = new ArrayList<>( annotations.size() );
+		for ( AnnotationMirror annotation : annotations ) {
+			Retention retention = annotation.getAnnotationType().asElement().getAnnotation( Retention.class );
+			if ( retention != null && retention.value() == RetentionPolicy.RUNTIME ) {
+				representations.add( annotation( annotation ) );
+			}
+		}
+		Collections.sort( representations );
+
+		StringBuilder sb = new StringBuilder();
+		for ( String representation : representations ) {
+			sb.append( ' ' ).append( representation );
+		}
+		return sb.toString();
+	}
+
+	private String annotation(AnnotationMirror annotation) {
+		Map<String, AnnotationValue> attributes = new TreeMap<>();
+		for ( Map.Entry<? extends ExecutableElement, ? extends AnnotationValue> attribute
+				: processingEnv.getElementUtils().getElementValuesWithDefaults( annotation ).entrySet() ) {
+			attributes.put( attribute.getKey().getSimpleName().toString(), attribute.getValue() );
+		}
+
+		StringBuilder sb = new StringBuilder( "@" ).append( typeName( annotation.getAnnotationType() ) ).append( '(' );
+		boolean first = true;
+		for ( Map.Entry<String, AnnotationValue> attribute : attributes.entrySet() ) {
+			if ( !first ) {
+				sb.append( ',' );
+			}
+			first = false;
+			sb.append( attribute.getKey() ).append( '=' ).append( value( attribute.getValue().getValue() ) );
+		}
+		return sb.append( ')' ).toString();
+	}
+
+	private String value(Object value) {
+		if ( value instanceof String ) {
+			return "\"" + value + "\"";
+		}
+		if ( value instanceof TypeMirror ) {
+			return typeName( (TypeMirror) value );
+		}
+		if ( value instanceof VariableElement ) {
+			return ( (VariableElement) value ).getSimpleName().toString();
+		}
+		if ( value instanceof AnnotationMirror ) {
+			return annotation( (AnnotationMirror) value );
+		}
+		if ( value instanceof List ) {
+			StringBuilder sb = new StringBuilder( "{" );
+			List<?> elements = (List<?>) value;
+			for ( int i = 0; i < elements.size(); i++ ) {
+				if ( i > 0 ) {
+					sb.append( ',' );
+				}
+				sb.append( value( ( (AnnotationValue) elements.get( i ) ).getValue() ) );
+			}
+			return sb.append( '}' ).toString();
+		}
+		return String.valueOf( value );
+	}
+}
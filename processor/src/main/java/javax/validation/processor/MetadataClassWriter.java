@@ -0,0 +1,316 @@
+/*
+ * Bean Validation API
+ *
+ * License: Apache License, Version 2.0
+ * See the license.txt file in the root directory or <http://www.apache.org/licenses/LICENSE-2.0>.
+ */
+package javax.validation.processor;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+import javax.annotation.processing.ProcessingEnvironment;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.AnnotationValue;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.PackageElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.ArrayType;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.validation.processor.ConstraintMetadataProcessor.UnsupportedMetadataException;
+import javax.validation.spi.PrecompiledBeanMetadata;
+
+/**
+ * Assembles the source of the {@link PrecompiledBeanMetadata} implementation of one bean
+ * type. The body of the generated {@code accept()} method is the sequence of visitor
+ * invocations describing the bean type; fields, getters and container elements without
+ * any metadata are omitted.
+ */
+class MetadataClassWriter {
+
+	private static final String VISITOR = "javax.validation.spi.ConstraintMetadataVisitor";
+
+	private final ProcessingEnvironment processingEnv;
+	private final PackageElement pkg;
+
+	/**
+	 * The currently open elements; the statements of an element are only added to its
+	 * parent once the element has been found to have any metadata.
+	 */
+	private final Deque<Block> blocks = new ArrayDeque<>();
+
+	MetadataClassWriter(ProcessingEnvironment processingEnv, PackageElement pkg) {
+		this.processingEnv = processingEnv;
+		this.pkg = pkg;
+		this.blocks.push( new Block( null ) );
+	}
+
+	void beginField(String name) {
+		blocks.push( new Block( () -> "visitor.beginField( " + stringLiteral( name ) + " );" ) );
+	}
+
+	void beginGetter(String propertyName) {
+		blocks.push( new Block( () -> "visitor.beginGetter( " + stringLiteral( propertyName ) + " );" ) );
+	}
+
+	void beginContainerElement(TypeMirror containerType, int typeArgumentIndex) {
+		// the container type only needs to be accessible if the element has any metadata
+		blocks.push( new Block(
+				() -> "visitor.beginContainerElement( " + classLiteral( containerType ) + ", " + typeArgumentIndex + " );"
+		) );
+	}
+
+	void constraint(AnnotationMirror constraint) {
+		StringBuilder statement = new StringBuilder( "visitor.constraint( " )
+				.append( classLiteral( constraint.getAnnotationType() ) )
+				.append( ", attributes(" );
+
+		Map<? extends ExecutableElement, ? extends AnnotationValue> attributes = processingEnv.getElementUtils()
+				.getElementValuesWithDefaults( constraint );
+		boolean first = true;
+		for ( Map.Entry<? extends ExecutableElement, ? extends AnnotationValue> attribute : attributes.entrySet() ) {
+			statement.append( first ? " " : ", " )
+					.append( stringLiteral( attribute.getKey().getSimpleName().toString() ) )
+					.append( ", " )
+					.append( valueLiteral( attribute.getValue(), attribute.getKey().getReturnType() ) );
+			first = false;
+		}
+
+		statement.append( first ? ") );" : " ) );" );
+		add( statement.toString() );
+	}
+
+	void cascaded() {
+		add( "visitor.cascaded();" );
+	}
+
+	void groupConversion(AnnotationMirror groupConversion) {
+		TypeMirror from = null;
+		TypeMirror to = null;
+		for ( Map.Entry<? extends ExecutableElement, ? extends AnnotationValue> attribute : processingEnv.getElementUtils()
+				.getElementValuesWithDefaults( groupConversion ).entrySet() ) {
+			if ( attribute.getKey().getSimpleName().contentEquals( "from" ) ) {
+				from = (TypeMirror) attribute.getValue().getValue();
+			}
+			else if ( attribute.getKey().getSimpleName().contentEquals( "to" ) ) {
+				to = (TypeMirror) attribute.getValue().getValue();
+			}
+		}
+		add( "visitor.groupConversion( " + classLiteral( from ) + ", " + classLiteral( to ) + " );" );
+	}
+
+	void end() {
+		Block block = blocks.pop();
+
+		// the element has no metadata, omit it
+		if ( block.statements.length() == 0 ) {
+			return;
+		}
+
+		StringBuilder parent = blocks.peek().statements;
+		parent.append( block.header.get() ).append( '\n' );
+		for ( String statement : block.statements.toString().split( "\n" ) ) {
+			parent.append( '\t' ).append( statement ).append( '\n' );
+		}
+		parent.append( "visitor.end();\n" );
+	}
+
+	String toSource(TypeElement type) {
+		String packageName = pkg.isUnnamed() ? "" : pkg.getQualifiedName().toString();
+		String binaryName = processingEnv.getElementUtils().getBinaryName( type ).toString();
+		String simpleName = ( packageName.isEmpty() ? binaryName : binaryName.substring( packageName.length() + 1 ) )
+				+ PrecompiledBeanMetadata.CLASS_NAME_SUFFIX;
+		String beanClass = classLiteral( processingEnv.getTypeUtils().erasure( type.asType() ) );
+
+		StringBuilder source = new StringBuilder();
+		if ( !packageName.isEmpty() ) {
+			source.append( "package " ).append( packageName ).append( ";\n\n" );
+		}
+		source.append( "/**\n" )
+				.append( " * Constraint metadata of {@link " ).append( type.getQualifiedName() ).append( "}.\n" )
+				.append( " * Generated by " ).append( ConstraintMetadataProcessor.class.getName() ).append( ", do not edit.\n" )
+				.append( " */\n" )
+				.append( "public final class " ).append( simpleName )
+				.append( " implements " ).append( PrecompiledBeanMetadata.class.getName() ).append( " {\n\n" )
+				.append( "\t@java.lang.Override\n" )
+				.append( "\tpublic java.lang.Class<?> getBeanClass() {\n" )
+				.append( "\t\treturn " ).append( beanClass ).append( ";\n" )
+				.append( "\t}\n\n" )
+				.append( "\t@java.lang.Override\n" )
+				.append( "\tpublic java.lang.String getBeanClassFingerprint() {\n" )
+				.append( "\t\treturn " ).append( stringLiteral( new ElementFingerprint( processingEnv ).of( type ) ) ).append( ";\n" )
+				.append( "\t}\n\n" )
+				.append( "\t@java.lang.Override\n" )
+				.append( "\tpublic void accept(" ).append( VISITOR ).append( " visitor) {\n" )
+				.append( "\t\tvisitor.beginBean( " ).append( beanClass ).append( " );\n" );
+
+		StringBuilder statements = blocks.peek().statements;
+		if ( statements.length() > 0 ) {
+			for ( String statement : statements.toString().split( "\n" ) ) {
+				source.append( "\t\t" ).append( statement ).append( '\n' );
+			}
+		}
+
+		source.append( "\t\tvisitor.endBean();\n" )
+				.append( "\t}\n\n" )
+				.append( "\tprivate static java.util.Map<java.lang.String, java.lang.Object> attributes(java.lang.Object... namesAndValues) {\n" )
+				.append( "\t\tjava.util.Map<java.lang.String, java.lang.Object> attributes = new java.util.HashMap<>();\n" )
+				.append( "\t\tfor ( int i = 0; i < namesAndValues.length; i += 2 ) {\n" )
+				.append( "\t\t\tattributes.put( (java.lang.String) namesAndValues[i], namesAndValues[i + 1] );\n" )
+				.append( "\t\t}\n" )
+				.append( "\t\treturn java.util.Collections.unmodifiableMap( attributes );\n" )
+				.append( "\t}\n" )
+				.append( "}\n" );
+
+		return source.toString();
+	}
+
+	private void add(String statement) {
+		blocks.peek().statements.append( statement ).append( '\n' );
+	}
+
+	private String valueLiteral(AnnotationValue annotationValue, TypeMirror type) {
+		Object value = annotationValue.getValue();
+
+		if ( value instanceof String ) {
+			return stringLiteral( (String) value );
+		}
+		if ( value instanceof TypeMirror ) {
+			return classLiteral( (TypeMirror) value );
+		}
+		if ( value instanceof VariableElement ) {
+			VariableElement enumConstant = (VariableElement) value;
+			return classReference( enumConstant.getEnclosingElement() ) + "." + enumConstant.getSimpleName();
+		}
+		if ( value instanceof AnnotationMirror ) {
+			throw new UnsupportedMetadataException( "annotation-typed constraint attributes are not supported" );
+		}
+		if ( value instanceof List ) {
+			TypeMirror componentType = ( (ArrayType) type ).getComponentType();
+			StringBuilder array = new StringBuilder( "new " )
+					.append( processingEnv.getTypeUtils().erasure( componentType ) )
+					.append( "[] {" );
+			boolean first = true;
+			for ( Object element : (List<?>) value ) {
+				array.append( first ? " " : ", " ).append( valueLiteral( (AnnotationValue) element, componentType ) );
+				first = false;
+			}
+			if ( componentType.getKind() == TypeKind.DECLARED ) {
+				// checks the accessibility of the component type
+				classReference( ( (DeclaredType) componentType ).asElement() );
+			}
+			return array.append( first ? "}" : " }" ).toString();
+		}
+		if ( value instanceof Character ) {
+			return "'" + escape( value.toString(), '\'' ) + "'";
+		}
+		if ( value instanceof Long ) {
+			return value + "L";
+		}
+		if ( value instanceof Float ) {
+			return floatLiteral( (Float) value );
+		}
+		if ( value instanceof Double ) {
+			return doubleLiteral( (Double) value );
+		}
+		if ( value instanceof Byte ) {
+			return "(byte) " + value;
+		}
+		if ( value instanceof Short ) {
+			return "(short) " + value;
+		}
+
+		// int and boolean
+		return value.toString();
+	}
+
+	private String classLiteral(TypeMirror type) {
+		TypeMirror erasure = processingEnv.getTypeUtils().erasure( type );
+		if ( erasure.getKind() == TypeKind.DECLARED ) {
+			return classReference( ( (DeclaredType) erasure ).asElement() ) + ".class";
+		}
+		if ( erasure.getKind() == TypeKind.ARRAY ) {
+			return classLiteral( ( (ArrayType) erasure ).getComponentType() ).replace( ".class", "[].class" );
+		}
+		return erasure + ".class";
+	}
+
+	private String classReference(Element typeElement) {
+		TypeElement type = (TypeElement) typeElement;
+		if ( !ConstraintMetadataProcessor.isAccessible( type, pkg ) ) {
+			throw new UnsupportedMetadataException( type.getQualifiedName() + " is not accessible" );
+		}
+		return type.getQualifiedName().toString();
+	}
+
+	private static String floatLiteral(float value) {
+		if ( Float.isNaN( value ) ) {
+			return "java.lang.Float.NaN";
+		}
+		if ( Float.isInfinite( value ) ) {
+			return value > 0 ? "java.lang.Float.POSITIVE_INFINITY" : "java.lang.Float.NEGATIVE_INFINITY";
+		}
+		return value + "F";
+	}
+
+	private static String doubleLiteral(double value) {
+		if ( Double.isNaN( value ) ) {
+			return "java.lang.Double.NaN";
+		}
+		if ( Double.isInfinite( value ) ) {
+			return value > 0 ? "java.lang.Double.POSITIVE_INFINITY" : "java.lang.Double.NEGATIVE_INFINITY";
+		}
+		return value + "D";
+	}
+
+	private static String stringLiteral(String value) {
+		return "\"" + escape( value, '"' ) + "\"";
+	}
+
+	private static String escape(String value, char quote) {
+		StringBuilder escaped = new StringBuilder( value.length() );
+		for ( int i = 0; i < value.length(); i++ ) {
+			char c = value.charAt( i );
+			if ( c == quote || c == '\\' ) {
+				escaped.append( '\\' ).append( c );
+			}
+			else if ( c == '\n' ) {
+				escaped.append( "\\n" );
+			}
+			else if ( c == '\r' ) {
+				escaped.append( "\\r" );
+			}
+			else if ( c == '\t' ) {
+				escaped.append( "\\t" );
+			}
+			else if ( c < 0x20 || c > 0x7e ) {
+				escaped.append( String.format( "\\u%04x", (int) c ) );
+			}
+			else {
+				escaped.append( c );
+			}
+		}
+		return escaped.toString();
+	}
+
+	/**
+	 * The statements of a field, getter or container element, preceded by its begin
+	 * statement.
+	 */
+	private static class Block {
+
+		private final Supplier<String> header;
+		private final StringBuilder statements = new StringBuilder();
+
+		private Block(Supplier<String> header) {
+			this.header = header;
+		}
+	}
+}
@@ -0,0 +1,128 @@
+/*
+ * Bean Validation API
+ *
+ * License: Apache License, Version 2.0
+ * See the license.txt file in the root directory or <http://www.apache.org/licenses/LICENSE-2.0>.
+ */
+package javax.validation.processor;
+
+import java.io.BufferedReader;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.NoSuchFileException;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.TypeElement;
+import javax.tools.Diagnostic.Kind;
+import javax.tools.FileObject;
+import javax.tools.StandardLocation;
+import javax.validation.spi.ValidationProvider;
+
+/**
+ * Annotation processor generating the provider index {@code META-INF/validation-provider.idx}
+ * read by the default validation provider resolver of {@link javax.validation.Validation}.
+ * <p>
+ * The index lists the providers registered in the provider-configuration file
+ * {@code META-INF/services/javax.validation.spi.ValidationProvider} of the class output
+ * directory, i.e. of the module being compiled. Build tools such as Maven copy the resources
+ * of a module to the class output directory before compiling it; if the file is not present
+ * there, no index is generated. As the index is regenerated by each compilation, it can't
+ * get out of sync with the provider-configuration file it is generated from.
+ * <p>
+ * The processor is enabled by adding its artifact to the annotation processor path of the
+ * compiler when building a module registering providers.
+ *
+ * @since 2.0
+ */
+@SupportedAnnotationTypes("*")
+public class ProviderIndexProcessor extends AbstractProcessor {
+
+	static final String PROVIDER_INDEX = "META-INF/validation-provider.idx";
+
+	static final String PROVIDER_SERVICES_FILE = "META-INF/services/" + ValidationProvider.class.getName();
+
+	private boolean indexGenerated;
+
+	@Override
+	public SourceVersion getSupportedSourceVersion() {
+		return SourceVersion.latestSupported();
+	}
+
+	@Override
+	public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+		// the provider-configuration file doesn't change between rounds
+		if ( !indexGenerated ) {
+			indexGenerated = true;
+			generateIndex();
+		}
+
+		// other processors may process the same annotations
+		return false;
+	}
+
+	private void generateIndex() {
+		Set<String> providerClassNames;
+		try {
+			providerClassNames = readProviderClassNames();
+		}
+		catch ( FileNotFoundException | NoSuchFileException e ) {
+			// the module doesn't register any providers
+			return;
+		}
+		catch ( IOException e ) {
+			processingEnv.getMessager().printMessage(
+					Kind.WARNING,
+					"No provider index generated, as " + PROVIDER_SERVICES_FILE + " cannot be read: " + e.getMessage()
+			);
+			return;
+		}
+
+		if ( providerClassNames.isEmpty() ) {
+			return;
+		}
+
+		try ( Writer writer = new OutputStreamWriter(
+				processingEnv.getFiler().createResource( StandardLocation.CLASS_OUTPUT, "", PROVIDER_INDEX ).openOutputStream(),
+				StandardCharsets.UTF_8 ) ) {
+			writer.write( "# Generated by " + ProviderIndexProcessor.class.getName() + ", do not edit.\n" );
+			for ( String providerClassName : providerClassNames ) {
+				writer.write( providerClassName );
+				writer.write( '\n' );
+			}
+		}
+		catch ( IOException e ) {
+			processingEnv.getMessager().printMessage(
+					Kind.ERROR,
+					"Unable to write the provider index " + PROVIDER_INDEX + ": " + e.getMessage()
+			);
+		}
+	}
+
+	private Set<String> readProviderClassNames() throws IOException {
+		FileObject servicesFile = processingEnv.getFiler().getResource( StandardLocation.CLASS_OUTPUT, "", PROVIDER_SERVICES_FILE );
+		Set<String> providerClassNames = new LinkedHashSet<>();
+
+		try ( BufferedReader reader = new BufferedReader(
+				new InputStreamReader( servicesFile.openInputStream(), StandardCharsets.UTF_8 ) ) ) {
+			String line;
+			while ( ( line = reader.readLine() ) != null ) {
+				int commentStart = line.indexOf( '#' );
+				String providerClassName = ( commentStart >= 0 ? line.substring( 0, commentStart ) : line ).trim();
+				if ( !providerClassName.isEmpty() ) {
+					providerClassNames.add( providerClassName );
+				}
+			}
+		}
+
+		return providerClassNames;
+	}
+}
@@ -0,0 +1,310 @@
+/*
+ * Bean Validation API
+ *
+ * License: Apache License, Version 2.0
+ * See the license.txt file in the root directory or <http://www.apache.org/licenses/LICENSE-2.0>.
+ */
+package javax.validation.processor;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNotNull;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.annotation.Annotation;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.ToolProvider;
+import javax.validation.Configuration;
+import javax.validation.Constraint;
+import javax.validation.ValidatorFactory;
+import javax.validation.spi.BeanClassFingerprint;
+import javax.validation.spi.BootstrapState;
+import javax.validation.spi.ConfigurationState;
+import javax.validation.spi.ConstraintMetadataVisitor;
+import javax.validation.spi.PrecompiledBeanMetadata;
+import javax.validation.spi.ValidationProvider;
+
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+/**
+ * Compiles a sample bean with the {@link ConstraintMetadataProcessor} and verifies the
+ * metadata reported by the generated classes.
+ */
+public class ConstraintMetadataProcessorTest {
+
+	private static final String ORDER_SOURCE = String.join(
+			"\n",
+			"package com.acme;",
+			"",
+			"import java.util.List;",
+			"import java.util.Map;",
+			"import javax.validation.Valid;",
+			"import javax.validation.constraints.*;",
+			"import javax.validation.groups.ConvertGroup;",
+			"import javax.validation.groups.Default;",
+			"",
+			"public class Order {",
+			"",
+			"	@NotNull @Size(min = 1, max = 10) private String name;",
+			"	@Valid @ConvertGroup(from = Default.class, to = Strict.class) private Customer customer;",
+			"	private Map<@NotBlank String, @Valid List<@Min(1) Integer>> lines;",
+			"	private String unconstrained;",
+			"",
+			"	@DecimalMax(value = \"10.5\", inclusive = false) public java.math.BigDecimal getTotal() { return null; }",
+			"",
+			"	public interface Strict {}",
+			"",
+			"	public static class Customer {",
+			"		@Pattern(regexp = \"\\\\d+\\\"\", flags = Pattern.Flag.CASE_INSENSITIVE) String number;",
+			"	}",
+			"",
+			"	private static class Hidden {",
+			"		@NotNull String value;",
+			"	}",
+			"}"
+	);
+
+	private static final String UNCONSTRAINED_SOURCE = "package com.acme; public class Unconstrained { String value; }";
+
+	private static final String STALE_SOURCE = "package com.acme; public class Stale { @javax.validation.constraints.Size(max = 10) String value; }";
+
+	private ClassLoader classLoader;
+
+	@BeforeClass
+	public void compileSampleBeans() throws Exception {
+		Path sourceDir = Files.createTempDirectory( "sources" );
+		Path outputDir = Files.createTempDirectory( "classes" );
+		Path packageDir = Files.createDirectories( sourceDir.resolve( "com/acme" ) );
+
+		compile(
+				outputDir,
+				true,
+				write( packageDir, "Order", ORDER_SOURCE ),
+				write( packageDir, "Unconstrained", UNCONSTRAINED_SOURCE ),
+				write( packageDir, "Stale", STALE_SOURCE )
+		);
+		// an incremental build not running the processor
+		compile( outputDir, false, write( packageDir, "Stale", STALE_SOURCE.replace( "max = 10", "max = 20" ) ) );
+
+		classLoader = new URLClassLoader( new URL[] { outputDir.toUri().toURL() }, getClass().getClassLoader() );
+	}
+
+	@Test
+	public void testMetadataOfBeanType() throws Exception {
+		PrecompiledBeanMetadata metadata = load( "com.acme.Order" );
+		assertNotNull( metadata );
+		assertEquals( metadata.getBeanClass().getName(), "com.acme.Order" );
+
+		List<String> events = record( metadata );
+		assertEquals(
+				events,
+				Arrays.asList(
+						"beginBean com.acme.Order",
+						"beginField name",
+						"constraint NotNull {groups=[], message={javax.validation.constraints.NotNull.message}, payload=[]}",
+						"constraint Size {groups=[], max=10, message={javax.validation.constraints.Size.message}, min=1, payload=[]}",
+						"end",
+						"beginField customer",
+						"cascaded",
+						"groupConversion javax.validation.groups.Default -> com.acme.Order$Strict",
+						"end",
+						"beginField lines",
+						"beginContainerElement java.util.Map 0",
+						"constraint NotBlank {groups=[], message={javax.validation.constraints.NotBlank.message}, payload=[]}",
+						"end",
+						"beginContainerElement java.util.Map 1",
+						"cascaded",
+						"beginContainerElement java.util.List 0",
+						"constraint Min {groups=[], message={javax.validation.constraints.Min.message}, payload=[], value=1}",
+						"end",
+						"end",
+						"end",
+						"beginGetter total",
+						"constraint DecimalMax {groups=[], inclusive=false, message={javax.validation.constraints.DecimalMax.message}, payload=[], value=10.5}",
+						"end",
+						"endBean"
+				)
+		);
+	}
+
+	@Test
+	public void testMetadataOfNestedBeanType() throws Exception {
+		List<String> events = record( load( "com.acme.Order$Customer" ) );
+
+		assertEquals( events.get( 2 ), "constraint Pattern {flags=[CASE_INSENSITIVE], groups=[], message={javax.validation.constraints.Pattern.message}, payload=[], regexp=\\d+\"}" );
+	}
+
+	@Test
+	public void testFingerprintMatchesCompiledBeanType() throws Exception {
+		for ( String beanClassName : Arrays.asList( "com.acme.Order", "com.acme.Order$Customer" ) ) {
+			Class<?> beanClass = Class.forName( beanClassName, true, classLoader );
+			PrecompiledBeanMetadata metadata = (PrecompiledBeanMetadata) Class.forName(
+					beanClassName + PrecompiledBeanMetadata.CLASS_NAME_SUFFIX, true, classLoader
+			).getConstructor().newInstance();
+
+			assertEquals( metadata.getBeanClassFingerprint(), BeanClassFingerprint.of( beanClass ) );
+		}
+	}
+
+	@Test
+	public void testMetadataOfCompiledBeanTypeIsCurrent() throws Exception {
+		assertTrue( load( "com.acme.Order" ).isCurrent() );
+	}
+
+	@Test
+	public void testStaleMetadataIsDetected() throws Exception {
+		PrecompiledBeanMetadata metadata = load( "com.acme.Stale" );
+
+		assertNotNull( metadata );
+		assertFalse( metadata.isCurrent() );
+	}
+
+	@Test
+	public void testEmptyMetadataForUnconstrainedBeanType() throws Exception {
+		assertEquals(
+				record( load( "com.acme.Unconstrained" ) ),
+				Arrays.asList( "beginBean com.acme.Unconstrained", "endBean" )
+		);
+	}
+
+	@Test
+	public void testNoMetadataForPrivateBeanType() throws Exception {
+		assertNull( load( "com.acme.Order$Hidden" ) );
+	}
+
+	private static File write(Path packageDir, String simpleName, String source) throws IOException {
+		Path file = packageDir.resolve( simpleName + ".java" );
+		Files.write( file, source.getBytes( StandardCharsets.UTF_8 ) );
+		return file.toFile();
+	}
+
+	private static void compile(Path outputDir, boolean runProcessor, File... sourceFiles) throws Exception {
+		JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+		try ( StandardJavaFileManager fileManager = compiler.getStandardFileManager( null, null, StandardCharsets.UTF_8 ) ) {
+			Iterable<? extends JavaFileObject> sources = fileManager.getJavaFileObjects( sourceFiles );
+			List<String> options = new ArrayList<>( Arrays.asList(
+					"-classpath", location( Constraint.class ),
+					"-d", outputDir.toString(),
+					"-s", outputDir.toString()
+			) );
+			if ( !runProcessor ) {
+				options.add( "-proc:none" );
+			}
+
+			JavaCompiler.CompilationTask task = compiler.getTask( null, fileManager, null, options, null, sources );
+			if ( runProcessor ) {
+				task.setProcessors( Collections.singletonList( new ConstraintMetadataProcessor() ) );
+			}
+			assertTrue( task.call(), "Compilation failed" );
+		}
+	}
+
+	private PrecompiledBeanMetadata load(String beanClassName) throws ClassNotFoundException {
+		return new DummyValidationProvider().loadPrecompiledMetadata( Class.forName( beanClassName, true, classLoader ) );
+	}
+
+	private static List<String> record(PrecompiledBeanMetadata metadata) {
+		List<String> events = new ArrayList<>();
+		metadata.accept( new ConstraintMetadataVisitor() {
+
+			@Override
+			public void beginBean(Class<?> beanClass) {
+				events.add( "beginBean " + beanClass.getName() );
+			}
+
+			@Override
+			public void beginField(String name) {
+				events.add( "beginField " + name );
+			}
+
+			@Override
+			public void beginGetter(String propertyName) {
+				events.add( "beginGetter " + propertyName );
+			}
+
+			@Override
+			public void beginContainerElement(Class<?> containerClass, int typeArgumentIndex) {
+				events.add( "beginContainerElement " + containerClass.getName() + " " + typeArgumentIndex );
+			}
+
+			@Override
+			public void constraint(Class<? extends Annotation> annotationType, Map<String, Object> attributes) {
+				Map<String, String> sortedAttributes = new TreeMap<>();
+				for ( Map.Entry<String, Object> attribute : attributes.entrySet() ) {
+					Object value = attribute.getValue();
+					sortedAttributes.put(
+							attribute.getKey(),
+							value instanceof Object[] ? Arrays.toString( (Object[]) value ) : String.valueOf( value )
+					);
+				}
+				events.add( "constraint " + annotationType.getSimpleName() + " " + sortedAttributes );
+			}
+
+			@Override
+			public void cascaded() {
+				events.add( "cascaded" );
+			}
+
+			@Override
+			public void groupConversion(Class<?> from, Class<?> to) {
+				events.add( "groupConversion " + from.getName() + " -> " + to.getName() );
+			}
+
+			@Override
+			public void end() {
+				events.add( "end" );
+			}
+
+			@Override
+			public void endBean() {
+				events.add( "endBean" );
+			}
+		} );
+		return events;
+	}
+
+	private static String location(Class<?> clazz) throws URISyntaxException {
+		return Paths.get( clazz.getProtectionDomain().getCodeSource().getLocation().toURI() ).toString();
+	}
+
+	private static class DummyValidationProvider implements ValidationProvider<DummyConfiguration> {
+
+		@Override
+		public DummyConfiguration createSpecializedConfiguration(BootstrapState state) {
+			return null;
+		}
+
+		@Override
+		public Configuration<?> createGenericConfiguration(BootstrapState state) {
+			return null;
+		}
+
+		@Override
+		public ValidatorFactory buildValidatorFactory(ConfigurationState configurationState) {
+			return null;
+		}
+	}
+
+	private interface DummyConfiguration extends Configuration<DummyConfiguration> {
+	}
+}
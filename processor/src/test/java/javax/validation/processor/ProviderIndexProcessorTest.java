@@ -0,0 +1,79 @@
+/*
+ * Bean Validation API
+ *
+ * License: Apache License, Version 2.0
+ * See the license.txt file in the root directory or <http://www.apache.org/licenses/LICENSE-2.0>.
+ */
+package javax.validation.processor;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.ToolProvider;
+
+import org.testng.annotations.Test;
+
+/**
+ * Tests for {@link ProviderIndexProcessor}.
+ */
+public class ProviderIndexProcessorTest {
+
+	@Test
+	public void testIndexListsRegisteredProviders() throws Exception {
+		Path outputDir = Files.createTempDirectory( "classes" );
+		Path servicesFile = outputDir.resolve( ProviderIndexProcessor.PROVIDER_SERVICES_FILE );
+		Files.createDirectories( servicesFile.getParent() );
+		Files.write(
+				servicesFile,
+				Arrays.asList( "# the providers of this module", "com.acme.AcmeProvider", "", "com.acme.OtherProvider # legacy" ),
+				StandardCharsets.UTF_8
+		);
+
+		compile( outputDir );
+
+		assertEquals(
+				Files.readAllLines( outputDir.resolve( ProviderIndexProcessor.PROVIDER_INDEX ), StandardCharsets.UTF_8 ),
+				Arrays.asList(
+						"# Generated by " + ProviderIndexProcessor.class.getName() + ", do not edit.",
+						"com.acme.AcmeProvider",
+						"com.acme.OtherProvider"
+				)
+		);
+	}
+
+	@Test
+	public void testNoIndexWithoutRegisteredProviders() throws Exception {
+		Path outputDir = Files.createTempDirectory( "classes" );
+
+		compile( outputDir );
+
+		assertFalse( Files.exists( outputDir.resolve( ProviderIndexProcessor.PROVIDER_INDEX ) ) );
+	}
+
+	private static void compile(Path outputDir) throws IOException {
+		Path source = Files.createTempDirectory( "sources" ).resolve( "Sample.java" );
+		Files.write( source, "public class Sample { }".getBytes( StandardCharsets.UTF_8 ) );
+
+		JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+		try ( StandardJavaFileManager fileManager = compiler.getStandardFileManager( null, null, StandardCharsets.UTF_8 ) ) {
+			Iterable<? extends JavaFileObject> sources = fileManager.getJavaFileObjects( source.toFile() );
+			List<String> options = Arrays.asList( "-d", outputDir.toString() );
+
+			JavaCompiler.CompilationTask task = compiler.getTask( null, fileManager, null, options, null, sources );
+			task.setProcessors( Collections.singletonList( new ProviderIndexProcessor() ) );
+			assertTrue( task.call(), "Compilation failed" );
+		}
+	}
+}